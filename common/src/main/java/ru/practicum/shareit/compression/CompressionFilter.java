@@ -0,0 +1,313 @@
+package ru.practicum.shareit.compression;
+
+import com.github.luben.zstd.ZstdOutputStream;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.MimeType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Сжатие ответов вместо встроенного в Tomcat: тот знает только gzip и повторно сжимает чужие кодировки.
+ * Регистрируется конфигурацией приложения со своим префиксом свойств.
+ * <p>
+ * Если длина ответа не объявлена заранее, как у JSON из контроллеров, первые minResponseSize байт копятся
+ * в памяти: сжатие включается, когда ответ их перерос, а короткий ответ уходит как есть с Content-Length.
+ */
+public class CompressionFilter extends OncePerRequestFilter {
+    private static final String ZSTD = "zstd";
+    private static final String GZIP = "gzip";
+
+    private final CompressionProperties properties;
+
+    public CompressionFilter(CompressionProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Ответ дописывается, только если цепочка завершилась без исключения: иначе ошибку пишет контейнер,
+     * и накопленное начало ответа ему не нужно.
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String coding = negotiate(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        if (coding == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        CompressingResponseWrapper wrapper = new CompressingResponseWrapper(response, coding);
+        chain.doFilter(request, wrapper);
+        wrapper.finish();
+    }
+
+    /**
+     * Кодировка с наибольшим q из принятых клиентом; q=0 означает отказ. При равных q предпочитается zstd.
+     */
+    private String negotiate(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return null;
+        }
+        Map<String, Double> qualities = new HashMap<>();
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            double quality = 1;
+            if (parts.length > 1 && parts[1].trim().startsWith("q=")) {
+                try {
+                    quality = Double.parseDouble(parts[1].trim().substring(2));
+                } catch (NumberFormatException e) {
+                    quality = 0;
+                }
+            }
+            qualities.put(parts[0].trim().toLowerCase(), quality);
+        }
+        double any = qualities.getOrDefault("*", 0d);
+        double zstd = properties.isZstdEnabled() ? qualities.getOrDefault(ZSTD, any) : 0;
+        double gzip = qualities.getOrDefault(GZIP, any);
+        if (zstd <= 0 && gzip <= 0) {
+            return null;
+        }
+        return zstd >= gzip ? ZSTD : GZIP;
+    }
+
+    private class CompressingResponseWrapper extends HttpServletResponseWrapper {
+        private final String coding;
+        private long contentLength = -1;
+        private Boolean compressing;
+        private ByteArrayOutputStream pending;
+        private OutputStream target;
+        private ServletOutputStream outputStream;
+        private PrintWriter writer;
+
+        private CompressingResponseWrapper(HttpServletResponse response, String coding) {
+            super(response);
+            this.coding = coding;
+        }
+
+        @Override
+        public void setContentLength(int len) {
+            setContentLengthLong(len);
+        }
+
+        @Override
+        public void setContentLengthLong(long len) {
+            if (compressing == null) {
+                contentLength = len;
+            } else if (!compressing) {
+                super.setContentLengthLong(len);
+            }
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                setContentLengthLong(Long.parseLong(value));
+            } else {
+                super.setHeader(name, value);
+            }
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                setContentLengthLong(Long.parseLong(value));
+            } else {
+                super.addHeader(name, value);
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            if (writer != null) {
+                throw new IllegalStateException("getWriter() уже вызван для этого ответа");
+            }
+            if (outputStream == null) {
+                outputStream = new DecidingOutputStream();
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+            }
+            return writer;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            } else if (outputStream != null) {
+                outputStream.flush();
+            }
+            super.flushBuffer();
+        }
+
+        @Override
+        public void reset() {
+            super.reset();
+            if (compressing == null) {
+                contentLength = -1;
+                pending = null;
+            }
+        }
+
+        @Override
+        public void resetBuffer() {
+            super.resetBuffer();
+            if (compressing == null) {
+                pending = null;
+            }
+        }
+
+        /**
+         * Поток, в который пишется ответ. Пока решение не принято, это буфер; он меньше minResponseSize,
+         * потому что при переполнении решение принимается.
+         */
+        private OutputStream target(int len) throws IOException {
+            if (compressing != null) {
+                return target;
+            }
+            if (contentLength >= 0) {
+                return decide(shouldCompress(contentLength));
+            }
+            if (pending == null) {
+                pending = new ByteArrayOutputStream();
+            }
+            if (pending.size() + len >= properties.getMinResponseSize().toBytes()) {
+                return decide(shouldCompress(pending.size() + len));
+            }
+            return pending;
+        }
+
+        private OutputStream decide(boolean compress) throws IOException {
+            compressing = compress;
+            if (compress) {
+                super.setHeader(HttpHeaders.CONTENT_ENCODING, coding);
+                super.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+                target = ZSTD.equals(coding)
+                        ? new ZstdOutputStream(super.getOutputStream(), properties.getZstdLevel())
+                        : new LeveledGzipOutputStream(super.getOutputStream(), properties.getGzipLevel());
+            } else {
+                if (contentLength >= 0) {
+                    super.setContentLengthLong(contentLength);
+                }
+                target = super.getOutputStream();
+            }
+            if (pending != null) {
+                pending.writeTo(target);
+                pending = null;
+            }
+            return target;
+        }
+
+        private boolean shouldCompress(long size) {
+            if (getStatus() == SC_NO_CONTENT || getStatus() == SC_NOT_MODIFIED
+                    || getHeader(HttpHeaders.CONTENT_ENCODING) != null || getContentType() == null) {
+                return false;
+            }
+            if (size < properties.getMinResponseSize().toBytes()) {
+                return false;
+            }
+            MimeType contentType = MimeType.valueOf(getContentType());
+            return properties.getMimeTypes().stream().anyMatch(mimeType -> mimeType.isCompatibleWith(contentType));
+        }
+
+        /**
+         * Ответ, который так и не перерос буфер, уходит несжатым: его длина теперь известна.
+         */
+        private void finish() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (compressing == null && pending != null) {
+                if (contentLength < 0) {
+                    contentLength = pending.size();
+                }
+                decide(shouldCompress(contentLength));
+            }
+            if (compressing != null) {
+                target.close();
+            } else if (contentLength >= 0 && !isCommitted()) {
+                super.setContentLengthLong(contentLength);
+            }
+        }
+
+        private class DecidingOutputStream extends ServletOutputStream {
+
+            @Override
+            public void write(int b) throws IOException {
+                target(1).write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                target(len).write(b, off, len);
+            }
+
+            /**
+             * Сброс до принятия решения ничего не отправляет: конвертеры сообщений сбрасывают поток
+             * после записи тела, и короткий ответ иначе ушёл бы без длины.
+             */
+            @Override
+            public void flush() throws IOException {
+                if (compressing != null) {
+                    target.flush();
+                }
+            }
+
+            @Override
+            public boolean isReady() {
+                if (compressing == null) {
+                    return true;
+                }
+                try {
+                    return CompressingResponseWrapper.super.getOutputStream().isReady();
+                } catch (IOException e) {
+                    return false;
+                }
+            }
+
+            /**
+             * Неблокирующую запись ведёт контейнер, поэтому слушатель ставится на его поток. Если решение
+             * ещё не принято, ответ уходит несжатым: сжимающий поток может за один вызов записать в ответ
+             * несколько раз, а после первой записи контейнер вправе быть не готовым к следующей.
+             */
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                try {
+                    if (compressing == null) {
+                        decide(false);
+                    }
+                    CompressingResponseWrapper.super.getOutputStream().setWriteListener(writeListener);
+                } catch (IOException e) {
+                    throw new IllegalStateException("Не удалось перевести ответ в асинхронную запись", e);
+                }
+            }
+        }
+    }
+
+    private static class LeveledGzipOutputStream extends GZIPOutputStream {
+
+        private LeveledGzipOutputStream(OutputStream out, int level) throws IOException {
+            super(out, 8192);
+            def.setLevel(level);
+        }
+    }
+}
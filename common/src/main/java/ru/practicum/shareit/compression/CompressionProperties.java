@@ -0,0 +1,23 @@
+package ru.practicum.shareit.compression;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.util.MimeType;
+import org.springframework.util.unit.DataSize;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Deflater;
+
+/**
+ * Настройки CompressionFilter; префикс задаёт приложение, которое его регистрирует.
+ */
+@Getter
+@Setter
+public class CompressionProperties {
+    private List<MimeType> mimeTypes = new ArrayList<>(List.of(MimeType.valueOf("application/json")));
+    private DataSize minResponseSize = DataSize.ofKilobytes(2);
+    private int gzipLevel = Deflater.DEFAULT_COMPRESSION;
+    private boolean zstdEnabled = false;
+    private int zstdLevel = 3;
+}
@@ -0,0 +1,266 @@
+package ru.practicum.shareit.compression;
+
+import com.github.luben.zstd.Zstd;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+public class CompressionFilterTest {
+
+    private final CompressionProperties properties = new CompressionProperties();
+    private final CompressionFilter filter = new CompressionFilter(properties);
+
+    @Test
+    void testGzipLargeJson() throws Exception {
+        byte[] json = json(5000);
+        MockHttpServletResponse response = execute("gzip, zstd", json, true);
+
+        assertThat(response.getHeader("Content-Encoding")).isEqualTo("gzip");
+        assertThat(response.getHeader("Vary")).isEqualTo("Accept-Encoding");
+        assertThat(response.getHeader("Content-Length")).isNull();
+        byte[] compressed = response.getContentAsByteArray();
+        assertThat(compressed.length).isLessThan(json.length);
+        assertThat(gunzip(compressed)).isEqualTo(json);
+    }
+
+    @Test
+    void testPreferZstdWhenEnabled() throws Exception {
+        properties.setZstdEnabled(true);
+        byte[] json = json(5000);
+        MockHttpServletResponse response = execute("gzip, zstd", json, true);
+
+        assertThat(response.getHeader("Content-Encoding")).isEqualTo("zstd");
+        assertThat(Zstd.decompress(response.getContentAsByteArray(), json.length)).isEqualTo(json);
+    }
+
+    @Test
+    void testKeepSmallJson() throws Exception {
+        byte[] json = json(100);
+        MockHttpServletResponse response = execute("gzip", json, true);
+
+        assertThat(response.getHeader("Content-Encoding")).isNull();
+        assertThat(response.getContentLength()).isEqualTo(json.length);
+        assertThat(response.getContentAsByteArray()).isEqualTo(json);
+    }
+
+    @Test
+    void testKeepWhenNotAccepted() throws Exception {
+        properties.setZstdEnabled(true);
+        byte[] json = json(5000);
+
+        assertThat(execute("identity", json, true).getHeader("Content-Encoding")).isNull();
+        assertThat(execute("zstd;q=0, gzip;q=0", json, true).getHeader("Content-Encoding")).isNull();
+        assertThat(execute(null, json, true).getContentAsByteArray()).isEqualTo(json);
+    }
+
+    @Test
+    void testChooseCodingByQuality() throws Exception {
+        properties.setZstdEnabled(true);
+        byte[] json = json(5000);
+
+        assertThat(execute("gzip;q=1, zstd;q=0.1", json, true).getHeader("Content-Encoding")).isEqualTo("gzip");
+        assertThat(execute("gzip, zstd;q=0", json, true).getHeader("Content-Encoding")).isEqualTo("gzip");
+        assertThat(execute("gzip;q=0.5, zstd;q=0.8", json, true).getHeader("Content-Encoding")).isEqualTo("zstd");
+        assertThat(execute("*;q=0.5, gzip;q=0.9", json, true).getHeader("Content-Encoding")).isEqualTo("gzip");
+        assertThat(execute("gzip;q=0.7, zstd;q=0.7", json, true).getHeader("Content-Encoding")).isEqualTo("zstd");
+    }
+
+    @Test
+    void testKeepSmallJsonWithoutContentLength() throws Exception {
+        byte[] json = json(100);
+        MockHttpServletResponse response = execute("gzip", json, false);
+
+        assertThat(response.getHeader("Content-Encoding")).isNull();
+        assertThat(response.getContentLength()).isEqualTo(json.length);
+        assertThat(response.getContentAsByteArray()).isEqualTo(json);
+    }
+
+    @Test
+    void testGzipLargeJsonWithoutContentLength() throws Exception {
+        byte[] json = json(5000);
+        MockHttpServletResponse response = execute("gzip", json, false);
+
+        assertThat(response.getHeader("Content-Encoding")).isEqualTo("gzip");
+        assertThat(gunzip(response.getContentAsByteArray())).isEqualTo(json);
+    }
+
+    @Test
+    void testControllerResponsesCompressedOnlyAboveMinSize() throws Exception {
+        MockMvc mvc = MockMvcBuilders.standaloneSetup(new ItemsController())
+                .addFilters(filter)
+                .build();
+
+        MockHttpServletResponse small = mvc.perform(get("/items").param("count", "3")
+                .header("Accept-Encoding", "gzip")).andReturn().getResponse();
+        MockHttpServletResponse large = mvc.perform(get("/items").param("count", "200")
+                .header("Accept-Encoding", "gzip")).andReturn().getResponse();
+
+        assertThat(small.getHeader("Content-Encoding")).isNull();
+        assertThat(small.getContentLength()).isEqualTo(small.getContentAsByteArray().length);
+        assertThat(small.getContentAsString()).startsWith("[{\"id\":0,");
+        assertThat(large.getHeader("Content-Encoding")).isEqualTo("gzip");
+        assertThat(new String(gunzip(large.getContentAsByteArray()), StandardCharsets.UTF_8))
+                .startsWith("[{\"id\":0,").endsWith("\"id\":199,\"name\":\"Дрель 199\"}]");
+    }
+
+    @Test
+    void testLeaveResponseAloneWhenChainFails() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/bookings");
+        request.addHeader("Accept-Encoding", "gzip");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        HttpServlet servlet = new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                resp.setContentType("application/json");
+                resp.getOutputStream().write(json(100));
+                throw new IllegalStateException("Ошибка после начала ответа");
+            }
+        };
+
+        assertThatThrownBy(() -> filter.doFilter(request, response, new MockFilterChain(servlet)))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(response.isCommitted()).isFalse();
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(response.getHeader("Content-Encoding")).isNull();
+    }
+
+    @Test
+    void testWriteListenerGoesToContainerStream() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/bookings");
+        request.addHeader("Accept-Encoding", "gzip");
+        AsyncResponse response = new AsyncResponse(new MockHttpServletResponse());
+        byte[] head = json(100);
+        WriteListener listener = new WriteListener() {
+            @Override
+            public void onWritePossible() {
+            }
+
+            @Override
+            public void onError(Throwable t) {
+            }
+        };
+        HttpServlet servlet = new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                resp.setContentType("application/json");
+                ServletOutputStream out = resp.getOutputStream();
+                out.write(head);
+                out.setWriteListener(listener);
+                assertThat(out.isReady()).isTrue();
+            }
+        };
+
+        filter.doFilter(request, response, new MockFilterChain(servlet));
+
+        assertThat(response.listener).isSameAs(listener);
+        assertThat(response.getHeader("Content-Encoding")).isNull();
+        assertThat(response.body.toByteArray()).isEqualTo(head);
+    }
+
+    private MockHttpServletResponse execute(String acceptEncoding, byte[] body, boolean declareLength)
+            throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/bookings");
+        if (acceptEncoding != null) {
+            request.addHeader("Accept-Encoding", acceptEncoding);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        HttpServlet servlet = new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                resp.setContentType("application/json");
+                if (declareLength) {
+                    resp.setContentLength(body.length);
+                }
+                ServletOutputStream out = resp.getOutputStream();
+                for (int from = 0; from < body.length; from += 512) {
+                    out.write(body, from, Math.min(512, body.length - from));
+                    out.flush();
+                }
+            }
+        };
+        filter.doFilter(request, response, new MockFilterChain(servlet));
+        return response;
+    }
+
+    private static byte[] gunzip(byte[] compressed) throws IOException {
+        return new GZIPInputStream(new ByteArrayInputStream(compressed)).readAllBytes();
+    }
+
+    private static byte[] json(int size) {
+        StringBuilder json = new StringBuilder("[");
+        while (json.length() < size - 40) {
+            json.append("{\"id\":1,\"status\":\"WAITING\"},");
+        }
+        json.append("{\"id\":2}]");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @RestController
+    static class ItemsController {
+        @GetMapping("/items")
+        public List<ItemView> items(@RequestParam int count) {
+            return IntStream.range(0, count)
+                    .mapToObj(id -> new ItemView(id, "Дрель " + id))
+                    .toList();
+        }
+    }
+
+    record ItemView(long id, String name) {
+    }
+
+    /**
+     * Ответ контейнера с поддержкой неблокирующей записи: MockHttpServletResponse её не поддерживает.
+     */
+    private static class AsyncResponse extends HttpServletResponseWrapper {
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        private WriteListener listener;
+
+        private AsyncResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return new ServletOutputStream() {
+                @Override
+                public boolean isReady() {
+                    return listener != null;
+                }
+
+                @Override
+                public void setWriteListener(WriteListener writeListener) {
+                    listener = writeListener;
+                }
+
+                @Override
+                public void write(int b) {
+                    body.write(b);
+                }
+            };
+        }
+    }
+}
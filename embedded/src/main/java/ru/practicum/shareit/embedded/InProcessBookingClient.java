@@ -0,0 +1,61 @@
+package ru.practicum.shareit.embedded;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.booking.controller.BookingController;
+import ru.practicum.shareit.booking.dto.NewBookingDto;
+import ru.practicum.shareit.booking.model.enums.State;
+import ru.practicum.shareit.booking.service.interfaces.BookingService;
+import ru.practicum.shareit.gateway.booking.BookingClient;
+import ru.practicum.shareit.gateway.booking.dto.BookingDto;
+import ru.practicum.shareit.gateway.booking.dto.BookingState;
+import ru.practicum.shareit.util.SliceResponse;
+
+import java.time.LocalDateTime;
+
+import static ru.practicum.shareit.embedded.InProcessResponses.ok;
+import static ru.practicum.shareit.embedded.InProcessResponses.query;
+import static ru.practicum.shareit.embedded.InProcessResponses.respond;
+
+@Service
+@Profile(ShareItEmbedded.PROFILE)
+@RequiredArgsConstructor
+public class InProcessBookingClient extends BookingClient {
+    private final BookingService bookingService;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public ResponseEntity<Object> createBooking(Long userId, BookingDto bookingDto) {
+        return ok(() -> bookingService.createBooking(userId,
+                objectMapper.convertValue(bookingDto, NewBookingDto.class)));
+    }
+
+    @Override
+    public ResponseEntity<Object> confirmationBooking(Long userId, Long bookingId, Boolean approved) {
+        return ok(() -> bookingService.confirmationBooking(userId, bookingId, approved));
+    }
+
+    @Override
+    public ResponseEntity<Object> getBookingById(Long userId, Long bookingId) {
+        return ok(() -> bookingService.getBookingById(userId, bookingId));
+    }
+
+    @Override
+    public ResponseEntity<Object> getAllBookingsUser(Long userId, BookingState state, LocalDateTime afterStart,
+                                                     Long afterId, Integer from, Integer size) {
+        return respond(() -> SliceResponse.of(bookingService.getAllBookingsUser(userId, State.valueOf(state.name()),
+                        afterStart, afterId, from, size), BookingController::cursor, "/bookings",
+                query(pageParameters(state, afterStart, afterId, from, size))));
+    }
+
+    @Override
+    public ResponseEntity<Object> getAllBookingsOwner(Long userId, BookingState state, LocalDateTime afterStart,
+                                                      Long afterId, Integer from, Integer size) {
+        return respond(() -> SliceResponse.of(bookingService.getAllBookingsOwner(userId, State.valueOf(state.name()),
+                        afterStart, afterId, from, size), BookingController::cursor, "/bookings/owner",
+                query(pageParameters(state, afterStart, afterId, from, size))));
+    }
+}
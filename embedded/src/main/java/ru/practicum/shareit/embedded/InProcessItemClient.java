@@ -0,0 +1,73 @@
+package ru.practicum.shareit.embedded;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.gateway.item.ItemClient;
+import ru.practicum.shareit.gateway.item.dto.CommentDto;
+import ru.practicum.shareit.gateway.item.dto.ItemDto;
+import ru.practicum.shareit.item.controller.ItemController;
+import ru.practicum.shareit.item.service.interfaces.ItemService;
+import ru.practicum.shareit.util.SliceResponse;
+
+import static ru.practicum.shareit.embedded.InProcessResponses.ok;
+import static ru.practicum.shareit.embedded.InProcessResponses.query;
+import static ru.practicum.shareit.embedded.InProcessResponses.respond;
+
+@Service
+@Profile(ShareItEmbedded.PROFILE)
+@RequiredArgsConstructor
+public class InProcessItemClient extends ItemClient {
+    private final ItemService itemService;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public ResponseEntity<Object> createItem(Long userId, ItemDto itemDto) {
+        return ok(() -> itemService.createItem(toServer(itemDto), userId));
+    }
+
+    @Override
+    public ResponseEntity<Object> updateItem(Long userId, Long itemId, ItemDto itemDto) {
+        return ok(() -> itemService.updateItem(toServer(itemDto), userId, itemId));
+    }
+
+    @Override
+    public ResponseEntity<Object> getItem(Long userId, Long itemId) {
+        return ok(() -> itemService.getItem(userId, itemId));
+    }
+
+    /**
+     * У shareit-server нет DELETE /items/{itemId}, поэтому и по HTTP вызов ничего не меняет.
+     */
+    @Override
+    public void deleteItem(Long itemId) {
+    }
+
+    @Override
+    public ResponseEntity<Object> getAllItemsOfUser(Long userId, Long afterId, Integer from, Integer size) {
+        return respond(() -> SliceResponse.of(itemService.getAllItemsOfUser(userId, afterId, from, size),
+                ItemController::cursor, "/items", query(pageParameters(afterId, from, size))));
+    }
+
+    @Override
+    public ResponseEntity<Object> searchItemsByText(Long userId, String text, Integer from, Integer size) {
+        return ok(() -> itemService.searchItems(userId, text, from, size));
+    }
+
+    @Override
+    public ResponseEntity<Object> suggest(Long userId, String prefix, Integer size) {
+        return ok(() -> itemService.suggest(userId, prefix, size));
+    }
+
+    @Override
+    public ResponseEntity<Object> createComment(Long userId, Long itemId, CommentDto commentDto) {
+        return ok(() -> itemService.createComment(userId, itemId,
+                objectMapper.convertValue(commentDto, ru.practicum.shareit.item.dto.CommentDto.class)));
+    }
+
+    private ru.practicum.shareit.item.dto.ItemDto toServer(ItemDto itemDto) {
+        return objectMapper.convertValue(itemDto, ru.practicum.shareit.item.dto.ItemDto.class);
+    }
+}
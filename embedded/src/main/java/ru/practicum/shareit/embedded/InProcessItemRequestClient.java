@@ -0,0 +1,54 @@
+package ru.practicum.shareit.embedded;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.gateway.request.ItemRequestClient;
+import ru.practicum.shareit.gateway.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.controller.ItemRequestController;
+import ru.practicum.shareit.request.dto.NewItemRequestDto;
+import ru.practicum.shareit.request.service.interfaces.ItemRequestService;
+import ru.practicum.shareit.util.SliceResponse;
+
+import java.time.LocalDateTime;
+
+import static ru.practicum.shareit.embedded.InProcessResponses.ok;
+import static ru.practicum.shareit.embedded.InProcessResponses.query;
+import static ru.practicum.shareit.embedded.InProcessResponses.respond;
+
+@Service
+@Profile(ShareItEmbedded.PROFILE)
+@RequiredArgsConstructor
+public class InProcessItemRequestClient extends ItemRequestClient {
+    private final ItemRequestService itemRequestService;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public ResponseEntity<Object> getAllItemRequestsByUser(Long userId, LocalDateTime afterCreated, Long afterId,
+                                                           Integer from, Integer size) {
+        return respond(() -> SliceResponse.of(itemRequestService.getAllItemRequestsByUser(userId, afterCreated,
+                        afterId, from, size), ItemRequestController::cursor, "/requests",
+                query(pageParameters(afterCreated, afterId, from, size))));
+    }
+
+    @Override
+    public ResponseEntity<Object> getAllItemRequests(Long userId, LocalDateTime afterCreated, Long afterId,
+                                                     Integer from, Integer size) {
+        return respond(() -> SliceResponse.of(itemRequestService.getAllItemRequests(userId, afterCreated,
+                        afterId, from, size), ItemRequestController::cursor, "/requests/all",
+                query(pageParameters(afterCreated, afterId, from, size))));
+    }
+
+    @Override
+    public ResponseEntity<Object> getItemRequest(Long userId, Long requestId) {
+        return ok(() -> itemRequestService.getItemRequest(userId, requestId));
+    }
+
+    @Override
+    public ResponseEntity<Object> createItemRequest(Long userId, ItemRequestDto itemRequestDto) {
+        return ok(() -> itemRequestService.createItemRequest(userId,
+                objectMapper.convertValue(itemRequestDto, NewItemRequestDto.class)));
+    }
+}
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.embedded;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.exception.ErrorHandler;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Ответы клиентов встроенного режима в том же виде, в каком их вернул бы shareit-server по HTTP: исключения сервисов
+ * переводятся в статус и тело {"error"} тем же ErrorHandler, что и на сервере.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class InProcessResponses {
+    private static final ErrorHandler ERROR_HANDLER = new ErrorHandler();
+
+    static ResponseEntity<Object> ok(Supplier<?> call) {
+        return respond(() -> ResponseEntity.ok(call.get()));
+    }
+
+    static ResponseEntity<Object> respond(Supplier<? extends ResponseEntity<?>> call) {
+        ResponseEntity<?> response;
+        try {
+            response = call.get();
+        } catch (RuntimeException e) {
+            response = ERROR_HANDLER.handle(e);
+        }
+        return new ResponseEntity<>(response.getBody(), response.getHeaders(), response.getStatusCode());
+    }
+
+    /**
+     * Параметры запроса, которые HTTP-клиент отправил бы серверу: без незаданных, в том же порядке.
+     */
+    static Map<String, String[]> query(Map<String, Object> parameters) {
+        Map<String, String[]> query = new LinkedHashMap<>();
+        parameters.forEach((name, value) -> {
+            if (value != null) {
+                query.put(name, new String[]{String.valueOf(value)});
+            }
+        });
+        return query;
+    }
+}
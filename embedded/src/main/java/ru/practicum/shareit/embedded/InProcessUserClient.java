@@ -0,0 +1,48 @@
+package ru.practicum.shareit.embedded;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.gateway.user.UserClient;
+import ru.practicum.shareit.gateway.user.dto.UserDto;
+import ru.practicum.shareit.user.service.interfaces.UserService;
+
+import static ru.practicum.shareit.embedded.InProcessResponses.ok;
+import static ru.practicum.shareit.embedded.InProcessResponses.respond;
+
+@Service
+@Profile(ShareItEmbedded.PROFILE)
+@RequiredArgsConstructor
+public class InProcessUserClient extends UserClient {
+    private final UserService userService;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public ResponseEntity<Object> createUser(UserDto userDto) {
+        return ok(() -> userService.createUser(toServer(userDto)));
+    }
+
+    @Override
+    public ResponseEntity<Object> getUser(Long userId) {
+        return ok(() -> userService.getUser(userId));
+    }
+
+    @Override
+    public ResponseEntity<Object> updateUser(Long userId, UserDto userDto) {
+        return ok(() -> userService.updateUser(userId, toServer(userDto)));
+    }
+
+    @Override
+    public void deleteUser(Long userId) {
+        respond(() -> {
+            userService.deleteUser(userId);
+            return ResponseEntity.ok().build();
+        });
+    }
+
+    private ru.practicum.shareit.user.dto.UserDto toServer(UserDto userDto) {
+        return objectMapper.convertValue(userDto, ru.practicum.shareit.user.dto.UserDto.class);
+    }
+}
@@ -0,0 +1,42 @@
+package ru.practicum.shareit.embedded;
+
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurationExcludeFilter;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.TypeExcludeFilter;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.gateway.ShareItGateway;
+
+/**
+ * Шлюз и сервер в одном процессе: контроллеры шлюза проверяют запросы и вызывают сервисы shareit-server через
+ * клиенты из этого пакета, без HTTP. От сервера берутся сервисы, репозитории и сущности, но не его контроллеры,
+ * обработчик ошибок и настройка транспорта; от шлюза — всё, кроме HTTP-клиентов к shareit-server.
+ */
+@EnableScheduling
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@AutoConfigurationPackage(basePackageClasses = ShareItServer.class)
+@ComponentScan(basePackageClasses = ShareItServer.class, excludeFilters = {
+        @ComponentScan.Filter(type = FilterType.CUSTOM, classes = TypeExcludeFilter.class),
+        @ComponentScan.Filter(type = FilterType.CUSTOM, classes = AutoConfigurationExcludeFilter.class),
+        @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = {ShareItServer.class, ShareItGateway.class}),
+        @ComponentScan.Filter(type = FilterType.ANNOTATION, classes = ControllerAdvice.class),
+        @ComponentScan.Filter(type = FilterType.REGEX, pattern = {
+                "ru\\.practicum\\.shareit\\.(booking|item|request|user)\\.controller\\..*",
+                "ru\\.practicum\\.shareit\\.config\\..*",
+                "ru\\.practicum\\.shareit\\.gateway\\.client\\..*"})})
+public class ShareItEmbedded {
+    public static final String PROFILE = "embedded";
+
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(ShareItEmbedded.class)
+                .profiles(PROFILE)
+                .run(args);
+    }
+}
@@ -0,0 +1,108 @@
+package ru.practicum.shareit.embedded;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import ru.practicum.shareit.gateway.item.ItemClient;
+import ru.practicum.shareit.gateway.user.UserClient;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(classes = ShareItEmbedded.class)
+@AutoConfigureMockMvc
+@ActiveProfiles({"test", ShareItEmbedded.PROFILE})
+public class ShareItEmbeddedTest {
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private ApplicationContext context;
+
+    @Test
+    void context_usesInProcessClientsAndNoServerControllers() {
+        assertInstanceOf(InProcessUserClient.class, context.getBean(UserClient.class));
+        assertInstanceOf(InProcessItemClient.class, context.getBean(ItemClient.class));
+        assertEquals(0, context.getBeanNamesForType(ru.practicum.shareit.item.controller.ItemController.class).length);
+    }
+
+    @Test
+    void createUser_whenEmailInvalid_isRejectedByGatewayValidation() throws Exception {
+        mvc.perform(json(post("/users"), "{\"name\":\"Имя\",\"email\":\"not-an-email\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getAllBookingsUser_whenUserUnknown_answersNotFoundLikeServer() throws Exception {
+        mvc.perform(get("/bookings").header(USER_ID_HEADER, 999_999))
+                .andExpect(status().isNotFound())
+                .andExpect(header().string("X-Unknown-User-Id", "999999"))
+                .andExpect(jsonPath("$.error", is("Пользователь не найден!")));
+    }
+
+    @Test
+    void createBooking_whenItemUnavailable_answersBadRequestFromService() throws Exception {
+        long owner = createUser("owner-unavailable@mail.ru");
+        long booker = createUser("booker-unavailable@mail.ru");
+        long item = createItem(owner, false);
+
+        mvc.perform(json(post("/bookings").header(USER_ID_HEADER, booker),
+                        "{\"itemId\":" + item + ",\"start\":\"2099-01-01T10:00:00\",\"end\":\"2099-01-02T10:00:00\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", is("Вещь с айди " + item + " недоступна!")));
+    }
+
+    @Test
+    void getAllItemsOfUser_whenMorePagesLeft_linksNextPageLikeServer() throws Exception {
+        long owner = createUser("owner-paging@mail.ru");
+        long first = createItem(owner, true);
+        createItem(owner, true);
+
+        mvc.perform(get("/items").param("size", "1").header(USER_ID_HEADER, owner))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is((int) first)))
+                .andExpect(header().string("X-Has-Next", "true"))
+                .andExpect(header().string("Link", "</items?size=1&afterId=" + first + ">; rel=\"next\""));
+    }
+
+    private long createUser(String email) throws Exception {
+        return id(mvc.perform(json(post("/users"), "{\"name\":\"Пользователь\",\"email\":\"" + email + "\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+
+    private long createItem(long owner, boolean available) throws Exception {
+        return id(mvc.perform(json(post("/items").header(USER_ID_HEADER, owner),
+                        "{\"name\":\"Дрель\",\"description\":\"Ударная\",\"available\":" + available + "}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+
+    private long id(String body) throws Exception {
+        JsonNode node = objectMapper.readTree(body);
+        return node.get("id").asLong();
+    }
+
+    private static MockHttpServletRequestBuilder json(MockHttpServletRequestBuilder request, String body) {
+        return request.contentType(MediaType.APPLICATION_JSON)
+                .characterEncoding("UTF-8")
+                .content(body);
+    }
+}
@@ -1,52 +0,0 @@
-package ru.practicum.shareit.booking;
-
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
-import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
-import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
-import ru.practicum.shareit.booking.dto.BookingDto;
-import ru.practicum.shareit.client.BaseClient;
-import ru.practicum.shareit.booking.dto.BookingState;
-
-import java.util.Map;
-
-@Service
-public class BookingClient extends BaseClient {
-    private static final String API_PREFIX = "/bookings";
-
-    @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
-        );
-    }
-
-    public ResponseEntity<Object> createBooking(Long userId, BookingDto bookingDto) {
-        return post("", userId, bookingDto);
-    }
-
-    public ResponseEntity<Object> confirmationBooking(Long userId, Long bookingId, Boolean approved) {
-        Map<String, Object> parameters = Map.of("approved", approved);
-        return patch("/" + bookingId + "?approved={approved}", userId, parameters, null);
-    }
-
-    public ResponseEntity<Object> getBookingById(Long userId, Long bookingId) {
-        return get("/" + bookingId, userId);
-    }
-
-    public ResponseEntity<Object> getAllBookingsUser(Long userId, BookingState state) {
-        Map<String, Object> parameters = Map.of("state", state.name());
-        return get("?state={state}", userId, parameters);
-    }
-
-    public ResponseEntity<Object> getAllBookingsOwner(Long userId, BookingState state) {
-        Map<String, Object> parameters = Map.of("state", state.name());
-        return get("/owner?state={state}", userId, parameters);
-    }
-}
\ No newline at end of file
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.gateway.batch;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.gateway.batch.dto.BatchRequestDto;
+import ru.practicum.shareit.gateway.batch.dto.BatchResponseDto;
+
+import static ru.practicum.shareit.gateway.util.Constant.USER_ID_HEADER;
+
+@RestController
+@RequestMapping(path = "/batch")
+@RequiredArgsConstructor
+public class BatchController {
+    private final BatchService batchService;
+
+    @PostMapping
+    public BatchResponseDto executeBatch(@RequestHeader(value = USER_ID_HEADER, required = false) Long userId,
+                                         @RequestBody @Valid BatchRequestDto batchRequestDto) {
+        return batchService.executeBatch(userId, batchRequestDto);
+    }
+}
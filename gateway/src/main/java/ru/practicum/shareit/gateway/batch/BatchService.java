@@ -0,0 +1,254 @@
+package ru.practicum.shareit.gateway.batch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Service;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import ru.practicum.shareit.gateway.batch.dto.BatchRequestDto;
+import ru.practicum.shareit.gateway.batch.dto.BatchResponseDto;
+import ru.practicum.shareit.gateway.batch.dto.SubRequestDto;
+import ru.practicum.shareit.gateway.batch.dto.SubResponseDto;
+import ru.practicum.shareit.gateway.booking.BookingClient;
+import ru.practicum.shareit.gateway.booking.dto.BookingState;
+import ru.practicum.shareit.gateway.item.ItemClient;
+import ru.practicum.shareit.gateway.ratelimit.RateLimitInterceptor;
+import ru.practicum.shareit.gateway.request.ItemRequestClient;
+import ru.practicum.shareit.gateway.user.UserClient;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static ru.practicum.shareit.gateway.util.Constant.MAX_PAGE_SIZE;
+
+/**
+ * Выполняет GET-подзапросы пакета теми же клиентами, что и контроллеры. Шаблоны маршрутов совпадают с шаблонами
+ * контроллеров, поэтому подзапрос списывается из той же корзины RateLimitInterceptor, а параметры проверяются
+ * с теми же ограничениями, что и у контроллеров, и дают тот же 400.
+ */
+@Slf4j
+@Service
+public class BatchService {
+    private final List<Route> routes;
+    private final ObjectMapper objectMapper;
+    private final RateLimitInterceptor rateLimiter;
+
+    public BatchService(UserClient userClient, ItemClient itemClient, BookingClient bookingClient,
+                        ItemRequestClient itemRequestClient, ObjectMapper objectMapper,
+                        ObjectProvider<RateLimitInterceptor> rateLimitInterceptor) {
+        this.objectMapper = objectMapper;
+        this.rateLimiter = rateLimitInterceptor.getIfAvailable();
+        this.routes = List.of(
+                new Route("/users/{userId}", false,
+                        (userId, vars, params) -> userClient.getUser(id(vars, "userId"))),
+                new Route("/items", true,
+                        (userId, vars, params) -> itemClient.getAllItemsOfUser(userId, afterId(params),
+                                from(params), size(params, 20, MAX_PAGE_SIZE))),
+                new Route("/items/search", true,
+                        (userId, vars, params) -> itemClient.searchItemsByText(userId, text(params, "text"),
+                                from(params), size(params, 20, MAX_PAGE_SIZE))),
+                new Route("/items/suggest", true,
+                        (userId, vars, params) -> itemClient.suggest(userId, text(params, "prefix"),
+                                size(params, 10, 20))),
+                new Route("/items/{itemId}", true,
+                        (userId, vars, params) -> itemClient.getItem(userId, id(vars, "itemId"))),
+                new Route("/bookings", true,
+                        (userId, vars, params) -> bookingClient.getAllBookingsUser(userId, state(params),
+                                timeParam(params, "afterStart"), afterId(params),
+                                from(params), size(params, 20, MAX_PAGE_SIZE))),
+                new Route("/bookings/owner", true,
+                        (userId, vars, params) -> bookingClient.getAllBookingsOwner(userId, state(params),
+                                timeParam(params, "afterStart"), afterId(params),
+                                from(params), size(params, 20, MAX_PAGE_SIZE))),
+                new Route("/bookings/{bookingId}", true,
+                        (userId, vars, params) -> bookingClient.getBookingById(userId, id(vars, "bookingId"))),
+                new Route("/requests", true,
+                        (userId, vars, params) -> itemRequestClient.getAllItemRequestsByUser(userId,
+                                timeParam(params, "afterCreated"), afterId(params),
+                                from(params), size(params, 20, MAX_PAGE_SIZE))),
+                new Route("/requests/all", true,
+                        (userId, vars, params) -> itemRequestClient.getAllItemRequests(userId,
+                                timeParam(params, "afterCreated"), afterId(params),
+                                from(params), size(params, 20, MAX_PAGE_SIZE))),
+                new Route("/requests/{requestId}", true,
+                        (userId, vars, params) -> itemRequestClient.getItemRequest(userId, id(vars, "requestId")))
+        );
+    }
+
+    public BatchResponseDto executeBatch(Long userId, BatchRequestDto batchRequestDto) {
+        log.info("Выполнение пакета из {} подзапросов пользователя {}", batchRequestDto.getRequests().size(), userId);
+        List<SubResponseDto> responses = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<SubResponseDto>> futures = batchRequestDto.getRequests().stream()
+                    .map(subRequest -> executor.submit(() -> execute(userId, subRequest)))
+                    .toList();
+            for (int i = 0; i < futures.size(); i++) {
+                responses.add(await(batchRequestDto.getRequests().get(i), futures.get(i)));
+            }
+        }
+        return new BatchResponseDto(responses);
+    }
+
+    private SubResponseDto execute(Long userId, SubRequestDto subRequest) {
+        if (!"GET".equalsIgnoreCase(subRequest.getMethod())) {
+            return error(subRequest, HttpStatus.METHOD_NOT_ALLOWED, "В пакете поддерживаются только GET-запросы");
+        }
+        UriComponents uri = UriComponentsBuilder.fromUriString(subRequest.getPath()).build();
+        PathContainer path = PathContainer.parsePath(uri.getPath() == null ? "" : uri.getPath());
+        for (Route route : routes) {
+            PathPattern.PathMatchInfo matchInfo = route.pattern.matchAndExtract(path);
+            if (matchInfo == null) {
+                continue;
+            }
+            if (route.userRequired && userId == null) {
+                return error(subRequest, HttpStatus.BAD_REQUEST, "Не указан заголовок X-Sharer-User-Id");
+            }
+            if (rateLimiter != null && userId != null) {
+                long waitNanos = rateLimiter.tryAcquire(String.valueOf(userId), route.pattern.getPatternString());
+                if (waitNanos > 0) {
+                    return error(subRequest, HttpStatus.TOO_MANY_REQUESTS,
+                            RateLimitInterceptor.rejectionMessage(RateLimitInterceptor.retryAfterSeconds(waitNanos)));
+                }
+            }
+            try {
+                ResponseEntity<Object> response = route.handler.handle(userId, matchInfo.getUriVariables(),
+                        uri.getQueryParams());
+                return new SubResponseDto(subRequest.getId(), response.getStatusCode().value(),
+                        toJson(response.getBody()));
+            } catch (IllegalArgumentException | DateTimeException e) {
+                return error(subRequest, HttpStatus.BAD_REQUEST, e.getMessage());
+            }
+        }
+        return error(subRequest, HttpStatus.NOT_FOUND, "Неизвестный путь " + subRequest.getPath());
+    }
+
+    private SubResponseDto await(SubRequestDto subRequest, Future<SubResponseDto> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return error(subRequest, HttpStatus.SERVICE_UNAVAILABLE, "Выполнение пакета прервано");
+        } catch (ExecutionException e) {
+            log.warn("Ошибка выполнения подзапроса {}", subRequest.getPath(), e.getCause());
+            return error(subRequest, HttpStatus.BAD_GATEWAY, "Ошибка обращения к shareit-server");
+        }
+    }
+
+    private Object toJson(Object body) {
+        if (!(body instanceof byte[] bytes)) {
+            return body;
+        }
+        if (bytes.length == 0) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(bytes);
+        } catch (IOException e) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    List<String> patterns() {
+        return routes.stream()
+                .map(route -> route.pattern.getPatternString())
+                .toList();
+    }
+
+    private static SubResponseDto error(SubRequestDto subRequest, HttpStatus status, String message) {
+        return new SubResponseDto(subRequest.getId(), status.value(), Map.of("error", message));
+    }
+
+    private static Long id(Map<String, String> vars, String name) {
+        return Long.valueOf(vars.get(name));
+    }
+
+    private static String param(MultiValueMap<String, String> params, String name, String defaultValue) {
+        String value = params.getFirst(name);
+        return value == null ? defaultValue : UriUtils.decode(value, StandardCharsets.UTF_8);
+    }
+
+    private static Integer intParam(MultiValueMap<String, String> params, String name, int defaultValue) {
+        return Integer.valueOf(param(params, name, String.valueOf(defaultValue)));
+    }
+
+    private static Long longParam(MultiValueMap<String, String> params, String name) {
+        String value = param(params, name, null);
+        return value == null ? null : Long.valueOf(value);
+    }
+
+    private static String text(MultiValueMap<String, String> params, String name) {
+        String value = param(params, name, null);
+        check(value != null && !value.isBlank(), "Параметр " + name + " не может быть пустым");
+        return value;
+    }
+
+    private static Integer from(MultiValueMap<String, String> params) {
+        Integer from = intParam(params, "from", 0);
+        check(from >= 0, "Параметр from не может быть отрицательным");
+        return from;
+    }
+
+    private static Integer size(MultiValueMap<String, String> params, int defaultValue, int max) {
+        Integer size = intParam(params, "size", defaultValue);
+        check(size > 0, "Параметр size должен быть положительным");
+        check(size <= max, "Параметр size не может быть больше " + max);
+        return size;
+    }
+
+    private static Long afterId(MultiValueMap<String, String> params) {
+        Long afterId = longParam(params, "afterId");
+        check(afterId == null || afterId > 0, "Параметр afterId должен быть положительным");
+        return afterId;
+    }
+
+    private static LocalDateTime timeParam(MultiValueMap<String, String> params, String name) {
+        String value = param(params, name, null);
+        return value == null ? null : LocalDateTime.parse(value);
+    }
+
+    private static BookingState state(MultiValueMap<String, String> params) {
+        String state = param(params, "state", BookingState.ALL.name());
+        return BookingState.from(state)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + state));
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalArgumentException(message);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        ResponseEntity<Object> handle(Long userId, Map<String, String> vars, MultiValueMap<String, String> params);
+    }
+
+    private static final class Route {
+        private final PathPattern pattern;
+        private final boolean userRequired;
+        private final Handler handler;
+
+        private Route(String pattern, boolean userRequired, Handler handler) {
+            this.pattern = PathPatternParser.defaultInstance.parse(pattern);
+            this.userRequired = userRequired;
+            this.handler = handler;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.gateway.batch.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BatchRequestDto {
+    @NotEmpty(message = "Список подзапросов не может быть пустым!")
+    @Size(max = 20, message = "В одном пакете может быть не больше 20 подзапросов!")
+    private List<@Valid SubRequestDto> requests;
+}
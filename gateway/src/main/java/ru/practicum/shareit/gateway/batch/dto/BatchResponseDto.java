@@ -0,0 +1,12 @@
+package ru.practicum.shareit.gateway.batch.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class BatchResponseDto {
+    private List<SubResponseDto> responses;
+}
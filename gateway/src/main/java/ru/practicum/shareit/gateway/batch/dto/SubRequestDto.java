@@ -0,0 +1,12 @@
+package ru.practicum.shareit.gateway.batch.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+@Data
+public class SubRequestDto {
+    private String id;
+    private String method = "GET";
+    @NotBlank(message = "Путь подзапроса должен быть указан!")
+    private String path;
+}
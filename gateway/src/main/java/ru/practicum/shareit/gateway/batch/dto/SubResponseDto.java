@@ -0,0 +1,12 @@
+package ru.practicum.shareit.gateway.batch.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class SubResponseDto {
+    private String id;
+    private int status;
+    private Object body;
+}
@@ -0,0 +1,84 @@
+package ru.practicum.shareit.gateway.booking;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.gateway.booking.dto.BookingDto;
+import ru.practicum.shareit.gateway.client.BaseClient;
+import ru.practicum.shareit.gateway.client.ClientCallMetrics;
+import ru.practicum.shareit.gateway.client.WireFormat;
+import ru.practicum.shareit.gateway.booking.dto.BookingState;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Service
+@Profile("!embedded")
+public class BookingClient extends BaseClient {
+    private static final String API_PREFIX = "/bookings";
+
+    @Autowired
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl,
+                         @Value("${shareit-server.passthrough}") boolean passthrough,
+                         @Value("${shareit-server.wire-format}") WireFormat wireFormat,
+                         RestTemplateBuilder builder,
+                         ClientCallMetrics metrics) {
+        super(
+                builder
+                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
+                        .build(),
+                passthrough,
+                wireFormat,
+                metrics
+        );
+    }
+
+    /**
+     * Для встроенного режима: наследник вызывает сервисы shareit-server в том же процессе, RestTemplate не нужен.
+     */
+    protected BookingClient() {
+        super(new RestTemplate());
+    }
+
+    public ResponseEntity<Object> createBooking(Long userId, BookingDto bookingDto) {
+        return post("", userId, bookingDto);
+    }
+
+    public ResponseEntity<Object> confirmationBooking(Long userId, Long bookingId, Boolean approved) {
+        Map<String, Object> parameters = Map.of("approved", approved);
+        return patch("/" + bookingId + "?approved={approved}", userId, parameters, null);
+    }
+
+    public ResponseEntity<Object> getBookingById(Long userId, Long bookingId) {
+        return get("/" + bookingId, userId);
+    }
+
+    public ResponseEntity<Object> getAllBookingsUser(Long userId, BookingState state, LocalDateTime afterStart,
+                                                     Long afterId, Integer from, Integer size) {
+        Map<String, Object> parameters = pageParameters(state, afterStart, afterId, from, size);
+        return get(withQuery("", parameters), userId, parameters);
+    }
+
+    public ResponseEntity<Object> getAllBookingsOwner(Long userId, BookingState state, LocalDateTime afterStart,
+                                                      Long afterId, Integer from, Integer size) {
+        Map<String, Object> parameters = pageParameters(state, afterStart, afterId, from, size);
+        return get(withQuery("/owner", parameters), userId, parameters);
+    }
+
+    protected static Map<String, Object> pageParameters(BookingState state, LocalDateTime afterStart, Long afterId,
+                                                      Integer from, Integer size) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("state", state.name());
+        parameters.put("afterStart", afterStart);
+        parameters.put("afterId", afterId);
+        parameters.put("from", from);
+        parameters.put("size", size);
+        return parameters;
+    }
+}
\ No newline at end of file
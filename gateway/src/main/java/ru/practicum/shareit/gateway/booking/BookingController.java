@@ -0,0 +1,65 @@
+package ru.practicum.shareit.gateway.booking;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.gateway.booking.dto.BookingDto;
+import ru.practicum.shareit.gateway.booking.dto.BookingState;
+
+import java.time.LocalDateTime;
+
+import static ru.practicum.shareit.gateway.util.Constant.MAX_PAGE_SIZE;
+import static ru.practicum.shareit.gateway.util.Constant.USER_ID_HEADER;
+
+@RestController
+@RequestMapping(path = "/bookings")
+@RequiredArgsConstructor
+public class BookingController {
+    private final BookingClient bookingClient;
+
+    @GetMapping
+    public ResponseEntity<Object> getAllBookingsUser(@RequestHeader(USER_ID_HEADER) Long userId,
+                                                     @RequestParam(required = false, defaultValue = "ALL") BookingState state,
+                                                     @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME)
+                                                     LocalDateTime afterStart,
+                                                     @RequestParam(required = false) @Positive Long afterId,
+                                                     @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
+                                                     @RequestParam(defaultValue = "20") @Positive @Max(MAX_PAGE_SIZE) Integer size) {
+        return bookingClient.getAllBookingsUser(userId, state, afterStart, afterId, from, size);
+    }
+
+    @GetMapping("/{bookingId}")
+    public ResponseEntity<Object> getBookingById(@RequestHeader(USER_ID_HEADER) Long userId,
+                                                 @PathVariable Long bookingId) {
+        return bookingClient.getBookingById(userId, bookingId);
+    }
+
+    @GetMapping("/owner")
+    public ResponseEntity<Object> getAllBookingsOwner(@RequestHeader(USER_ID_HEADER) Long userId,
+                                                      @RequestParam(required = false, defaultValue = "ALL") BookingState state,
+                                                      @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME)
+                                                      LocalDateTime afterStart,
+                                                      @RequestParam(required = false) @Positive Long afterId,
+                                                      @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
+                                                      @RequestParam(defaultValue = "20") @Positive @Max(MAX_PAGE_SIZE) Integer size) {
+        return bookingClient.getAllBookingsOwner(userId, state, afterStart, afterId, from, size);
+    }
+
+    @PostMapping
+    public ResponseEntity<Object> createBooking(@RequestHeader(USER_ID_HEADER) Long userId,
+                                                @RequestBody BookingDto bookingDto) {
+        return bookingClient.createBooking(userId, bookingDto);
+    }
+
+    @PatchMapping("/{bookingId}")
+    public ResponseEntity<Object> confirmationBooking(@RequestHeader(USER_ID_HEADER) Long userId,
+                                                      @PathVariable Long bookingId,
+                                                      @RequestParam Boolean approved) {
+        return bookingClient.confirmationBooking(userId, bookingId, approved);
+    }
+}
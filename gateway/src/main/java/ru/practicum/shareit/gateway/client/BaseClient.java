@@ -0,0 +1,284 @@
+package ru.practicum.shareit.gateway.client;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.RestTemplate;
+
+public class BaseClient {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final SmileFactory SMILE_FACTORY = new SmileFactory();
+    private static final Pattern NUMERIC_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+    /**
+     * Заголовки одного соединения (RFC 9110, раздел 7.6.1): их контейнер шлюза выставляет сам.
+     */
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of("connection", "keep-alive", "proxy-authenticate",
+            "proxy-authorization", "proxy-connection", "te", "trailer", "transfer-encoding", "upgrade");
+
+    protected final RestTemplate rest;
+    private final boolean passthrough;
+    private final WireFormat wireFormat;
+    private final ClientCallMetrics metrics;
+    private final String clientName;
+    private final String rootPath;
+
+    public BaseClient(RestTemplate rest) {
+        this(rest, false);
+    }
+
+    public BaseClient(RestTemplate rest, boolean passthrough) {
+        this(rest, passthrough, WireFormat.JSON);
+    }
+
+    public BaseClient(RestTemplate rest, boolean passthrough, WireFormat wireFormat) {
+        this(rest, passthrough, wireFormat, ClientCallMetrics.NONE);
+    }
+
+    public BaseClient(RestTemplate rest, boolean passthrough, WireFormat wireFormat, ClientCallMetrics metrics) {
+        this.rest = rest;
+        this.passthrough = passthrough;
+        this.wireFormat = wireFormat;
+        this.metrics = metrics;
+        this.clientName = getClass().getSimpleName();
+        this.rootPath = rest.getUriTemplateHandler().expand("").getRawPath();
+    }
+
+    protected ResponseEntity<Object> get(String path) {
+        return get(path, null, null);
+    }
+
+    protected ResponseEntity<Object> get(String path, long userId) {
+        return get(path, userId, null);
+    }
+
+    protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
+    }
+
+    /**
+     * Шаблон пути с параметрами запроса. Параметры со значением null, например незаданный курсор, в запрос
+     * не попадают; сама карта не меняется.
+     */
+    protected static String withQuery(String path, Map<String, Object> parameters) {
+        return parameters.entrySet().stream()
+                .filter(parameter -> parameter.getValue() != null)
+                .map(parameter -> parameter.getKey() + "={" + parameter.getKey() + "}")
+                .collect(Collectors.joining("&", path + "?", ""));
+    }
+
+    protected <T> ResponseEntity<Object> post(String path, T body) {
+        return post(path, null, null, body);
+    }
+
+    protected <T> ResponseEntity<Object> post(String path, long userId, T body) {
+        return post(path, userId, null, body);
+    }
+
+    protected <T> ResponseEntity<Object> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+        return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
+    }
+
+    protected <T> ResponseEntity<Object> put(String path, long userId, T body) {
+        return put(path, userId, null, body);
+    }
+
+    protected <T> ResponseEntity<Object> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
+        return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body);
+    }
+
+    protected <T> ResponseEntity<Object> patch(String path, T body) {
+        return patch(path, null, null, body);
+    }
+
+    protected <T> ResponseEntity<Object> patch(String path, long userId) {
+        return patch(path, userId, null, null);
+    }
+
+    protected <T> ResponseEntity<Object> patch(String path, long userId, T body) {
+        return patch(path, userId, null, body);
+    }
+
+    protected <T> ResponseEntity<Object> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+        return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
+    }
+
+    protected ResponseEntity<Object> delete(String path) {
+        return delete(path, null, null);
+    }
+
+    protected ResponseEntity<Object> delete(String path, long userId) {
+        return delete(path, userId, null);
+    }
+
+    protected ResponseEntity<Object> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
+    }
+
+    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        ClientCallTimings timings = ClientCallTimings.start();
+        String status = "IO_ERROR";
+        try {
+            ResponseEntity<Object> response = sendRequest(method, path, userId, parameters, body);
+            status = String.valueOf(response.getStatusCode().value());
+            return response;
+        } finally {
+            timings.finish(metrics, clientName, method.name(), routeTemplate(path), status);
+        }
+    }
+
+    private <T> ResponseEntity<Object> sendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+
+        if (passthrough) {
+            return relayRequest(method, path, parameters, requestEntity);
+        }
+
+        ResponseEntity<Object> shareitServerResponse;
+        try {
+            if (parameters != null) {
+                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
+            } else {
+                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+            }
+        } catch (HttpStatusCodeException e) {
+            return prepareRelayResponse(e.getStatusCode(), e.getResponseHeaders(), e.getResponseBodyAsByteArray());
+        }
+        return prepareGatewayResponse(shareitServerResponse);
+    }
+
+    private <T> ResponseEntity<Object> relayRequest(HttpMethod method, String path, @Nullable Map<String, Object> parameters, HttpEntity<T> requestEntity) {
+        RequestCallback requestCallback = rest.httpEntityCallback(requestEntity);
+        ResponseEntity<byte[]> shareitServerResponse;
+        try {
+            if (parameters != null) {
+                shareitServerResponse = rest.execute(path, method, requestCallback, BaseClient::extractRelayResponse,
+                        parameters);
+            } else {
+                shareitServerResponse = rest.execute(path, method, requestCallback, BaseClient::extractRelayResponse);
+            }
+        } catch (HttpStatusCodeException e) {
+            return prepareRelayResponse(e.getStatusCode(), e.getResponseHeaders(), e.getResponseBodyAsByteArray());
+        }
+        return prepareRelayResponse(shareitServerResponse.getStatusCode(), shareitServerResponse.getHeaders(),
+                shareitServerResponse.getBody());
+    }
+
+    private String routeTemplate(String path) {
+        int query = path.indexOf('?');
+        String rawPath = query < 0 ? path : path.substring(0, query);
+        return rootPath + NUMERIC_SEGMENT.matcher(rawPath).replaceAll("/{id}");
+    }
+
+    private static ResponseEntity<byte[]> extractRelayResponse(ClientHttpResponse response) throws IOException {
+        byte[] body = response instanceof BufferedClientHttpResponse buffered
+                ? buffered.getBodyAsByteArray()
+                : response.getBody().readAllBytes();
+        return ResponseEntity.status(response.getStatusCode()).headers(response.getHeaders()).body(body);
+    }
+
+    private HttpHeaders defaultHeaders(Long userId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(wireFormat.getMediaType());
+        if (wireFormat == WireFormat.JSON) {
+            headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        } else {
+            headers.setAccept(List.of(wireFormat.getMediaType(), MediaType.APPLICATION_JSON));
+        }
+        if (userId != null) {
+            headers.set("X-Sharer-User-Id", String.valueOf(userId));
+        }
+        return headers;
+    }
+
+    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
+        if (response.getStatusCode().is2xxSuccessful()) {
+            return response;
+        }
+
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+
+        if (response.hasBody()) {
+            return responseBuilder.body(response.getBody());
+        }
+
+        return responseBuilder.build();
+    }
+
+    private static ResponseEntity<Object> prepareRelayResponse(HttpStatusCode status, @Nullable HttpHeaders headers, @Nullable byte[] body) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(status);
+        MediaType contentType = headers != null ? headers.getContentType() : null;
+        boolean smile = WireFormat.SMILE.getMediaType().isCompatibleWith(contentType);
+        byte[] relayedBody = body != null && body.length > 0 && smile ? smileToJson(body) : body;
+
+        if (headers != null) {
+            responseBuilder.headers(endToEndHeaders(headers, smile, relayedBody));
+        }
+        if (smile) {
+            responseBuilder.contentType(MediaType.APPLICATION_JSON);
+        }
+
+        if (relayedBody != null && relayedBody.length > 0) {
+            return responseBuilder.body(relayedBody);
+        }
+
+        return responseBuilder.build();
+    }
+
+    /**
+     * Заголовки ответа сервера без заголовков соединения. Длина и кодировка отбрасываются, если тело
+     * перекодировано из Smile или клиент уже распаковал его: они описывают тело, которого больше нет.
+     */
+    private static HttpHeaders endToEndHeaders(HttpHeaders headers, boolean transcoded, @Nullable byte[] body) {
+        Set<String> excluded = new HashSet<>(HOP_BY_HOP_HEADERS);
+        headers.getConnection().forEach(name -> excluded.add(name.toLowerCase(Locale.ROOT)));
+        long contentLength = headers.getContentLength();
+        if (transcoded || contentLength >= 0 && contentLength != (body == null ? 0 : body.length)) {
+            excluded.add(HttpHeaders.CONTENT_LENGTH.toLowerCase(Locale.ROOT));
+        }
+        if (transcoded) {
+            excluded.add(HttpHeaders.CONTENT_ENCODING.toLowerCase(Locale.ROOT));
+        }
+        HttpHeaders relayed = new HttpHeaders();
+        headers.forEach((name, values) -> {
+            if (!excluded.contains(name.toLowerCase(Locale.ROOT))) {
+                relayed.addAll(name, values);
+            }
+        });
+        return relayed;
+    }
+
+    private static byte[] smileToJson(byte[] body) {
+        ByteArrayOutputStream json = new ByteArrayOutputStream(body.length * 2);
+        try (JsonParser parser = SMILE_FACTORY.createParser(body);
+             JsonGenerator generator = JSON_FACTORY.createGenerator(json)) {
+            while (parser.nextToken() != null) {
+                generator.copyCurrentEvent(parser);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return json.toByteArray();
+    }
+}
\ No newline at end of file
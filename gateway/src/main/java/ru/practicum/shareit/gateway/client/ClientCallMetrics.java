@@ -0,0 +1,60 @@
+package ru.practicum.shareit.gateway.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Таймеры вызовов BaseClient. Таймер регистрируется один раз на сочетание клиента, метода, маршрута
+ * и статуса и дальше берётся из карты: Timer.builder().register() на каждый вызов сортирует теги
+ * и ищет метр в реестре.
+ */
+public class ClientCallMetrics {
+    /**
+     * Для клиентов, созданных без реестра: составной реестр без вложенных ничего не хранит.
+     */
+    static final ClientCallMetrics NONE = new ClientCallMetrics(new CompositeMeterRegistry());
+
+    private static final String REQUESTS = "shareit.client.requests";
+    private static final String LEASE = "shareit.client.requests.lease";
+    private static final String FIRST_BYTE = "shareit.client.requests.first.byte";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+    public ClientCallMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    Timer requests(String client, String method, String route, String status) {
+        return timers.computeIfAbsent(new TimerKey(REQUESTS, client, method, route, status), key ->
+                register(key, "Total time of a shareit-server call made through BaseClient"));
+    }
+
+    Timer lease(String client, String method, String route) {
+        return timers.computeIfAbsent(new TimerKey(LEASE, client, method, route, null), key ->
+                register(key, "Time a BaseClient call waited for a pooled connection"));
+    }
+
+    Timer firstByte(String client, String method, String route) {
+        return timers.computeIfAbsent(new TimerKey(FIRST_BYTE, client, method, route, null), key ->
+                register(key, "Time until shareit-server response headers arrived"));
+    }
+
+    private Timer register(TimerKey key, String description) {
+        Timer.Builder builder = Timer.builder(key.name())
+                .description(description)
+                .tags("client", key.client(), "method", key.method(), "route", key.route())
+                .publishPercentileHistogram();
+        if (key.status() != null) {
+            builder.tag("status", key.status());
+        }
+        return builder.register(meterRegistry);
+    }
+
+    private record TimerKey(String name, String client, String method, String route, String status) {
+    }
+}
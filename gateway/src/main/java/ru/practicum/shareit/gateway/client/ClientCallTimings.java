@@ -0,0 +1,50 @@
+package ru.practicum.shareit.gateway.client;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Фазы одного вызова BaseClient. Пул соединений и последний перехватчик пишут в экземпляр,
+ * привязанный к текущему потоку: классический HttpClient выполняет запрос в потоке вызова.
+ */
+final class ClientCallTimings {
+    private static final ThreadLocal<ClientCallTimings> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private long leaseNanos = -1;
+    private long firstByteNanos = -1;
+
+    private ClientCallTimings() {
+    }
+
+    static ClientCallTimings start() {
+        ClientCallTimings timings = new ClientCallTimings();
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    static void recordLease(long nanos) {
+        ClientCallTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.leaseNanos = Math.max(timings.leaseNanos, 0) + nanos;
+        }
+    }
+
+    static void recordFirstByte() {
+        ClientCallTimings timings = CURRENT.get();
+        if (timings != null && timings.firstByteNanos < 0) {
+            timings.firstByteNanos = System.nanoTime() - timings.startNanos;
+        }
+    }
+
+    void finish(ClientCallMetrics metrics, String client, String method, String route, String status) {
+        long totalNanos = System.nanoTime() - startNanos;
+        CURRENT.remove();
+        metrics.requests(client, method, route, status).record(totalNanos, TimeUnit.NANOSECONDS);
+        if (leaseNanos >= 0) {
+            metrics.lease(client, method, route).record(leaseNanos, TimeUnit.NANOSECONDS);
+        }
+        if (firstByteNanos >= 0) {
+            metrics.firstByte(client, method, route).record(firstByteNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
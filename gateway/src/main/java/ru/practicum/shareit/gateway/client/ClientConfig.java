@@ -0,0 +1,192 @@
+package ru.practicum.shareit.gateway.client;
+
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.github.luben.zstd.ZstdInputStream;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.ConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.entity.DeflateInputStreamFactory;
+import org.apache.hc.client5.http.entity.GZIPInputStreamFactory;
+import org.apache.hc.client5.http.entity.InputStreamFactory;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.socket.ConnectionSocketFactory;
+import org.apache.hc.client5.http.socket.PlainConnectionSocketFactory;
+import org.apache.hc.client5.http.ssl.SSLConnectionSocketFactory;
+import org.apache.hc.core5.http.config.Registry;
+import org.apache.hc.core5.http.config.RegistryBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.web.client.RestTemplateBuilderConfigurer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.concurrent.Executors;
+
+@Configuration
+@EnableConfigurationProperties({ConnectionPoolProperties.class, RetryProperties.class, HedgingProperties.class})
+public class ClientConfig {
+
+    /**
+     * Unix-сокет заменяет фабрику соединений для всей схемы http, поэтому с балансировкой, которой нужны
+     * разные адреса экземпляров, он несовместим.
+     */
+    @Bean
+    public InstrumentedConnectionManager connectionManager(ConnectionPoolProperties properties,
+                                                           @Value("${shareit-server.unix-socket-path:}")
+                                                           String unixSocketPath,
+                                                           @Value("${shareit-server.load-balancing.enabled:false}")
+                                                           boolean loadBalancing,
+                                                           MeterRegistry meterRegistry) throws IOException {
+        if (StringUtils.hasText(unixSocketPath) && loadBalancing) {
+            throw new IllegalStateException("shareit-server.unix-socket-path нельзя задавать вместе "
+                    + "с shareit-server.load-balancing.enabled=true: все экземпляры оказались бы одним сокетом");
+        }
+        ConnectionSocketFactory httpSocketFactory = StringUtils.hasText(unixSocketPath)
+                ? new UnixDomainSocketFactory(unixSocketPath)
+                : PlainConnectionSocketFactory.getSocketFactory();
+        Registry<ConnectionSocketFactory> socketFactoryRegistry = RegistryBuilder.<ConnectionSocketFactory>create()
+                .register("http", httpSocketFactory)
+                .register("https", SSLConnectionSocketFactory.getSocketFactory())
+                .build();
+        InstrumentedConnectionManager connectionManager = new InstrumentedConnectionManager(socketFactoryRegistry,
+                toTimeValue(properties.getTimeToLive()), meterRegistry);
+        connectionManager.setMaxTotal(properties.getMaxTotal());
+        connectionManager.setDefaultMaxPerRoute(properties.getMaxPerRoute());
+        connectionManager.setDefaultConnectionConfig(ConnectionConfig.custom()
+                .setConnectTimeout(toTimeout(properties.getConnectTimeout()))
+                .setSocketTimeout(toTimeout(properties.getResponseTimeout()))
+                .setValidateAfterInactivity(toTimeValue(properties.getValidateAfterInactivity()))
+                .setTimeToLive(toTimeValue(properties.getTimeToLive()))
+                .build());
+        return connectionManager;
+    }
+
+    @Bean
+    public ClientCallMetrics clientCallMetrics(MeterRegistry meterRegistry) {
+        return new ClientCallMetrics(meterRegistry);
+    }
+
+    @Bean
+    public MeterBinder connectionPoolMetrics(InstrumentedConnectionManager connectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager,
+                InstrumentedConnectionManager.POOL_NAME);
+    }
+
+    @Bean
+    public CloseableHttpClient shareItServerHttpClient(InstrumentedConnectionManager connectionManager,
+                                                       ConnectionPoolProperties properties,
+                                                       RetryProperties retryProperties,
+                                                       @Value("${shareit-server.compression.zstd:false}") boolean zstd) {
+        TimeValue keepAlive = toTimeValue(properties.getKeepAlive());
+        ConnectionKeepAliveStrategy keepAliveStrategy = (response, context) -> {
+            TimeValue serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response,
+                    context);
+            return TimeValue.isPositive(serverKeepAlive) && serverKeepAlive.compareTo(keepAlive) < 0
+                    ? serverKeepAlive : keepAlive;
+        };
+        HttpClientBuilder builder = HttpClients.custom();
+        if (zstd) {
+            LinkedHashMap<String, InputStreamFactory> decoders = new LinkedHashMap<>();
+            decoders.put("zstd", ZstdInputStream::new);
+            decoders.put("gzip", GZIPInputStreamFactory.getInstance());
+            decoders.put("x-gzip", GZIPInputStreamFactory.getInstance());
+            decoders.put("deflate", DeflateInputStreamFactory.getInstance());
+            builder.setContentDecoderRegistry(decoders);
+        }
+        if (retryProperties.isEnabled()) {
+            builder.disableAutomaticRetries();
+        }
+        return builder
+                .setConnectionManager(connectionManager)
+                .setKeepAliveStrategy(keepAliveStrategy)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(toTimeout(properties.getLeaseTimeout()))
+                        .setResponseTimeout(toTimeout(properties.getResponseTimeout()))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(toTimeValue(properties.getIdleEviction()))
+                .build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit-server.http2.enabled", havingValue = "true")
+    public HttpClient shareItServerHttp2Client(ConnectionPoolProperties properties) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(properties.getConnectTimeout())
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    @Bean
+    public ClientHttpRequestFactory shareItServerRequestFactory(CloseableHttpClient shareItServerHttpClient,
+                                                                ObjectProvider<HttpClient> shareItServerHttp2Client,
+                                                                ConnectionPoolProperties properties,
+                                                                RetryProperties retryProperties,
+                                                                HedgingProperties hedgingProperties,
+                                                                ObjectProvider<LoadBalancer> loadBalancer,
+                                                                MeterRegistry meterRegistry) {
+        HttpClient http2Client = shareItServerHttp2Client.getIfAvailable();
+        ClientHttpRequestFactory requestFactory;
+        if (http2Client != null) {
+            JdkClientHttpRequestFactory jdkRequestFactory = new JdkClientHttpRequestFactory(http2Client);
+            jdkRequestFactory.setReadTimeout(properties.getResponseTimeout());
+            requestFactory = jdkRequestFactory;
+        } else {
+            requestFactory = new HttpComponentsClientHttpRequestFactory(shareItServerHttpClient);
+        }
+        LoadBalancer balancer = loadBalancer.getIfAvailable();
+        if (balancer != null) {
+            requestFactory = new LoadBalancingRequestFactory(requestFactory, balancer);
+        }
+        if (retryProperties.isEnabled() || hedgingProperties.isEnabled()) {
+            requestFactory = new RetryingRequestFactory(requestFactory, retryProperties, hedgingProperties,
+                    meterRegistry);
+        }
+        return requestFactory;
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    @Bean
+    public RestTemplateBuilder restTemplateBuilder(RestTemplateBuilderConfigurer configurer,
+                                                   ClientHttpRequestFactory shareItServerRequestFactory,
+                                                   ObjectProvider<ClientHttpRequestInterceptor> interceptors) {
+        return configurer.configure(new RestTemplateBuilder())
+                .requestFactory(() -> shareItServerRequestFactory)
+                .additionalInterceptors(interceptors.orderedStream().toList());
+    }
+
+    private static TimeValue toTimeValue(Duration duration) {
+        return TimeValue.ofMilliseconds(duration.toMillis());
+    }
+
+    private static Timeout toTimeout(Duration duration) {
+        return Timeout.ofMilliseconds(duration.toMillis());
+    }
+}
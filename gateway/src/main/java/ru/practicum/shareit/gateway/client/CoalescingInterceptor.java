@@ -0,0 +1,101 @@
+package ru.practicum.shareit.gateway.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+
+import static ru.practicum.shareit.gateway.util.Constant.USER_ID_HEADER;
+
+@Slf4j
+@Component
+@Order(300)
+@ConditionalOnProperty(name = "shareit-server.coalescing.enabled", havingValue = "true")
+public class CoalescingInterceptor implements ClientHttpRequestInterceptor {
+    private final ConcurrentMap<RequestKey, CompletableFuture<BufferedClientHttpResponse>> inFlight =
+            new ConcurrentHashMap<>();
+    private final Counter executedCalls;
+    private final Counter collapsedCalls;
+
+    public CoalescingInterceptor(MeterRegistry meterRegistry) {
+        this.executedCalls = Counter.builder("shareit.client.coalescing.calls")
+                .description("GET calls to shareit-server, by whether they went upstream or joined one in flight")
+                .tag("outcome", "executed")
+                .register(meterRegistry);
+        this.collapsedCalls = Counter.builder("shareit.client.coalescing.calls")
+                .description("GET calls to shareit-server, by whether they went upstream or joined one in flight")
+                .tag("outcome", "collapsed")
+                .register(meterRegistry);
+        Gauge.builder("shareit.client.coalescing.in.flight", inFlight, ConcurrentMap::size)
+                .description("Distinct GET calls to shareit-server currently in flight")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Общий вызов завершается при любом исходе ведущего, иначе присоединившиеся к нему ждали бы вечно.
+     */
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        if (request.getMethod() != HttpMethod.GET) {
+            return execution.execute(request, body);
+        }
+
+        RequestKey key = new RequestKey(request.getURI(), request.getHeaders().getFirst(USER_ID_HEADER));
+        CompletableFuture<BufferedClientHttpResponse> call = new CompletableFuture<>();
+        CompletableFuture<BufferedClientHttpResponse> leader = inFlight.putIfAbsent(key, call);
+        if (leader != null) {
+            collapsedCalls.increment();
+            log.debug("Запрос {} присоединен к уже выполняющемуся", key);
+            return await(leader);
+        }
+
+        executedCalls.increment();
+        try {
+            BufferedClientHttpResponse response = BufferedClientHttpResponse.of(execution.execute(request, body));
+            call.complete(response);
+            return response;
+        } catch (Throwable e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    private static ClientHttpResponse await(CompletableFuture<BufferedClientHttpResponse> leader) throws IOException {
+        try {
+            return leader.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Прервано ожидание ответа shareit-server");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IOException(e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    private record RequestKey(URI uri, String userId) {
+    }
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.gateway.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.pool")
+public class ConnectionPoolProperties {
+    private int maxTotal = 200;
+    private int maxPerRoute = 100;
+    private Duration keepAlive = Duration.ofSeconds(30);
+    private Duration timeToLive = Duration.ofMinutes(5);
+    private Duration idleEviction = Duration.ofSeconds(30);
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    private Duration leaseTimeout = Duration.ofSeconds(1);
+    private Duration responseTimeout = Duration.ofSeconds(10);
+}
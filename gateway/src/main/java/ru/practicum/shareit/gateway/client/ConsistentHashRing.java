@@ -0,0 +1,83 @@
+package ru.practicum.shareit.gateway.client;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+/**
+ * Кольцо консистентного хеширования с виртуальными узлами. При выходе экземпляра из ротации
+ * на соседей переезжают только его ключи, остальные остаются на прежних местах.
+ */
+class ConsistentHashRing {
+    private final long[] points;
+    private final ServerInstance[] owners;
+    private final int distinctOwners;
+
+    ConsistentHashRing(List<ServerInstance> instances, int virtualNodes) {
+        TreeMap<Long, ServerInstance> ring = new TreeMap<>();
+        for (ServerInstance instance : instances) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.put(hash(instance.getBaseUri() + "#" + i), instance);
+            }
+        }
+        this.points = ring.keySet().stream().mapToLong(Long::longValue).toArray();
+        this.owners = ring.values().toArray(ServerInstance[]::new);
+        this.distinctOwners = instances.size();
+    }
+
+    /**
+     * Первый по часовой стрелке от ключа экземпляр, удовлетворяющий {@code accepts}, или {@code null}.
+     */
+    ServerInstance locate(String key, Predicate<ServerInstance> accepts) {
+        int start = Arrays.binarySearch(points, hash(key));
+        if (start < 0) {
+            start = -start - 1;
+        }
+        ServerInstance[] seen = new ServerInstance[distinctOwners];
+        int seenCount = 0;
+        for (int i = 0; i < owners.length && seenCount < distinctOwners; i++) {
+            ServerInstance owner = owners[(start + i) % owners.length];
+            if (contains(seen, seenCount, owner)) {
+                continue;
+            }
+            if (accepts.test(owner)) {
+                return owner;
+            }
+            seen[seenCount++] = owner;
+        }
+        return null;
+    }
+
+    /**
+     * Экземпляр, за которым закреплен ключ без учета нагрузки и состояния.
+     */
+    ServerInstance owner(String key) {
+        return locate(key, instance -> true);
+    }
+
+    private static boolean contains(ServerInstance[] seen, int count, ServerInstance instance) {
+        for (int i = 0; i < count; i++) {
+            if (seen[i] == instance) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long hash(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(value.getBytes(StandardCharsets.UTF_8));
+            long hash = 0;
+            for (int i = 0; i < Long.BYTES; i++) {
+                hash = hash << 8 | (digest[i] & 0xFF);
+            }
+            return hash;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
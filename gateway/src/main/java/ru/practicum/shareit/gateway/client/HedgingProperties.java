@@ -0,0 +1,20 @@
+package ru.practicum.shareit.gateway.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.hedging")
+public class HedgingProperties {
+    private boolean enabled;
+    private List<String> routes = new ArrayList<>();
+    private double percentile = 0.95;
+    private Duration minDelay = Duration.ofMillis(5);
+    private long minSamples = 100;
+}
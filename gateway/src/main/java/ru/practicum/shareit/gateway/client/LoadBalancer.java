@@ -0,0 +1,164 @@
+package ru.practicum.shareit.gateway.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.classic.methods.HttpGet;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Slf4j
+@Component
+@EnableConfigurationProperties(LoadBalancingProperties.class)
+@ConditionalOnProperty(name = "shareit-server.load-balancing.enabled", havingValue = "true")
+public class LoadBalancer {
+    private final List<ServerInstance> instances;
+    private final LoadBalancingProperties properties;
+    private final CloseableHttpClient httpClient;
+    private final ConsistentHashRing ring;
+    private final Counter affinityHome;
+    private final Counter affinitySpilled;
+
+    public LoadBalancer(LoadBalancingProperties properties, CloseableHttpClient shareItServerHttpClient,
+                        MeterRegistry meterRegistry, TaskScheduler taskScheduler) {
+        if (properties.getInstances().isEmpty()) {
+            throw new IllegalStateException("Не задан список shareit-server.load-balancing.instances");
+        }
+        this.properties = properties;
+        this.httpClient = shareItServerHttpClient;
+        this.instances = properties.getInstances().stream()
+                .map(uri -> new ServerInstance(uri, properties.getEwmaDecay().toNanos()))
+                .toList();
+        this.ring = properties.getStrategy() == LoadBalancingProperties.Strategy.CONSISTENT_HASH
+                ? new ConsistentHashRing(instances, properties.getVirtualNodes())
+                : null;
+        this.affinityHome = Counter.builder("shareit.client.affinity")
+                .description("Keyed requests routed by consistent hashing")
+                .tag("target", "home")
+                .register(meterRegistry);
+        this.affinitySpilled = Counter.builder("shareit.client.affinity")
+                .description("Keyed requests routed by consistent hashing")
+                .tag("target", "spilled")
+                .register(meterRegistry);
+        instances.forEach(instance -> {
+            String tag = instance.getBaseUri().toString();
+            Gauge.builder("shareit.client.instance.in.flight", instance, ServerInstance::getInFlight)
+                    .description("Requests in flight to a shareit-server instance")
+                    .tag("instance", tag)
+                    .register(meterRegistry);
+            Gauge.builder("shareit.client.instance.latency.ewma", instance,
+                            i -> i.getEwmaLatencyNanos() / 1_000_000_000d)
+                    .description("Exponentially weighted latency of a shareit-server instance")
+                    .tag("instance", tag)
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+            Gauge.builder("shareit.client.instance.healthy", instance, i -> i.isHealthy() ? 1 : 0)
+                    .description("Whether a shareit-server instance is in rotation")
+                    .tag("instance", tag)
+                    .register(meterRegistry);
+        });
+        taskScheduler.scheduleWithFixedDelay(this::checkHealth, properties.getHealthCheckInterval());
+    }
+
+    public List<ServerInstance> getInstances() {
+        return instances;
+    }
+
+    public ServerInstance choose() {
+        return choose(Set.of(), null);
+    }
+
+    /**
+     * При стратегии CONSISTENT_HASH запросы одного пользователя идут на закрепленный за ним экземпляр,
+     * пока его нагрузка не превышает {@code hash-load-factor} от средней; иначе запрос переходит к следующему
+     * экземпляру по кольцу. Запросы без ключа распределяются как при LEAST_OUTSTANDING.
+     */
+    public ServerInstance choose(Set<ServerInstance> tried, String affinityKey) {
+        if (ring == null || affinityKey == null) {
+            return choose(tried);
+        }
+        List<ServerInstance> healthy = instances.stream().filter(ServerInstance::isHealthy).toList();
+        int totalInFlight = instances.stream().mapToInt(ServerInstance::getInFlight).sum();
+        double capacity = Math.ceil(properties.getHashLoadFactor() * (totalInFlight + 1)
+                / Math.max(1, healthy.size()));
+        ServerInstance chosen = ring.locate(affinityKey, instance -> instance.isHealthy()
+                && !tried.contains(instance) && instance.getInFlight() < capacity);
+        if (chosen == null) {
+            return choose(tried);
+        }
+        if (chosen == ring.owner(affinityKey)) {
+            affinityHome.increment();
+        } else {
+            affinitySpilled.increment();
+        }
+        return chosen;
+    }
+
+    /**
+     * Выбирает экземпляр, по возможности не из числа уже опрошенных в рамках этого запроса:
+     * повтор и дублирующий запрос должны уходить на другой сервер.
+     */
+    private ServerInstance choose(Set<ServerInstance> tried) {
+        List<ServerInstance> healthy = instances.stream().filter(ServerInstance::isHealthy).toList();
+        List<ServerInstance> candidates = healthy.stream().filter(instance -> !tried.contains(instance)).toList();
+        if (candidates.isEmpty()) {
+            candidates = healthy.isEmpty() ? instances : healthy;
+        }
+        if (candidates.size() == 1) {
+            return candidates.getFirst();
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(candidates.size());
+        int second = random.nextInt(candidates.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        ServerInstance a = candidates.get(first);
+        ServerInstance b = candidates.get(second);
+        return score(a) <= score(b) ? a : b;
+    }
+
+    public void onSuccess(ServerInstance instance, long latencyNanos) {
+        instance.recordLatency(latencyNanos, System.nanoTime());
+    }
+
+    public void onFailure(ServerInstance instance) {
+        if (instance.recordFailure(properties.getUnhealthyThreshold())) {
+            log.warn("Экземпляр {} исключен из балансировки", instance.getBaseUri());
+        }
+    }
+
+    private void checkHealth() {
+        for (ServerInstance instance : instances) {
+            HttpGet healthCheck = new HttpGet(instance.getBaseUri().resolve(properties.getHealthCheckPath()));
+            boolean up;
+            try {
+                up = httpClient.execute(healthCheck, response -> response.getCode() / 100 == 2);
+            } catch (IOException e) {
+                up = false;
+            }
+            if (!up) {
+                onFailure(instance);
+            } else if (instance.recordSuccess(properties.getHealthyThreshold())) {
+                log.info("Экземпляр {} возвращен в балансировку", instance.getBaseUri());
+            }
+        }
+    }
+
+    private double score(ServerInstance instance) {
+        int inFlight = instance.getInFlight();
+        return switch (properties.getStrategy()) {
+            case LEAST_OUTSTANDING, CONSISTENT_HASH -> inFlight;
+            case EWMA -> instance.getEwmaLatencyNanos() * (inFlight + 1);
+        };
+    }
+}
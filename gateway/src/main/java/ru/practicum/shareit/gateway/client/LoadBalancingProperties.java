@@ -0,0 +1,31 @@
+package ru.practicum.shareit.gateway.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.load-balancing")
+public class LoadBalancingProperties {
+    private List<URI> instances = new ArrayList<>();
+    private Strategy strategy = Strategy.LEAST_OUTSTANDING;
+    private Duration ewmaDecay = Duration.ofSeconds(10);
+    private String healthCheckPath = "/actuator/health";
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+    private int unhealthyThreshold = 2;
+    private int healthyThreshold = 2;
+    private int virtualNodes = 160;
+    private double hashLoadFactor = 1.25;
+
+    public enum Strategy {
+        LEAST_OUTSTANDING,
+        EWMA,
+        CONSISTENT_HASH
+    }
+}
@@ -0,0 +1,140 @@
+package ru.practicum.shareit.gateway.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.AbstractClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.StreamUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static ru.practicum.shareit.gateway.util.Constant.USER_ID_HEADER;
+
+public class LoadBalancingRequestFactory implements ClientHttpRequestFactory {
+    private final ClientHttpRequestFactory delegate;
+    private final LoadBalancer loadBalancer;
+
+    public LoadBalancingRequestFactory(ClientHttpRequestFactory delegate, LoadBalancer loadBalancer) {
+        this.delegate = delegate;
+        this.loadBalancer = loadBalancer;
+    }
+
+    @Override
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) {
+        return new LoadBalancedRequest(uri, httpMethod, new HashSet<>());
+    }
+
+    /**
+     * Создает запрос, который выберет экземпляр не из {@code tried} и добавит его туда.
+     */
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod, Set<ServerInstance> tried) {
+        return new LoadBalancedRequest(uri, httpMethod, tried);
+    }
+
+    private ClientHttpResponse executeOn(ServerInstance instance, URI uri, HttpMethod method, HttpHeaders headers,
+                                         byte[] body) throws IOException {
+        ClientHttpRequest request = delegate.createRequest(instance.resolve(uri), method);
+        request.getHeaders().putAll(headers);
+        if (body.length > 0) {
+            StreamUtils.copy(body, request.getBody());
+        }
+        long start = System.nanoTime();
+        instance.acquire();
+        try {
+            ClientHttpResponse response = request.execute();
+            loadBalancer.onSuccess(instance, System.nanoTime() - start);
+            return new InFlightResponse(response, instance);
+        } catch (IOException | RuntimeException e) {
+            instance.release();
+            loadBalancer.onFailure(instance);
+            throw e;
+        }
+    }
+
+    private class LoadBalancedRequest extends AbstractClientHttpRequest {
+        private final URI uri;
+        private final HttpMethod method;
+        private final Set<ServerInstance> tried;
+        private final ByteArrayOutputStream bufferedBody = new ByteArrayOutputStream(512);
+
+        private LoadBalancedRequest(URI uri, HttpMethod method, Set<ServerInstance> tried) {
+            this.uri = uri;
+            this.method = method;
+            this.tried = tried;
+        }
+
+        @Override
+        public HttpMethod getMethod() {
+            return method;
+        }
+
+        @Override
+        public URI getURI() {
+            return uri;
+        }
+
+        @Override
+        protected OutputStream getBodyInternal(HttpHeaders headers) {
+            return bufferedBody;
+        }
+
+        @Override
+        protected ClientHttpResponse executeInternal(HttpHeaders headers) throws IOException {
+            ServerInstance instance = loadBalancer.choose(tried, headers.getFirst(USER_ID_HEADER));
+            tried.add(instance);
+            return executeOn(instance, uri, method, headers, bufferedBody.toByteArray());
+        }
+    }
+
+    private static class InFlightResponse implements ClientHttpResponse {
+        private final ClientHttpResponse response;
+        private final ServerInstance instance;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private InFlightResponse(ClientHttpResponse response, ServerInstance instance) {
+            this.response = response;
+            this.instance = instance;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return response.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return response.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return response.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return response.getBody();
+        }
+
+        @Override
+        public void close() {
+            try {
+                response.close();
+            } finally {
+                if (closed.compareAndSet(false, true)) {
+                    instance.release();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package ru.practicum.shareit.gateway.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Slf4j
+@Component
+@Order(400)
+@ConditionalOnProperty(name = "shareit-server.resilience.enabled", havingValue = "true")
+public class ResilienceInterceptor implements ClientHttpRequestInterceptor {
+    private static final String CONFIG_NAME = "shareit-server";
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final ObjectMapper objectMapper;
+
+    public ResilienceInterceptor(CircuitBreakerRegistry circuitBreakerRegistry, BulkheadRegistry bulkheadRegistry,
+                                 ObjectMapper objectMapper) {
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.bulkheadRegistry = bulkheadRegistry;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        String route = routeName(request);
+        Bulkhead bulkhead = bulkheadRegistry.bulkhead(route, CONFIG_NAME);
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(route, CONFIG_NAME);
+        try {
+            bulkhead.acquirePermission();
+        } catch (BulkheadFullException e) {
+            log.warn("Маршрут {} перегружен, запрос отклонен", route);
+            return rejected("Превышено число одновременных запросов к " + route + ", повторите позже");
+        }
+        try {
+            circuitBreaker.acquirePermission();
+        } catch (CallNotPermittedException e) {
+            bulkhead.onComplete();
+            log.warn("Маршрут {} временно отключен, состояние {}", route, circuitBreaker.getState());
+            return rejected("Маршрут " + route + " временно недоступен, повторите позже");
+        }
+
+        long start = circuitBreaker.getCurrentTimestamp();
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            long duration = circuitBreaker.getCurrentTimestamp() - start;
+            if (response.getStatusCode().is5xxServerError()) {
+                circuitBreaker.onError(duration, circuitBreaker.getTimestampUnit(),
+                        new IOException("shareit-server ответил " + response.getStatusCode()));
+            } else {
+                circuitBreaker.onSuccess(duration, circuitBreaker.getTimestampUnit());
+            }
+            return response;
+        } catch (IOException | RuntimeException e) {
+            circuitBreaker.onError(circuitBreaker.getCurrentTimestamp() - start, circuitBreaker.getTimestampUnit(), e);
+            throw e;
+        } finally {
+            bulkhead.onComplete();
+        }
+    }
+
+    static String routeName(HttpRequest request) {
+        Stream<String> segments = Arrays.stream(request.getURI().getRawPath().split("/"))
+                .filter(segment -> !segment.isEmpty())
+                .map(segment -> segment.chars().allMatch(Character::isDigit) ? "id" : segment);
+        return Stream.concat(Stream.of(request.getMethod().name().toLowerCase()), segments)
+                .collect(Collectors.joining("-"));
+    }
+
+    private ClientHttpResponse rejected(String message) throws IOException {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set(HttpHeaders.RETRY_AFTER, "1");
+        return new BufferedClientHttpResponse(HttpStatus.SERVICE_UNAVAILABLE,
+                HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase(), headers,
+                objectMapper.writeValueAsBytes(Map.of("error", message)));
+    }
+}
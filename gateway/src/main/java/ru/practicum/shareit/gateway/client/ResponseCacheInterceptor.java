@@ -0,0 +1,197 @@
+package ru.practicum.shareit.gateway.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static ru.practicum.shareit.gateway.util.Constant.USER_ID_HEADER;
+
+@Slf4j
+@Component
+@Order(200)
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+@ConditionalOnProperty(name = "shareit-server.cache.enabled", havingValue = "true")
+public class ResponseCacheInterceptor implements ClientHttpRequestInterceptor {
+    private final List<CachedRoute> routes;
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper smileMapper = new ObjectMapper(new SmileFactory());
+
+    public ResponseCacheInterceptor(ResponseCacheProperties properties, ObjectMapper objectMapper,
+                                    MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.routes = properties.getRoutes().entrySet().stream()
+                .map(entry -> new CachedRoute(entry.getKey(), entry.getValue(), meterRegistry))
+                .toList();
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        String path = request.getURI().getRawPath();
+        String userId = request.getHeaders().getFirst(USER_ID_HEADER);
+        if (request.getMethod() != HttpMethod.GET) {
+            ClientHttpResponse response;
+            try {
+                response = execution.execute(request, body);
+            } catch (IOException | RuntimeException e) {
+                invalidate(request, path, userId, body);
+                throw e;
+            }
+            if (response.getStatusCode().is2xxSuccessful()) {
+                invalidate(request, path, userId, body);
+            }
+            return response;
+        }
+
+        CachedRoute route = findRoute(path);
+        if (route == null) {
+            return execution.execute(request, body);
+        }
+        CacheKey key = new CacheKey(path, request.getURI().getRawQuery(), userId);
+        BufferedClientHttpResponse cached = route.cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = route.generation.get();
+        BufferedClientHttpResponse response = BufferedClientHttpResponse.of(execution.execute(request, body));
+        if (response.getStatusCode().is2xxSuccessful()) {
+            route.putUnlessInvalidated(key, response, generation);
+        }
+        return response;
+    }
+
+    private CachedRoute findRoute(String path) {
+        PathContainer pathContainer = PathContainer.parsePath(path);
+        for (CachedRoute route : routes) {
+            if (route.pattern.matches(pathContainer)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private void invalidate(HttpRequest request, String path, String userId, byte[] body) {
+        HttpMethod method = request.getMethod();
+        PathContainer pathContainer = PathContainer.parsePath(path);
+        Map<String, String> variables = null;
+        for (CachedRoute route : routes) {
+            for (WriteMatcher matcher : route.invalidatedBy) {
+                PathPattern.PathMatchInfo matchInfo = matcher.method.equals(method)
+                        ? matcher.pattern.matchAndExtract(pathContainer) : null;
+                if (matchInfo == null) {
+                    continue;
+                }
+                if (variables == null) {
+                    variables = writeVariables(request.getHeaders().getContentType(), body);
+                }
+                Map<String, String> affected = new HashMap<>(variables);
+                affected.putAll(matchInfo.getUriVariables());
+                route.invalidate(affected, matcher.own ? userId : null);
+                log.debug("Кэш {} сброшен после {} {}", route.name, method, path);
+                break;
+            }
+        }
+    }
+
+    private Map<String, String> writeVariables(MediaType contentType, byte[] body) {
+        Map<String, String> variables = new HashMap<>();
+        if (body.length == 0) {
+            return variables;
+        }
+        try {
+            JsonNode json = WireFormat.SMILE.getMediaType().isCompatibleWith(contentType)
+                    ? smileMapper.readTree(body) : objectMapper.readTree(body);
+            json.fields().forEachRemaining(field -> {
+                if (field.getValue().isValueNode() && !field.getValue().isNull()) {
+                    variables.put(field.getKey(), field.getValue().asText());
+                }
+            });
+        } catch (IOException e) {
+            log.debug("Тело запроса не разобрано, сбрасываются все связанные записи кэша");
+        }
+        return variables;
+    }
+
+    private record CacheKey(String path, String query, String userId) {
+    }
+
+    private record WriteMatcher(HttpMethod method, PathPattern pattern, boolean own) {
+        private static WriteMatcher parse(String write, boolean own) {
+            String[] parts = write.trim().split("\\s+", 2);
+            return new WriteMatcher(HttpMethod.valueOf(parts[0]), PathPatternParser.defaultInstance.parse(parts[1]), own);
+        }
+    }
+
+    private static final class CachedRoute {
+        private final String name;
+        private final PathPattern pattern;
+        private final List<WriteMatcher> invalidatedBy;
+        private final Cache<CacheKey, BufferedClientHttpResponse> cache;
+        private final AtomicLong generation = new AtomicLong();
+
+        private CachedRoute(String name, ResponseCacheProperties.Route properties, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.pattern = PathPatternParser.defaultInstance.parse(properties.getPattern());
+            this.invalidatedBy = Stream.concat(
+                    properties.getInvalidatedBy().stream().map(write -> WriteMatcher.parse(write, false)),
+                    properties.getInvalidatedByOwn().stream().map(write -> WriteMatcher.parse(write, true))
+            ).toList();
+            this.cache = Caffeine.newBuilder()
+                    .maximumSize(properties.getMaxSize())
+                    .expireAfterWrite(properties.getTtl())
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, "shareit-server." + name);
+        }
+
+        /**
+         * Поколение сверяется внутри compute: сброс сначала меняет поколение, а затем удаляет ключи под той же
+         * блокировкой записи, поэтому ответ, прочитанный до сброса, либо не попадёт в кэш, либо будет удалён.
+         */
+        private void putUnlessInvalidated(CacheKey key, BufferedClientHttpResponse response, long readGeneration) {
+            cache.asMap().compute(key, (k, current) -> generation.get() == readGeneration ? response : current);
+        }
+
+        private void invalidate(Map<String, String> writeVariables, String ownerId) {
+            generation.incrementAndGet();
+            cache.asMap().keySet().removeIf(key -> {
+                if (ownerId != null && !ownerId.equals(key.userId())) {
+                    return false;
+                }
+                PathPattern.PathMatchInfo matchInfo = pattern.matchAndExtract(PathContainer.parsePath(key.path()));
+                if (matchInfo == null) {
+                    return true;
+                }
+                return matchInfo.getUriVariables().entrySet().stream()
+                        .allMatch(variable -> !writeVariables.containsKey(variable.getKey())
+                                || Objects.equals(variable.getValue(), writeVariables.get(variable.getKey())));
+            });
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.gateway.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.cache")
+public class ResponseCacheProperties {
+    private Map<String, Route> routes = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class Route {
+        private String pattern;
+        private Duration ttl = Duration.ofSeconds(30);
+        private long maxSize = 10_000;
+        private List<String> invalidatedBy = new ArrayList<>();
+        private List<String> invalidatedByOwn = new ArrayList<>();
+    }
+}
@@ -0,0 +1,75 @@
+package ru.practicum.shareit.gateway.client;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Общий бюджет повторов: каждый запрос пополняет его на {@code ratio}, каждый повтор или дублирующий
+ * запрос списывает единицу. Со временем бюджет сам восстанавливается до {@code minPerSecond},
+ * чтобы редкие сбои при малом трафике тоже повторялись.
+ * <p>
+ * Баланс хранится в тысячных долях и меняется через CAS без блокировок: пополнение идет на каждом запросе.
+ */
+class RetryBudget {
+    private static final long UNIT = 1000;
+
+    private final long ratio;
+    private final long minBalance;
+    private final long max;
+    private final AtomicLong balance;
+    private final AtomicLong refilledAt = new AtomicLong(System.nanoTime());
+
+    RetryBudget(double ratio, int minPerSecond, int max) {
+        this.ratio = Math.round(ratio * UNIT);
+        this.minBalance = minPerSecond * UNIT;
+        this.max = max * UNIT;
+        this.balance = new AtomicLong(minBalance);
+    }
+
+    void deposit() {
+        while (true) {
+            long current = balance.get();
+            long next = Math.min(max, current + ratio);
+            if (next == current || balance.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    boolean tryWithdraw() {
+        refill(System.nanoTime());
+        while (true) {
+            long current = balance.get();
+            if (current < UNIT) {
+                return false;
+            }
+            if (balance.compareAndSet(current, current - UNIT)) {
+                return true;
+            }
+        }
+    }
+
+    double getBalance() {
+        return (double) balance.get() / UNIT;
+    }
+
+    /**
+     * Время пополнения сдвигается, только когда набралась хотя бы одна тысячная, иначе при частых
+     * вызовах дробные доли терялись бы.
+     */
+    private void refill(long nowNanos) {
+        long last = refilledAt.get();
+        long amount = (long) (minBalance * ((nowNanos - last) / 1_000_000_000d));
+        if (amount <= 0 || !refilledAt.compareAndSet(last, nowNanos)) {
+            return;
+        }
+        while (true) {
+            long current = balance.get();
+            if (current >= minBalance) {
+                return;
+            }
+            if (balance.compareAndSet(current, Math.min(minBalance, current + amount))) {
+                return;
+            }
+        }
+    }
+}
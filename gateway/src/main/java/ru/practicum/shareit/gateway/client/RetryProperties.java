@@ -0,0 +1,16 @@
+package ru.practicum.shareit.gateway.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.retry")
+public class RetryProperties {
+    private boolean enabled;
+    private int maxAttempts = 2;
+    private double budgetRatio = 0.1;
+    private int minRetriesPerSecond = 10;
+    private int maxBudget = 100;
+}
@@ -0,0 +1,335 @@
+package ru.practicum.shareit.gateway.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.ConnectTimeoutException;
+import org.apache.hc.core5.http.ConnectionClosedException;
+import org.apache.hc.core5.http.NoHttpResponseException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.AbstractClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.server.PathContainer;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.URI;
+import java.net.http.HttpConnectTimeoutException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Повторяет запросы при сбоях соединения и дублирует медленные GET на другой экземпляр сервера.
+ * И повторы, и дублирующие запросы списываются из общего {@link RetryBudget}, поэтому при массовом
+ * сбое их доля ограничена долей от обычного трафика.
+ */
+@Slf4j
+public class RetryingRequestFactory implements ClientHttpRequestFactory {
+    private final ClientHttpRequestFactory delegate;
+    private final int maxAttempts;
+    private final RetryBudget budget;
+    private final List<HedgedRoute> hedgedRoutes;
+    private final Executor executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Counter retried;
+    private final Counter retriesRejected;
+    private final Counter hedgesSent;
+    private final Counter hedgesWon;
+    private final Counter hedgesRejected;
+
+    public RetryingRequestFactory(ClientHttpRequestFactory delegate, RetryProperties retry, HedgingProperties hedging,
+                                  MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.maxAttempts = retry.isEnabled() ? Math.max(1, retry.getMaxAttempts()) : 1;
+        this.budget = new RetryBudget(retry.getBudgetRatio(), retry.getMinRetriesPerSecond(), retry.getMaxBudget());
+        this.hedgedRoutes = hedging.isEnabled()
+                ? hedging.getRoutes().stream().map(route -> new HedgedRoute(route, hedging, meterRegistry)).toList()
+                : List.of();
+        Gauge.builder("shareit.client.retry.budget", budget, RetryBudget::getBalance)
+                .description("Retries and hedged requests the gateway may still send to shareit-server")
+                .register(meterRegistry);
+        this.retried = counter(meterRegistry, "shareit.client.retries", "sent");
+        this.retriesRejected = counter(meterRegistry, "shareit.client.retries", "budget_exhausted");
+        this.hedgesSent = counter(meterRegistry, "shareit.client.hedges", "sent");
+        this.hedgesWon = counter(meterRegistry, "shareit.client.hedges", "won");
+        this.hedgesRejected = counter(meterRegistry, "shareit.client.hedges", "budget_exhausted");
+    }
+
+    @Override
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) {
+        return new RetryingRequest(uri, httpMethod);
+    }
+
+    private ClientHttpResponse executeWithRetries(URI uri, HttpMethod method, HttpHeaders headers, byte[] body,
+                                                  Set<ServerInstance> tried) throws IOException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return executeOnce(uri, method, headers, body, tried);
+            } catch (IOException e) {
+                if (attempt >= maxAttempts || !isRetryable(e, method)) {
+                    throw e;
+                }
+                if (!budget.tryWithdraw()) {
+                    retriesRejected.increment();
+                    throw e;
+                }
+                retried.increment();
+                log.debug("Повтор {} {} после ошибки соединения: {}", method, uri.getRawPath(), e.toString());
+            }
+        }
+    }
+
+    private ClientHttpResponse executeOnce(URI uri, HttpMethod method, HttpHeaders headers, byte[] body,
+                                           Set<ServerInstance> tried) throws IOException {
+        ClientHttpRequest request = delegate instanceof LoadBalancingRequestFactory loadBalancing
+                ? loadBalancing.createRequest(uri, method, tried)
+                : delegate.createRequest(uri, method);
+        request.getHeaders().putAll(headers);
+        if (body.length > 0) {
+            StreamUtils.copy(body, request.getBody());
+        }
+        return request.execute();
+    }
+
+    private ClientHttpResponse executeHedged(HedgedRoute route, URI uri, HttpMethod method, HttpHeaders headers,
+                                             byte[] body, Set<ServerInstance> tried) throws IOException {
+        long delayNanos = route.delayNanos();
+        if (delayNanos < 0) {
+            return route.timed(() -> executeWithRetries(uri, method, headers, body, tried));
+        }
+        CompletableFuture<ClientHttpResponse> primary = submit(route,
+                () -> executeWithRetries(uri, method, headers, body, tried));
+        try {
+            return await(primary, delayNanos);
+        } catch (TimeoutException e) {
+            if (!budget.tryWithdraw()) {
+                hedgesRejected.increment();
+                return await(primary);
+            }
+        }
+        hedgesSent.increment();
+        CompletableFuture<ClientHttpResponse> hedge = submit(route,
+                () -> executeWithRetries(uri, method, headers, body, tried));
+        hedge.thenRun(() -> {
+            if (!primary.isDone()) {
+                hedgesWon.increment();
+            }
+        });
+        return await(firstSuccessful(primary, hedge));
+    }
+
+    private CompletableFuture<ClientHttpResponse> submit(HedgedRoute route, ResponseSupplier attempt) {
+        CompletableFuture<ClientHttpResponse> future = new CompletableFuture<>();
+        executor.execute(() -> {
+            try {
+                future.complete(route.timed(attempt));
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Первый успешный ответ; ответ проигравшего закрывается, как только придет. Ошибка возвращается,
+     * только если не удались оба запроса.
+     */
+    private static CompletableFuture<ClientHttpResponse> firstSuccessful(CompletableFuture<ClientHttpResponse> first,
+                                                                        CompletableFuture<ClientHttpResponse> second) {
+        CompletableFuture<ClientHttpResponse> winner = new CompletableFuture<>();
+        AtomicInteger pending = new AtomicInteger(2);
+        for (CompletableFuture<ClientHttpResponse> attempt : List.of(first, second)) {
+            attempt.whenComplete((response, error) -> {
+                boolean last = pending.decrementAndGet() == 0;
+                if (error == null) {
+                    if (!winner.complete(response)) {
+                        response.close();
+                    }
+                } else if (last) {
+                    winner.completeExceptionally(error);
+                }
+            });
+        }
+        return winner;
+    }
+
+    private static ClientHttpResponse await(CompletableFuture<ClientHttpResponse> future, long timeoutNanos)
+            throws IOException, TimeoutException {
+        try {
+            return future.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } catch (InterruptedException e) {
+            return interrupted(future);
+        }
+    }
+
+    private static ClientHttpResponse await(CompletableFuture<ClientHttpResponse> future) throws IOException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } catch (InterruptedException e) {
+            return interrupted(future);
+        }
+    }
+
+    private static ClientHttpResponse interrupted(CompletableFuture<ClientHttpResponse> future)
+            throws InterruptedIOException {
+        Thread.currentThread().interrupt();
+        future.thenAccept(ClientHttpResponse::close);
+        throw new InterruptedIOException("Ожидание ответа shareit-server прервано");
+    }
+
+    private static IOException unwrap(ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof IOException io) {
+            return io;
+        }
+        if (cause instanceof RuntimeException runtime) {
+            throw runtime;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IOException(cause);
+    }
+
+    /**
+     * Повторяются только сбои, после которых сервер гарантированно не начал обработку. Обрыв уже
+     * установленного соединения допустим только для идемпотентных методов.
+     */
+    private static boolean isRetryable(IOException e, HttpMethod method) {
+        if (e instanceof ConnectException || e instanceof NoRouteToHostException
+                || e instanceof ConnectTimeoutException || e instanceof HttpConnectTimeoutException) {
+            return true;
+        }
+        boolean idempotent = method == HttpMethod.GET || method == HttpMethod.HEAD || method == HttpMethod.OPTIONS;
+        return idempotent && (e instanceof NoHttpResponseException || e instanceof ConnectionClosedException);
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String name, String outcome) {
+        return Counter.builder(name)
+                .description("Additional requests the gateway sent to shareit-server")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private HedgedRoute hedgedRoute(HttpMethod method, URI uri) {
+        if (method != HttpMethod.GET || hedgedRoutes.isEmpty()) {
+            return null;
+        }
+        PathContainer path = PathContainer.parsePath(uri.getRawPath());
+        return hedgedRoutes.stream().filter(route -> route.pattern.matches(path)).findFirst().orElse(null);
+    }
+
+    @FunctionalInterface
+    private interface ResponseSupplier {
+        ClientHttpResponse get() throws IOException;
+    }
+
+    /**
+     * Маршрут с дублированием: задержка перед вторым запросом равна заданному процентилю
+     * времени ответа по скользящему окну Micrometer, но не меньше {@code min-delay}.
+     */
+    private static class HedgedRoute {
+        private static final long REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+        private final PathPattern pattern;
+        private final Timer latency;
+        private final long minDelayNanos;
+        private final long minSamples;
+        private volatile long delayNanos = -1;
+        private volatile long refreshedAt = System.nanoTime() - REFRESH_NANOS;
+
+        private HedgedRoute(String route, HedgingProperties properties, MeterRegistry meterRegistry) {
+            this.pattern = PathPatternParser.defaultInstance.parse(route.trim());
+            this.latency = Timer.builder("shareit.client.hedging.latency")
+                    .description("Latency of single attempts on a hedged shareit-server route")
+                    .tag("route", pattern.getPatternString())
+                    .publishPercentiles(properties.getPercentile())
+                    .register(meterRegistry);
+            this.minDelayNanos = properties.getMinDelay().toNanos();
+            this.minSamples = properties.getMinSamples();
+        }
+
+        private ClientHttpResponse timed(ResponseSupplier attempt) throws IOException {
+            long start = System.nanoTime();
+            ClientHttpResponse response = attempt.get();
+            latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return response;
+        }
+
+        /**
+         * Отрицательное значение означает, что данных для оценки процентиля пока недостаточно.
+         */
+        private long delayNanos() {
+            long now = System.nanoTime();
+            if (now - refreshedAt >= REFRESH_NANOS) {
+                refreshedAt = now;
+                ValueAtPercentile[] percentiles = latency.takeSnapshot().percentileValues();
+                delayNanos = latency.count() < minSamples || percentiles.length == 0
+                        ? -1
+                        : Math.max(minDelayNanos, (long) percentiles[0].value(TimeUnit.NANOSECONDS));
+            }
+            return delayNanos;
+        }
+    }
+
+    private class RetryingRequest extends AbstractClientHttpRequest {
+        private final URI uri;
+        private final HttpMethod method;
+        private final ByteArrayOutputStream bufferedBody = new ByteArrayOutputStream(512);
+
+        private RetryingRequest(URI uri, HttpMethod method) {
+            this.uri = uri;
+            this.method = method;
+        }
+
+        @Override
+        public HttpMethod getMethod() {
+            return method;
+        }
+
+        @Override
+        public URI getURI() {
+            return uri;
+        }
+
+        @Override
+        protected OutputStream getBodyInternal(HttpHeaders headers) {
+            return bufferedBody;
+        }
+
+        @Override
+        protected ClientHttpResponse executeInternal(HttpHeaders headers) throws IOException {
+            budget.deposit();
+            byte[] body = bufferedBody.toByteArray();
+            Set<ServerInstance> tried = ConcurrentHashMap.newKeySet();
+            HedgedRoute route = hedgedRoute(method, uri);
+            return route == null
+                    ? executeWithRetries(uri, method, headers, body, tried)
+                    : executeHedged(route, uri, method, headers, body, tried);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.gateway.client;
+
+import lombok.Getter;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Getter
+public class ServerInstance {
+    private final URI baseUri;
+    private final long decayNanos;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile boolean healthy = true;
+    private int consecutiveFailures;
+    private int consecutiveSuccesses;
+    private double ewmaLatencyNanos;
+    private long lastSampleNanos;
+
+    public ServerInstance(URI baseUri, long decayNanos) {
+        this.baseUri = baseUri;
+        this.decayNanos = decayNanos;
+    }
+
+    public URI resolve(URI uri) {
+        return URI.create(baseUri.getScheme() + "://" + baseUri.getRawAuthority() + uri.getRawPath()
+                + (uri.getRawQuery() == null ? "" : "?" + uri.getRawQuery()));
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    void acquire() {
+        inFlight.incrementAndGet();
+    }
+
+    void release() {
+        inFlight.decrementAndGet();
+    }
+
+    public synchronized double getEwmaLatencyNanos() {
+        return ewmaLatencyNanos;
+    }
+
+    public synchronized void recordLatency(long latencyNanos, long nowNanos) {
+        if (lastSampleNanos == 0) {
+            ewmaLatencyNanos = latencyNanos;
+        } else {
+            double weight = Math.exp(-(double) (nowNanos - lastSampleNanos) / decayNanos);
+            ewmaLatencyNanos = ewmaLatencyNanos * weight + latencyNanos * (1 - weight);
+        }
+        lastSampleNanos = nowNanos;
+    }
+
+    synchronized boolean recordFailure(int unhealthyThreshold) {
+        consecutiveSuccesses = 0;
+        consecutiveFailures++;
+        if (healthy && consecutiveFailures >= unhealthyThreshold) {
+            healthy = false;
+            return true;
+        }
+        return false;
+    }
+
+    synchronized boolean recordSuccess(int healthyThreshold) {
+        consecutiveFailures = 0;
+        consecutiveSuccesses++;
+        if (!healthy && consecutiveSuccesses >= healthyThreshold) {
+            healthy = true;
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,40 @@
+package ru.practicum.shareit.gateway.client;
+
+import org.apache.hc.client5.http.socket.ConnectionSocketFactory;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.util.TimeValue;
+import org.newsclub.net.unix.AFUNIXSocket;
+import org.newsclub.net.unix.AFUNIXSocketAddress;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+
+public class UnixDomainSocketFactory implements ConnectionSocketFactory {
+    private final AFUNIXSocketAddress socketAddress;
+
+    public UnixDomainSocketFactory(String socketPath) throws IOException {
+        this.socketAddress = AFUNIXSocketAddress.of(new File(socketPath));
+    }
+
+    @Override
+    public Socket createSocket(HttpContext context) throws IOException {
+        return AFUNIXSocket.newInstance();
+    }
+
+    @Override
+    public Socket connectSocket(TimeValue connectTimeout, Socket socket, HttpHost host, InetSocketAddress remoteAddress,
+                                InetSocketAddress localAddress, HttpContext context) throws IOException {
+        Socket unixSocket = socket != null ? socket : createSocket(context);
+        try {
+            unixSocket.connect(socketAddress, TimeValue.isPositive(connectTimeout)
+                    ? connectTimeout.toMillisecondsIntBound() : 0);
+        } catch (IOException e) {
+            unixSocket.close();
+            throw e;
+        }
+        return unixSocket;
+    }
+}
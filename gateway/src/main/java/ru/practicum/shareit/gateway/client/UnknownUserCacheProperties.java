@@ -0,0 +1,18 @@
+package ru.practicum.shareit.gateway.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.unknown-users")
+public class UnknownUserCacheProperties {
+    private Duration ttl = Duration.ofSeconds(30);
+    private long maxSize = 100_000;
+    private List<String> routes = new ArrayList<>();
+}
@@ -0,0 +1,140 @@
+package ru.practicum.shareit.gateway.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import static ru.practicum.shareit.gateway.util.Constant.UNKNOWN_USER_HEADER;
+import static ru.practicum.shareit.gateway.util.Constant.USER_ID_HEADER;
+
+/**
+ * Отрицательный кэш несуществующих пользователей. Срабатывает только на маршрутах, где сервер
+ * первым делом ищет пользователя из заголовка, поэтому ответ 404 для них не зависит от остального запроса.
+ * Повторные запросы получают сохранённый ответ сервера без обращения к нему.
+ */
+@Slf4j
+@Component
+@Order(100)
+@EnableConfigurationProperties(UnknownUserCacheProperties.class)
+@ConditionalOnProperty(name = "shareit-server.unknown-users.enabled", havingValue = "true")
+public class UnknownUserInterceptor implements ClientHttpRequestInterceptor {
+    private static final PathPattern CREATE_USER = PathPatternParser.defaultInstance.parse("/users");
+
+    private final List<RouteMatcher> routes;
+    private final Cache<String, BufferedClientHttpResponse> unknownUsers;
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper smileMapper = new ObjectMapper(new SmileFactory());
+    private final Counter hits;
+    private final Counter stored;
+
+    @Autowired
+    public UnknownUserInterceptor(UnknownUserCacheProperties properties, ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry) {
+        this(properties, objectMapper, meterRegistry, Ticker.systemTicker(), ForkJoinPool.commonPool());
+    }
+
+    UnknownUserInterceptor(UnknownUserCacheProperties properties, ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry, Ticker ticker, Executor executor) {
+        this.routes = properties.getRoutes().stream().map(RouteMatcher::parse).toList();
+        this.objectMapper = objectMapper;
+        this.unknownUsers = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfterWrite(properties.getTtl())
+                .ticker(ticker)
+                .executor(executor)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, unknownUsers, "shareit-server.unknown-users");
+        this.hits = Counter.builder("shareit.client.unknown.users")
+                .description("Requests answered from the unknown user cache")
+                .tag("outcome", "hit")
+                .register(meterRegistry);
+        this.stored = Counter.builder("shareit.client.unknown.users")
+                .description("Requests answered from the unknown user cache")
+                .tag("outcome", "stored")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        PathContainer path = PathContainer.parsePath(request.getURI().getRawPath());
+        if (request.getMethod() == HttpMethod.POST && CREATE_USER.matches(path)) {
+            return createUser(request, body, execution);
+        }
+        String userId = request.getHeaders().getFirst(USER_ID_HEADER);
+        if (userId == null || routes.stream().noneMatch(route -> route.matches(request.getMethod(), path))) {
+            return execution.execute(request, body);
+        }
+        BufferedClientHttpResponse notFound = unknownUsers.getIfPresent(userId);
+        if (notFound != null) {
+            hits.increment();
+            return notFound;
+        }
+        ClientHttpResponse response = execution.execute(request, body);
+        String unknownUserId = response.getHeaders().getFirst(UNKNOWN_USER_HEADER);
+        if (response.getStatusCode().value() == HttpStatus.NOT_FOUND.value() && userId.equals(unknownUserId)) {
+            BufferedClientHttpResponse buffered = BufferedClientHttpResponse.of(response);
+            unknownUsers.put(userId, buffered);
+            stored.increment();
+            return buffered;
+        }
+        return response;
+    }
+
+    private ClientHttpResponse createUser(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        BufferedClientHttpResponse response = BufferedClientHttpResponse.of(execution.execute(request, body));
+        if (response.getStatusCode().is2xxSuccessful()) {
+            try {
+                MediaType contentType = response.getHeaders().getContentType();
+                JsonNode user = WireFormat.SMILE.getMediaType().isCompatibleWith(contentType)
+                        ? smileMapper.readTree(response.getBodyAsByteArray())
+                        : objectMapper.readTree(response.getBodyAsByteArray());
+                unknownUsers.invalidate(user.path("id").asText());
+            } catch (IOException e) {
+                log.debug("Не удалось прочитать id созданного пользователя, кэш неизвестных пользователей сброшен");
+                unknownUsers.invalidateAll();
+            }
+        }
+        return response;
+    }
+
+    private record RouteMatcher(HttpMethod method, PathPattern pattern) {
+        private static RouteMatcher parse(String route) {
+            String[] parts = route.trim().split("\\s+", 2);
+            return new RouteMatcher(HttpMethod.valueOf(parts[0]), PathPatternParser.defaultInstance.parse(parts[1]));
+        }
+
+        private boolean matches(HttpMethod requestMethod, PathContainer path) {
+            return method.equals(requestMethod) && pattern.matches(path);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.gateway.compression;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.practicum.shareit.compression.CompressionFilter;
+import ru.practicum.shareit.compression.CompressionProperties;
+
+@Configuration
+@ConditionalOnProperty(name = "shareit-gateway.compression.enabled", havingValue = "true")
+public class CompressionConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "shareit-gateway.compression")
+    public CompressionProperties compressionProperties() {
+        return new CompressionProperties();
+    }
+
+    @Bean
+    public CompressionFilter compressionFilter(CompressionProperties compressionProperties) {
+        return new CompressionFilter(compressionProperties);
+    }
+}
@@ -0,0 +1,92 @@
+package ru.practicum.shareit.gateway.item;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.gateway.client.BaseClient;
+import ru.practicum.shareit.gateway.client.ClientCallMetrics;
+import ru.practicum.shareit.gateway.client.WireFormat;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import ru.practicum.shareit.gateway.item.dto.CommentDto;
+import ru.practicum.shareit.gateway.item.dto.ItemDto;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Service
+@Profile("!embedded")
+public class ItemClient extends BaseClient {
+
+    private static final String API_PREFIX = "/items";
+
+    @Autowired
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl,
+                      @Value("${shareit-server.passthrough}") boolean passthrough,
+                      @Value("${shareit-server.wire-format}") WireFormat wireFormat,
+                      RestTemplateBuilder builder,
+                      ClientCallMetrics metrics) {
+        super(
+                builder
+                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
+                        .build(),
+                passthrough,
+                wireFormat,
+                metrics
+        );
+    }
+
+    /**
+     * Для встроенного режима: наследник вызывает сервисы shareit-server в том же процессе, RestTemplate не нужен.
+     */
+    protected ItemClient() {
+        super(new RestTemplate());
+    }
+
+    public ResponseEntity<Object> createItem(Long userId, ItemDto itemDto) {
+        return post("", userId, itemDto);
+    }
+
+    public ResponseEntity<Object> updateItem(Long userId, Long itemId, ItemDto itemDto) {
+        return patch("/" + itemId, userId, itemDto);
+    }
+
+    public ResponseEntity<Object> getItem(Long userId, Long itemId) {
+        return get("/" + itemId, userId);
+    }
+
+    public void deleteItem(Long itemId) {
+        delete("/" + itemId);
+    }
+
+    public ResponseEntity<Object> getAllItemsOfUser(Long userId, Long afterId, Integer from, Integer size) {
+        Map<String, Object> parameters = pageParameters(afterId, from, size);
+        return get(withQuery("", parameters), userId, parameters);
+    }
+
+    public ResponseEntity<Object> searchItemsByText(Long userId, String text, Integer from, Integer size) {
+        Map<String, Object> parameters = Map.of("text", text, "from", from, "size", size);
+        return get("/search?text={text}&from={from}&size={size}", userId, parameters);
+    }
+
+    public ResponseEntity<Object> suggest(Long userId, String prefix, Integer size) {
+        Map<String, Object> parameters = Map.of("prefix", prefix, "size", size);
+        return get("/suggest?prefix={prefix}&size={size}", userId, parameters);
+    }
+
+    public ResponseEntity<Object> createComment(Long userId, Long itemId, CommentDto commentDto) {
+        return post("/" + itemId + "/comment", userId, commentDto);
+    }
+
+    protected static Map<String, Object> pageParameters(Long afterId, Integer from, Integer size) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("afterId", afterId);
+        parameters.put("from", from);
+        parameters.put("size", size);
+        return parameters;
+    }
+}
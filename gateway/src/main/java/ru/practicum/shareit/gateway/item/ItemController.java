@@ -1,14 +1,18 @@
-package ru.practicum.shareit.item;
+package ru.practicum.shareit.gateway.item;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import ru.practicum.shareit.item.dto.CommentDto;
-import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.gateway.item.dto.CommentDto;
+import ru.practicum.shareit.gateway.item.dto.ItemDto;
 
-import static ru.practicum.shareit.util.Constant.USER_ID_HEADER;
+import static ru.practicum.shareit.gateway.util.Constant.MAX_PAGE_SIZE;
+import static ru.practicum.shareit.gateway.util.Constant.USER_ID_HEADER;
 
 @RestController
 @RequestMapping(path = "/items")
@@ -42,14 +46,26 @@ public class ItemController {
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllItemsOfUser(@RequestHeader(USER_ID_HEADER) Long userId) {
-        return itemClient.getAllItemsOfUser(userId);
+    public ResponseEntity<Object> getAllItemsOfUser(@RequestHeader(USER_ID_HEADER) Long userId,
+                                                    @RequestParam(required = false) @Positive Long afterId,
+                                                    @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
+                                                    @RequestParam(defaultValue = "20") @Positive @Max(MAX_PAGE_SIZE) Integer size) {
+        return itemClient.getAllItemsOfUser(userId, afterId, from, size);
     }
 
     @GetMapping("/search")
     public ResponseEntity<Object> searchItemsByText(@RequestHeader(USER_ID_HEADER) Long userId,
-                                                    @RequestParam @NotBlank String text) {
-        return itemClient.searchItemsByText(userId, text);
+                                                    @RequestParam @NotBlank String text,
+                                                    @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
+                                                    @RequestParam(defaultValue = "20") @Positive @Max(MAX_PAGE_SIZE) Integer size) {
+        return itemClient.searchItemsByText(userId, text, from, size);
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<Object> suggest(@RequestHeader(USER_ID_HEADER) Long userId,
+                                          @RequestParam @NotBlank String prefix,
+                                          @RequestParam(defaultValue = "10") @Positive @Max(20) Integer size) {
+        return itemClient.suggest(userId, prefix, size);
     }
 
     @PostMapping("/{itemId}/comment")
@@ -0,0 +1,115 @@
+package ru.practicum.shareit.gateway.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static ru.practicum.shareit.gateway.util.Constant.USER_ID_HEADER;
+
+@Slf4j
+public class RateLimitInterceptor implements HandlerInterceptor {
+    private static final String DEFAULT_ROUTE = "default";
+
+    private final Map<String, LimitedRoute> routesByPattern = new HashMap<>();
+    private final LimitedRoute defaultRoute;
+    private final ObjectMapper objectMapper;
+
+    public RateLimitInterceptor(RateLimitProperties properties, ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.defaultRoute = new LimitedRoute(DEFAULT_ROUTE, properties.getDefaultLimit(), properties, meterRegistry);
+        properties.getRoutes().forEach((name, limit) -> routesByPattern.put(limit.getPattern(),
+                new LimitedRoute(name, limit, properties, meterRegistry)));
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        String userId = request.getHeader(USER_ID_HEADER);
+        if (userId == null) {
+            return true;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        long waitNanos = tryAcquire(userId, pattern == null ? null : pattern.toString());
+        if (waitNanos == 0) {
+            return true;
+        }
+
+        long retryAfterSeconds = retryAfterSeconds(waitNanos);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(),
+                Map.of("error", rejectionMessage(retryAfterSeconds)));
+        return false;
+    }
+
+    /**
+     * Списывает запрос пользователя из корзины маршрута с шаблоном pattern, как для запроса, пришедшего напрямую.
+     * Возвращает 0, если запрос разрешён, иначе время в наносекундах до следующего разрешения.
+     */
+    public long tryAcquire(String userId, String pattern) {
+        LimitedRoute route = pattern == null ? defaultRoute : routesByPattern.getOrDefault(pattern, defaultRoute);
+        long now = System.nanoTime();
+        long waitNanos = route.buckets.get(userId, key -> route.newBucket(now)).tryAcquire(now);
+        if (waitNanos > 0) {
+            route.rejected.increment();
+            log.debug("Пользователь {} превысил лимит запросов маршрута {}", userId, route.name);
+        }
+        return waitNanos;
+    }
+
+    public static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+    }
+
+    public static String rejectionMessage(long retryAfterSeconds) {
+        return "Слишком много запросов, повторите через " + retryAfterSeconds + " с.";
+    }
+
+    private static final class LimitedRoute {
+        private final String name;
+        private final RateLimitProperties.Limit limit;
+        private final Cache<String, TokenBucket> buckets;
+        private final Counter rejected;
+
+        private LimitedRoute(String name, RateLimitProperties.Limit limit, RateLimitProperties properties,
+                             MeterRegistry meterRegistry) {
+            this.name = name;
+            this.limit = limit;
+            this.buckets = Caffeine.newBuilder()
+                    .maximumSize(properties.getMaxTrackedUsers())
+                    .expireAfterAccess(properties.getIdleEviction())
+                    .build();
+            this.rejected = Counter.builder("shareit.gateway.rate.limit.rejected")
+                    .description("Requests rejected with 429 by the per-user rate limiter")
+                    .tag("route", name)
+                    .register(meterRegistry);
+            Gauge.builder("shareit.gateway.rate.limit.users", buckets, Cache::estimatedSize)
+                    .description("Users with a live rate limit bucket")
+                    .tag("route", name)
+                    .register(meterRegistry);
+        }
+
+        private TokenBucket newBucket(long now) {
+            return new TokenBucket(limit.getPermitsPerSecond(), limit.getBurst(), now);
+        }
+    }
+}
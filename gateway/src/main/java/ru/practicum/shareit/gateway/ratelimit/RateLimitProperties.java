@@ -0,0 +1,27 @@
+package ru.practicum.shareit.gateway.ratelimit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-gateway.rate-limit")
+public class RateLimitProperties {
+    private long maxTrackedUsers = 5_000_000;
+    private Duration idleEviction = Duration.ofMinutes(5);
+    private Limit defaultLimit = new Limit();
+    private Map<String, Limit> routes = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class Limit {
+        private String pattern;
+        private double permitsPerSecond = 50;
+        private int burst = 100;
+    }
+}
@@ -0,0 +1,78 @@
+package ru.practicum.shareit.gateway.request;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+import ru.practicum.shareit.gateway.client.BaseClient;
+import ru.practicum.shareit.gateway.client.ClientCallMetrics;
+import ru.practicum.shareit.gateway.client.WireFormat;
+import ru.practicum.shareit.gateway.request.dto.ItemRequestDto;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Service
+@Profile("!embedded")
+public class ItemRequestClient extends BaseClient {
+
+    private static final String API_PREFIX = "/requests";
+
+    @Autowired
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl,
+                             @Value("${shareit-server.passthrough}") boolean passthrough,
+                             @Value("${shareit-server.wire-format}") WireFormat wireFormat,
+                             RestTemplateBuilder builder,
+                             ClientCallMetrics metrics) {
+        super(
+                builder
+                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
+                        .build(),
+                passthrough,
+                wireFormat,
+                metrics
+        );
+    }
+
+    /**
+     * Для встроенного режима: наследник вызывает сервисы shareit-server в том же процессе, RestTemplate не нужен.
+     */
+    protected ItemRequestClient() {
+        super(new RestTemplate());
+    }
+
+    public ResponseEntity<Object> getAllItemRequestsByUser(Long userId, LocalDateTime afterCreated, Long afterId,
+                                                           Integer from, Integer size) {
+        Map<String, Object> parameters = pageParameters(afterCreated, afterId, from, size);
+        return get(withQuery("", parameters), userId, parameters);
+    }
+
+    public ResponseEntity<Object> getAllItemRequests(Long userId, LocalDateTime afterCreated, Long afterId,
+                                                     Integer from, Integer size) {
+        Map<String, Object> parameters = pageParameters(afterCreated, afterId, from, size);
+        return get(withQuery("/all", parameters), userId, parameters);
+    }
+
+    public ResponseEntity<Object> getItemRequest(Long userId, Long requestId) {
+        return get("/" + requestId, userId);
+    }
+
+    public ResponseEntity<Object> createItemRequest(Long userId, ItemRequestDto itemRequestDto) {
+        return post("", userId, itemRequestDto);
+    }
+
+    protected static Map<String, Object> pageParameters(LocalDateTime afterCreated, Long afterId, Integer from,
+                                                      Integer size) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("afterCreated", afterCreated);
+        parameters.put("afterId", afterId);
+        parameters.put("from", from);
+        parameters.put("size", size);
+        return parameters;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.gateway.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.gateway.request.dto.ItemRequestDto;
+
+import java.time.LocalDateTime;
+
+import static ru.practicum.shareit.gateway.util.Constant.MAX_PAGE_SIZE;
+import static ru.practicum.shareit.gateway.util.Constant.USER_ID_HEADER;
+
+@RestController
+@RequestMapping(path = "/requests")
+@RequiredArgsConstructor
+public class ItemRequestController {
+    private final ItemRequestClient itemRequestClient;
+
+    @GetMapping
+    public ResponseEntity<Object> getAllItemRequestsByUser(@RequestHeader(USER_ID_HEADER) Long userId,
+                                                           @RequestParam(required = false)
+                                                           @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime afterCreated,
+                                                           @RequestParam(required = false) @Positive Long afterId,
+                                                           @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
+                                                           @RequestParam(defaultValue = "20") @Positive @Max(MAX_PAGE_SIZE) Integer size) {
+        return itemRequestClient.getAllItemRequestsByUser(userId, afterCreated, afterId, from, size);
+    }
+
+    @GetMapping("/all")
+    public ResponseEntity<Object> getAllItemRequests(@RequestHeader(USER_ID_HEADER) Long userId,
+                                                     @RequestParam(required = false)
+                                                     @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime afterCreated,
+                                                     @RequestParam(required = false) @Positive Long afterId,
+                                                     @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
+                                                     @RequestParam(defaultValue = "20") @Positive @Max(MAX_PAGE_SIZE) Integer size) {
+        return itemRequestClient.getAllItemRequests(userId, afterCreated, afterId, from, size);
+    }
+
+    @GetMapping("/{requestId}")
+    public ResponseEntity<Object> getItemRequest(@RequestHeader(USER_ID_HEADER) Long userId,
+                                                 @PathVariable Long requestId) {
+        return itemRequestClient.getItemRequest(userId, requestId);
+    }
+
+    @PostMapping
+    public ResponseEntity<Object> createItemRequest(@RequestHeader(USER_ID_HEADER) Long userId,
+                                                    @RequestBody ItemRequestDto itemRequestDto) {
+        return itemRequestClient.createItemRequest(userId, itemRequestDto);
+    }
+}
\ No newline at end of file
@@ -1,29 +1,46 @@
-package ru.practicum.shareit.user;
+package ru.practicum.shareit.gateway.user;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.DefaultUriBuilderFactory;
-import ru.practicum.shareit.client.BaseClient;
-import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.gateway.client.BaseClient;
+import ru.practicum.shareit.gateway.client.ClientCallMetrics;
+import ru.practicum.shareit.gateway.client.WireFormat;
+import ru.practicum.shareit.gateway.user.dto.UserDto;
 
 @Service
+@Profile("!embedded")
 public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public UserClient(@Value("${shareit-server.url}") String serverUrl,
+                      @Value("${shareit-server.passthrough}") boolean passthrough,
+                      @Value("${shareit-server.wire-format}") WireFormat wireFormat,
+                      RestTemplateBuilder builder,
+                      ClientCallMetrics metrics) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .build(),
+                passthrough,
+                wireFormat,
+                metrics
         );
     }
 
+    /**
+     * Для встроенного режима: наследник вызывает сервисы shareit-server в том же процессе, RestTemplate не нужен.
+     */
+    protected UserClient() {
+        super(new RestTemplate());
+    }
+
     public ResponseEntity<Object> createUser(UserDto userDto) {
         return post("", userDto);
     }
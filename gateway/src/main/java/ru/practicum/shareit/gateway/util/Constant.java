@@ -1,4 +1,4 @@
-package ru.practicum.shareit.util;
+package ru.practicum.shareit.gateway.util;
 
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
@@ -6,4 +6,6 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class Constant {
     public static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    public static final String UNKNOWN_USER_HEADER = "X-Unknown-User-Id";
+    public static final int MAX_PAGE_SIZE = 100;
 }
\ No newline at end of file
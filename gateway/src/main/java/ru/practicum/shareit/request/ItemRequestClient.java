@@ -1,43 +0,0 @@
-package ru.practicum.shareit.request;
-
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
-import org.springframework.http.ResponseEntity;
-import org.springframework.web.util.DefaultUriBuilderFactory;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
-import org.springframework.stereotype.Service;
-import ru.practicum.shareit.client.BaseClient;
-import ru.practicum.shareit.request.dto.ItemRequestDto;
-
-@Service
-public class ItemRequestClient extends BaseClient {
-
-    private static final String API_PREFIX = "/requests";
-
-    @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
-        );
-    }
-
-    public ResponseEntity<Object> getAllItemRequestsByUser(Long userId) {
-        return get("", userId);
-    }
-
-    public ResponseEntity<Object> getAllItemRequests(Long userId) {
-        return get("/all", userId);
-    }
-
-    public ResponseEntity<Object> getItemRequest(Long userId, Long requestId) {
-        return get("/" + requestId, userId);
-    }
-
-    public ResponseEntity<Object> createItemRequest(Long userId, ItemRequestDto itemRequestDto) {
-        return post("", userId, itemRequestDto);
-    }
-}
\ No newline at end of file
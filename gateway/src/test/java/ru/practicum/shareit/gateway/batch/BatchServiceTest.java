@@ -0,0 +1,216 @@
+package ru.practicum.shareit.gateway.batch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import ru.practicum.shareit.gateway.batch.dto.BatchRequestDto;
+import ru.practicum.shareit.gateway.batch.dto.SubRequestDto;
+import ru.practicum.shareit.gateway.batch.dto.SubResponseDto;
+import ru.practicum.shareit.gateway.booking.BookingClient;
+import ru.practicum.shareit.gateway.booking.BookingController;
+import ru.practicum.shareit.gateway.booking.dto.BookingState;
+import ru.practicum.shareit.gateway.item.ItemClient;
+import ru.practicum.shareit.gateway.item.ItemController;
+import ru.practicum.shareit.gateway.ratelimit.RateLimitInterceptor;
+import ru.practicum.shareit.gateway.ratelimit.RateLimitProperties;
+import ru.practicum.shareit.gateway.request.ItemRequestClient;
+import ru.practicum.shareit.gateway.request.ItemRequestController;
+import ru.practicum.shareit.gateway.user.UserClient;
+import ru.practicum.shareit.gateway.user.UserController;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static ru.practicum.shareit.gateway.util.Constant.MAX_PAGE_SIZE;
+
+@ExtendWith(MockitoExtension.class)
+public class BatchServiceTest {
+    @Mock
+    private UserClient userClient;
+    @Mock
+    private ItemClient itemClient;
+    @Mock
+    private BookingClient bookingClient;
+    @Mock
+    private ItemRequestClient itemRequestClient;
+    @Mock
+    private ObjectProvider<RateLimitInterceptor> rateLimitInterceptor;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private BatchService batchService;
+
+    @BeforeEach
+    void setUp() {
+        batchService = new BatchService(userClient, itemClient, bookingClient, itemRequestClient, objectMapper,
+                rateLimitInterceptor);
+    }
+
+    @Test
+    void executeBatch_whenRoutesMatch_returnsResponsesInRequestOrder() throws Exception {
+        when(userClient.getUser(5L)).thenReturn(ResponseEntity.ok(json("{\"id\":5}")));
+        when(itemClient.getItem(1L, 7L)).thenReturn(ResponseEntity.status(404).body(json("{\"error\":\"нет\"}")));
+        when(itemClient.searchItemsByText(1L, "дрель ударная", 10, 5)).thenReturn(ResponseEntity.ok(json("[]")));
+        when(bookingClient.getAllBookingsOwner(1L, BookingState.WAITING, null, null, 0, 20))
+                .thenReturn(ResponseEntity.ok(new byte[0]));
+
+        List<SubResponseDto> responses = batchService.executeBatch(1L, batch(
+                "/users/5",
+                "/items/7",
+                "/items/search?text=%D0%B4%D1%80%D0%B5%D0%BB%D1%8C%20%D1%83%D0%B4%D0%B0%D1%80%D0%BD%D0%B0%D1%8F&from=10&size=5",
+                "/bookings/owner?state=waiting")).getResponses();
+
+        assertEquals(List.of("0", "1", "2", "3"), responses.stream().map(SubResponseDto::getId).toList());
+        assertEquals(200, responses.get(0).getStatus());
+        assertEquals(objectMapper.readTree("{\"id\":5}"), responses.get(0).getBody());
+        assertEquals(404, responses.get(1).getStatus());
+        assertEquals(objectMapper.readTree("[]"), responses.get(2).getBody());
+        assertNull(responses.get(3).getBody());
+    }
+
+    @Test
+    void executeBatch_whenSubRequestInvalid_answersItAloneWithoutCallingServer() {
+        SubRequestDto post = new SubRequestDto();
+        post.setId("post");
+        post.setMethod("POST");
+        post.setPath("/items");
+        BatchRequestDto batchRequestDto = batch("/nowhere", "/bookings?state=SOON", "/items?from=x");
+        batchRequestDto.getRequests().add(post);
+
+        List<SubResponseDto> responses = batchService.executeBatch(1L, batchRequestDto).getResponses();
+
+        assertEquals(List.of(404, 400, 400, 405), responses.stream().map(SubResponseDto::getStatus).toList());
+        assertEquals(Map.of("error", "Unknown state: SOON"), responses.get(1).getBody());
+        verifyNoInteractions(userClient, itemClient, bookingClient, itemRequestClient);
+    }
+
+    @Test
+    void executeBatch_whenParamsBreakControllerConstraints_answersBadRequest() {
+        List<SubResponseDto> responses = batchService.executeBatch(1L, batch(
+                "/items?size=101",
+                "/bookings?from=-1",
+                "/requests/all?size=0",
+                "/items/search?text=%20",
+                "/items/search",
+                "/items/suggest?prefix=%D0%B4&size=21",
+                "/bookings/owner?afterId=0")).getResponses();
+
+        assertEquals(List.of(400, 400, 400, 400, 400, 400, 400),
+                responses.stream().map(SubResponseDto::getStatus).toList());
+        assertEquals(Map.of("error", "Параметр size не может быть больше " + MAX_PAGE_SIZE),
+                responses.get(0).getBody());
+        assertEquals(Map.of("error", "Параметр text не может быть пустым"), responses.get(3).getBody());
+        verifyNoInteractions(userClient, itemClient, bookingClient, itemRequestClient);
+    }
+
+    @Test
+    void executeBatch_whenRouteLimitExhausted_answersTooManyRequestsPerSubRequest() {
+        RateLimitProperties properties = new RateLimitProperties();
+        RateLimitProperties.Limit search = new RateLimitProperties.Limit();
+        search.setPattern("/items/search");
+        search.setPermitsPerSecond(0.001);
+        search.setBurst(1);
+        properties.getRoutes().put("item-search", search);
+        when(rateLimitInterceptor.getIfAvailable())
+                .thenReturn(new RateLimitInterceptor(properties, objectMapper, new SimpleMeterRegistry()));
+        batchService = new BatchService(userClient, itemClient, bookingClient, itemRequestClient, objectMapper,
+                rateLimitInterceptor);
+        when(itemClient.searchItemsByText(eq(1L), anyString(), eq(0), eq(20)))
+                .thenReturn(ResponseEntity.ok(json("[]")));
+        when(itemClient.getItem(1L, 1L)).thenReturn(ResponseEntity.ok(json("{\"id\":1}")));
+
+        List<SubResponseDto> responses = batchService.executeBatch(1L, batch(
+                "/items/search?text=a", "/items/search?text=b", "/items/1")).getResponses();
+
+        assertEquals(List.of(200, 429), responses.subList(0, 2).stream()
+                .map(SubResponseDto::getStatus).sorted().toList());
+        assertEquals(200, responses.get(2).getStatus());
+        verify(itemClient, times(1)).searchItemsByText(eq(1L), anyString(), eq(0), eq(20));
+    }
+
+    @Test
+    void patterns_matchControllerGetMappings() {
+        try (GenericApplicationContext context = new GenericApplicationContext()) {
+            context.registerBean(UserClient.class, () -> userClient);
+            context.registerBean(ItemClient.class, () -> itemClient);
+            context.registerBean(BookingClient.class, () -> bookingClient);
+            context.registerBean(ItemRequestClient.class, () -> itemRequestClient);
+            context.registerBean(BatchService.class, () -> batchService);
+            context.registerBean(UserController.class);
+            context.registerBean(ItemController.class);
+            context.registerBean(BookingController.class);
+            context.registerBean(ItemRequestController.class);
+            context.registerBean(BatchController.class);
+            context.refresh();
+            RequestMappingHandlerMapping mapping = new RequestMappingHandlerMapping();
+            mapping.setApplicationContext(context);
+            mapping.afterPropertiesSet();
+
+            Set<String> getPatterns = mapping.getHandlerMethods().keySet().stream()
+                    .filter(info -> info.getMethodsCondition().getMethods().contains(RequestMethod.GET))
+                    .flatMap(info -> info.getPatternValues().stream())
+                    .collect(Collectors.toSet());
+
+            assertEquals(getPatterns, Set.copyOf(batchService.patterns()));
+        }
+    }
+
+    @Test
+    void executeBatch_withoutUser_rejectsOnlyRoutesThatNeedIt() {
+        when(userClient.getUser(5L)).thenReturn(ResponseEntity.ok(json("{\"id\":5}")));
+
+        List<SubResponseDto> responses = batchService.executeBatch(null, batch("/users/5", "/requests"))
+                .getResponses();
+
+        assertEquals(200, responses.get(0).getStatus());
+        assertEquals(400, responses.get(1).getStatus());
+        verifyNoInteractions(itemRequestClient);
+    }
+
+    @Test
+    void executeBatch_whenServerUnreachable_failsOnlyThatSubRequest() {
+        when(itemClient.getItem(1L, 1L)).thenThrow(new ResourceAccessException("Connection refused"));
+        when(itemClient.getItem(1L, 2L)).thenReturn(ResponseEntity.ok(json("{\"id\":2}")));
+
+        List<SubResponseDto> responses = batchService.executeBatch(1L, batch("/items/1", "/items/2"))
+                .getResponses();
+
+        assertEquals(502, responses.get(0).getStatus());
+        assertEquals(200, responses.get(1).getStatus());
+    }
+
+    private static BatchRequestDto batch(String... paths) {
+        List<SubRequestDto> subRequests = new ArrayList<>();
+        for (String path : paths) {
+            SubRequestDto subRequest = new SubRequestDto();
+            subRequest.setId(String.valueOf(subRequests.size()));
+            subRequest.setPath(path);
+            subRequests.add(subRequest);
+        }
+        BatchRequestDto batchRequestDto = new BatchRequestDto();
+        batchRequestDto.setRequests(subRequests);
+        return batchRequestDto;
+    }
+
+    private static Object json(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
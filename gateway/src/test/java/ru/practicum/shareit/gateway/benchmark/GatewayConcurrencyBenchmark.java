@@ -0,0 +1,170 @@
+package ru.practicum.shareit.gateway.benchmark;
+
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.gateway.ShareItGateway;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Пропускная способность шлюза при большом числе одновременных соединений: обработка запросов на пуле
+ * потоков Tomcat против обработки на виртуальных потоках. Сервер заменён заглушкой с фиксированной
+ * задержкой ответа, так что шлюз упирается в число потоков, а не в сервер.
+ * <p>
+ * Запуск: {@code mvn -pl gateway -am test -Pbenchmark -Dtest=GatewayConcurrencyBenchmark}.
+ * Параметры: {@code benchmark.connections}, {@code benchmark.server-delay-ms}, {@code benchmark.warm-up-s},
+ * {@code benchmark.duration-s}.
+ */
+@Slf4j
+@Tag("benchmark")
+public class GatewayConcurrencyBenchmark {
+    private static final int CONNECTIONS = Integer.getInteger("benchmark.connections", 1000);
+    private static final long SERVER_DELAY_MS = Long.getLong("benchmark.server-delay-ms", 1000);
+    private static final long WARM_UP_NANOS = TimeUnit.SECONDS.toNanos(Long.getLong("benchmark.warm-up-s", 10));
+    private static final long DURATION_NANOS = TimeUnit.SECONDS.toNanos(Long.getLong("benchmark.duration-s", 20));
+    private static final byte[] USER = "{\"id\":1,\"name\":\"Пользователь\",\"email\":\"user@mail.ru\"}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    private static HttpServer server;
+
+    @BeforeAll
+    static void startServer() throws IOException {
+        System.setProperty("sun.net.httpserver.maxIdleConnections", String.valueOf(2 * CONNECTIONS));
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 4096);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/", exchange -> {
+            try {
+                Thread.sleep(SERVER_DELAY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, USER.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(USER);
+            }
+        });
+        server.start();
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void compareTomcatPoolWithVirtualThreads() throws InterruptedException {
+        Result direct = load(server.getAddress().getPort());
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        log.info("Соединений: {}, задержка сервера: {} мс", CONNECTIONS, SERVER_DELAY_MS);
+        log.info("Напрямую к заглушке сервера: {}", direct);
+        log.info("Пул потоков Tomcat: {}", platform);
+        log.info("Виртуальные потоки: {}", virtual);
+        assertEquals(0, platform.errors());
+        assertEquals(0, virtual.errors());
+    }
+
+    private static Result run(boolean virtualThreads) throws InterruptedException {
+        try (ConfigurableApplicationContext gateway = new SpringApplicationBuilder(ShareItGateway.class).run(
+                "--server.port=0",
+                "--shareit-server.url=http://127.0.0.1:" + server.getAddress().getPort(),
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--shareit-server.pool.max-total=" + CONNECTIONS,
+                "--shareit-server.pool.max-per-route=" + CONNECTIONS,
+                "--shareit-server.cache.enabled=false",
+                "--shareit-server.coalescing.enabled=false",
+                "--shareit-server.resilience.enabled=false",
+                "--shareit-gateway.rate-limit.enabled=false",
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework.web.client.RestTemplate=WARN",
+                "--logging.level.ru.practicum.shareit.gateway.benchmark=INFO")) {
+            int port = ((WebServerApplicationContext) gateway).getWebServer().getPort();
+            return load(port);
+        }
+    }
+
+    /**
+     * Каждое соединение шлёт запросы друг за другом; в результат идут только запросы, начатые после прогрева.
+     */
+    private static Result load(int port) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicLong errors = new AtomicLong();
+        long measureFrom = System.nanoTime() + WARM_UP_NANOS;
+        long measureTo = measureFrom + DURATION_NANOS;
+        try (ExecutorService connections = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CONNECTIONS; i++) {
+                URI uri = URI.create("http://127.0.0.1:" + port + "/users/" + (i + 1));
+                HttpRequest request = HttpRequest.newBuilder(uri).build();
+                connections.execute(() -> {
+                    for (long start = System.nanoTime(); start < measureTo; start = System.nanoTime()) {
+                        boolean ok;
+                        try {
+                            ok = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+                        } catch (IOException e) {
+                            ok = false;
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                        if (start >= measureFrom) {
+                            if (ok) {
+                                latencies.add(System.nanoTime() - start);
+                            } else {
+                                errors.incrementAndGet();
+                            }
+                        }
+                    }
+                });
+            }
+        }
+        client.close();
+        List<Long> sorted = latencies.stream().sorted().toList();
+        return new Result(sorted.size() * 1e9 / DURATION_NANOS, percentile(sorted, 0.5), percentile(sorted, 0.99),
+                errors.get());
+    }
+
+    private static long percentile(List<Long> sorted, double percentile) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        return TimeUnit.NANOSECONDS.toMillis(sorted.get((int) (percentile * (sorted.size() - 1))));
+    }
+
+    private record Result(double throughput, long p50Millis, long p99Millis, long errors) {
+        @Override
+        public String toString() {
+            return String.format("%.0f запросов/с, p50 %d мс, p99 %d мс, ошибок %d", throughput, p50Millis, p99Millis,
+                    errors);
+        }
+    }
+}
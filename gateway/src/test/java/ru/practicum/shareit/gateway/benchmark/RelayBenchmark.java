@@ -0,0 +1,120 @@
+package ru.practicum.shareit.gateway.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import ru.practicum.shareit.gateway.client.ClientCallMetrics;
+import ru.practicum.shareit.gateway.client.WireFormat;
+import ru.practicum.shareit.gateway.request.ItemRequestClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Стоимость ответа шлюза без сети: ответ сервера разбирается в Object и снова пишется клиенту как JSON
+ * против передачи тела как есть. Сервер заменён готовым ответом {@code GET /requests/all}, запись клиенту
+ * повторяет конвертеры Spring MVC: массив байт копируется, остальное пишется через ObjectMapper.
+ * <p>
+ * Запуск: {@code mvn -pl gateway -am test -Pbenchmark -Dtest=RelayBenchmark}.
+ */
+@Slf4j
+@Tag("benchmark")
+public class RelayBenchmark {
+    private static final long WARM_UP_NANOS = TimeUnit.SECONDS.toNanos(Long.getLong("benchmark.warm-up-s", 5));
+    private static final long DURATION_NANOS = TimeUnit.SECONDS.toNanos(Long.getLong("benchmark.duration-s", 10));
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    void compareObjectMappingWithPassthrough() throws IOException {
+        for (int size : new int[]{20, 500}) {
+            byte[] body = requests(size);
+            Result mapped = run(false, body);
+            Result relayed = run(true, body);
+
+            log.info("GET /requests/all, {} запросов, {} КБ", size, body.length / 1024);
+            log.info("Разбор в Object: {}", mapped);
+            log.info("Передача байтов: {}", relayed);
+            assertTrue(relayed.bytesPerCall() < mapped.bytesPerCall());
+        }
+    }
+
+    private Result run(boolean passthrough, byte[] body) throws IOException {
+        ClientHttpRequestFactory server = (uri, method) -> {
+            MockClientHttpRequest request = new MockClientHttpRequest(method, uri);
+            MockClientHttpResponse response = new MockClientHttpResponse(body, HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            request.setResponse(response);
+            return request;
+        };
+        ItemRequestClient client = new ItemRequestClient("http://localhost:9090", passthrough, WireFormat.JSON,
+                new RestTemplateBuilder().requestFactory(() -> server), new ClientCallMetrics(new SimpleMeterRegistry()));
+
+        long warmUpTo = System.nanoTime() + WARM_UP_NANOS;
+        while (System.nanoTime() < warmUpTo) {
+            call(client);
+        }
+        long calls = 0;
+        long allocatedFrom = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            call(client);
+            calls++;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < DURATION_NANOS);
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedFrom;
+        return new Result(calls * 1e9 / elapsed, allocated / calls);
+    }
+
+    private void call(ItemRequestClient client) throws IOException {
+        ResponseEntity<Object> response = client.getAllItemRequests(1L, null, null, 0, 20);
+        if (response.getBody() instanceof byte[] bytes) {
+            OutputStream.nullOutputStream().write(bytes);
+        } else {
+            objectMapper.writeValue(OutputStream.nullOutputStream(), response.getBody());
+        }
+    }
+
+    private static byte[] requests(int size) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 1; i <= size; i++) {
+            json.append(i == 1 ? "" : ",")
+                    .append("{\"id\":").append(i)
+                    .append(",\"description\":\"Нужна ударная дрель для ремонта квартиры на выходные, номер ")
+                    .append(i).append("\",\"requester\":{\"id\":").append(i % 50 + 1)
+                    .append(",\"name\":\"Пользователь ").append(i % 50 + 1)
+                    .append("\",\"email\":\"user").append(i % 50 + 1).append("@mail.ru\"}")
+                    .append(",\"created\":\"2026-10-18T12:00:").append(String.format("%02d", i % 60))
+                    .append("\",\"items\":[{\"itemId\":").append(i * 2)
+                    .append(",\"name\":\"Дрель\",\"userId\":").append(i % 50 + 2)
+                    .append("},{\"itemId\":").append(i * 2 + 1)
+                    .append(",\"name\":\"Перфоратор\",\"userId\":").append(i % 50 + 3).append("}]}");
+        }
+        return json.append("]").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private record Result(double callsPerSecond, long bytesPerCall) {
+        @Override
+        public String toString() {
+            return String.format("%.0f вызовов/с, %.1f КБ на вызов", callsPerSecond, bytesPerCall / 1024d);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package ru.practicum.shareit.gateway.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+public class BaseClientTest {
+    private RestTemplate rest;
+    private MockRestServiceServer server;
+
+    @BeforeEach
+    void setUp() {
+        rest = new RestTemplate();
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory("http://localhost:9090/items"));
+        server = MockRestServiceServer.bindTo(rest).build();
+    }
+
+    @Test
+    void get_whenPassthrough_relaysBodyBytesAndPagingHeaders() {
+        byte[] body = "[{\"id\":1,\"name\":\"Дрель\"}]".getBytes(StandardCharsets.UTF_8);
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.LINK, "</items?afterId=1>; rel=\"next\"");
+        headers.set("X-Has-Next", "true");
+        headers.set(HttpHeaders.CACHE_CONTROL, "no-cache");
+        headers.set(HttpHeaders.ETAG, "\"1\"");
+        headers.set("X-Unknown-User-Id", "7");
+        headers.set(HttpHeaders.CONNECTION, "keep-alive, X-Hop");
+        headers.set("Keep-Alive", "timeout=5");
+        headers.set("X-Hop", "1");
+        headers.set(HttpHeaders.TRANSFER_ENCODING, "chunked");
+        server.expect(requestTo("http://localhost:9090/items?size=1"))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(header("X-Sharer-User-Id", "7"))
+                .andRespond(withSuccess(body, MediaType.APPLICATION_JSON).headers(headers));
+
+        ResponseEntity<Object> response = new BaseClient(rest, true).get("?size={size}", 7L, Map.of("size", 1));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals("true", response.getHeaders().getFirst("X-Has-Next"));
+        assertEquals("</items?afterId=1>; rel=\"next\"", response.getHeaders().getFirst(HttpHeaders.LINK));
+        assertEquals("no-cache", response.getHeaders().getCacheControl());
+        assertEquals("\"1\"", response.getHeaders().getETag());
+        assertEquals("7", response.getHeaders().getFirst("X-Unknown-User-Id"));
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONNECTION));
+        assertNull(response.getHeaders().getFirst("Keep-Alive"));
+        assertNull(response.getHeaders().getFirst("X-Hop"));
+        assertNull(response.getHeaders().getFirst(HttpHeaders.TRANSFER_ENCODING));
+        assertArrayEquals(body, (byte[]) response.getBody());
+        server.verify();
+    }
+
+    @Test
+    void get_whenWireFormatIsSmile_transcodesResponseToJson() throws Exception {
+        String json = "{\"id\":1,\"name\":\"Дрель\",\"available\":true,\"comments\":[]}";
+        byte[] smile = new ObjectMapper(new SmileFactory()).writeValueAsBytes(new ObjectMapper().readTree(json));
+        server.expect(requestTo("http://localhost:9090/items/1"))
+                .andExpect(header(HttpHeaders.ACCEPT, "application/x-jackson-smile, application/json"))
+                .andRespond(withSuccess(smile, WireFormat.SMILE.getMediaType())
+                        .header(HttpHeaders.CONTENT_LENGTH, String.valueOf(smile.length))
+                        .header(HttpHeaders.ETAG, "\"1\""));
+
+        ResponseEntity<Object> response = new BaseClient(rest, true, WireFormat.SMILE).get("/1", 7L);
+
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals(-1, response.getHeaders().getContentLength());
+        assertEquals("\"1\"", response.getHeaders().getETag());
+        assertEquals(json, new String((byte[]) response.getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void get_whenServerAnswersWithError_relaysStatusAndBody() {
+        byte[] error = "{\"error\":\"Вещь с айди 1 не найдена!\"}".getBytes(StandardCharsets.UTF_8);
+        server.expect(requestTo("http://localhost:9090/items/1"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND).contentType(MediaType.APPLICATION_JSON).body(error));
+
+        ResponseEntity<Object> response = new BaseClient(rest, true).get("/1", 7L);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertArrayEquals(error, (byte[]) response.getBody());
+    }
+
+    @Test
+    void post_whenServerCreatesItem_relaysLocationAndRetryAfter() {
+        server.expect(requestTo("http://localhost:9090/items"))
+                .andRespond(withStatus(HttpStatus.CREATED).contentType(MediaType.APPLICATION_JSON)
+                        .location(URI.create("/items/1")).header(HttpHeaders.RETRY_AFTER, "1")
+                        .body("{\"id\":1}"));
+
+        ResponseEntity<Object> response = new BaseClient(rest, true).post("", 7L, Map.of("name", "Дрель"));
+
+        assertEquals("/items/1", response.getHeaders().getLocation().toString());
+        assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void get_withoutPassthrough_returnsServerResponseAsIs() {
+        server.expect(requestTo("http://localhost:9090/items/1"))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.CACHE_CONTROL, "no-cache"));
+
+        ResponseEntity<Object> response = new BaseClient(rest).get("/1", 7L);
+
+        assertEquals(Map.of("id", 1), response.getBody());
+        assertEquals("no-cache", response.getHeaders().getCacheControl());
+    }
+
+    @Test
+    void delete_whenServerAnswersWithoutBody_relaysEmptyResponse() {
+        server.expect(requestTo("http://localhost:9090/items/1"))
+                .andExpect(method(HttpMethod.DELETE))
+                .andRespond(withStatus(HttpStatus.OK));
+
+        ResponseEntity<Object> response = new BaseClient(rest, true).delete("/1", 7L);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNull(response.getBody());
+    }
+}
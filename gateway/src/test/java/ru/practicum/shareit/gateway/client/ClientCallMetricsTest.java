@@ -0,0 +1,41 @@
+package ru.practicum.shareit.gateway.client;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class ClientCallMetricsTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ClientCallMetrics metrics = new ClientCallMetrics(meterRegistry);
+
+    @Test
+    void requests_whenSameCallRepeats_reusesTimerFromInjectedRegistry() {
+        Timer first = metrics.requests("ItemClient", "GET", "/items/{id}", "200");
+        Timer second = metrics.requests("ItemClient", "GET", "/items/{id}", "200");
+
+        assertSame(first, second);
+        assertSame(first, meterRegistry.get("shareit.client.requests")
+                .tags("client", "ItemClient", "method", "GET", "route", "/items/{id}", "status", "200")
+                .timer());
+        assertNotSame(first, metrics.requests("ItemClient", "GET", "/items/{id}", "404"));
+    }
+
+    @Test
+    void finish_recordsTotalAndLeaseWithoutStatusTag() {
+        ClientCallTimings timings = ClientCallTimings.start();
+        ClientCallTimings.recordLease(1_000_000);
+
+        timings.finish(metrics, "UserClient", "POST", "/users", "201");
+
+        assertEquals(1, meterRegistry.get("shareit.client.requests").tag("status", "201").timer().count());
+        Timer lease = meterRegistry.get("shareit.client.requests.lease").tag("route", "/users").timer();
+        assertEquals(1, lease.count());
+        assertNull(lease.getId().getTag("status"));
+        assertEquals(0, meterRegistry.find("shareit.client.requests.first.byte").timers().size());
+    }
+}
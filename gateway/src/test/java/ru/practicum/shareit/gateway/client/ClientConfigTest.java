@@ -0,0 +1,17 @@
+package ru.practicum.shareit.gateway.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ClientConfigTest {
+
+    @Test
+    void connectionManager_whenUnixSocketAndLoadBalancingBothSet_failsAtStartup() {
+        ClientConfig config = new ClientConfig();
+
+        assertThrows(IllegalStateException.class, () -> config.connectionManager(new ConnectionPoolProperties(),
+                "/tmp/shareit-server.sock", true, new SimpleMeterRegistry()));
+    }
+}
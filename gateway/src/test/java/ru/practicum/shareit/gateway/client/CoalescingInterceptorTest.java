@@ -0,0 +1,132 @@
+package ru.practicum.shareit.gateway.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.practicum.shareit.gateway.util.Constant.USER_ID_HEADER;
+
+public class CoalescingInterceptorTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CoalescingInterceptor interceptor = new CoalescingInterceptor(meterRegistry);
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private final CountDownLatch leaderStarted = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void intercept_whenSameGetIsInFlight_joinsItAndSharesResponse() throws Exception {
+        ClientHttpRequestExecution execution = blockingExecution(() ->
+                new MockClientHttpResponse("[1]".getBytes(StandardCharsets.UTF_8), HttpStatus.OK));
+
+        Future<String> leader = executor.submit(() -> body(get("/items/1", 1L, execution)));
+        assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+        Future<String> follower = executor.submit(() -> body(get("/items/1", 1L, execution)));
+        Future<String> otherUser = executor.submit(() -> body(get("/items/1", 2L, execution)));
+        awaitCollapsed(1);
+        release.countDown();
+
+        assertEquals("[1]", leader.get(5, TimeUnit.SECONDS));
+        assertEquals("[1]", follower.get(5, TimeUnit.SECONDS));
+        assertEquals("[1]", otherUser.get(5, TimeUnit.SECONDS));
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void intercept_whenLeaderFailsWithError_completesFollowersAndForgetsCall() throws Exception {
+        ClientHttpRequestExecution execution = blockingExecution(() -> {
+            throw new StackOverflowError("Переполнение при разборе ответа");
+        });
+
+        Future<ClientHttpResponse> leader = executor.submit(() -> get("/items/1", 1L, execution));
+        assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+        Future<ClientHttpResponse> follower = executor.submit(() -> get("/items/1", 1L, execution));
+        awaitCollapsed(1);
+        release.countDown();
+
+        ExecutionException leaderFailure = assertThrows(ExecutionException.class,
+                () -> leader.get(5, TimeUnit.SECONDS));
+        ExecutionException followerFailure = assertThrows(ExecutionException.class,
+                () -> follower.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(StackOverflowError.class, leaderFailure.getCause());
+        assertInstanceOf(StackOverflowError.class, followerFailure.getCause());
+        assertEquals(0, meterRegistry.get("shareit.client.coalescing.in.flight").gauge().value());
+    }
+
+    @Test
+    void intercept_whenNotGet_neverCollapses() throws Exception {
+        ClientHttpRequestExecution execution = (request, body) -> {
+            upstreamCalls.incrementAndGet();
+            return new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+        };
+        MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.POST, URI.create("/items"));
+
+        interceptor.intercept(request, new byte[0], execution);
+        interceptor.intercept(request, new byte[0], execution);
+
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    private ClientHttpRequestExecution blockingExecution(ResponseSupplier response) {
+        return (request, body) -> {
+            upstreamCalls.incrementAndGet();
+            if (leaderStarted.getCount() > 0) {
+                leaderStarted.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return response.get();
+        };
+    }
+
+    private void awaitCollapsed(double expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("shareit.client.coalescing.calls").tag("outcome", "collapsed").counter().count()
+                < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private ClientHttpResponse get(String path, Long userId, ClientHttpRequestExecution execution)
+            throws Exception {
+        MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET, URI.create(path));
+        request.getHeaders().set(USER_ID_HEADER, String.valueOf(userId));
+        return interceptor.intercept(request, new byte[0], execution);
+    }
+
+    private static String body(ClientHttpResponse response) throws Exception {
+        return new String(response.getBody().readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    private interface ResponseSupplier {
+        ClientHttpResponse get();
+    }
+}
@@ -0,0 +1,64 @@
+package ru.practicum.shareit.gateway.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConsistentHashRingTest {
+    private final List<ServerInstance> instances = IntStream.rangeClosed(1, 4)
+            .mapToObj(i -> new ServerInstance(URI.create("http://server-" + i + ":9090"), 1))
+            .toList();
+
+    @Test
+    void owner_spreadsKeysEvenlyAcrossInstances() {
+        ConsistentHashRing ring = new ConsistentHashRing(instances, 160);
+        Map<ServerInstance, Integer> keys = new HashMap<>();
+
+        for (int userId = 0; userId < 10_000; userId++) {
+            keys.merge(ring.owner(String.valueOf(userId)), 1, Integer::sum);
+        }
+
+        assertEquals(instances.size(), keys.size());
+        keys.values().forEach(count -> assertTrue(count > 1_800 && count < 3_200, "ключей: " + count));
+    }
+
+    @Test
+    void owner_whenInstanceRemoved_movesOnlyItsKeys() {
+        ConsistentHashRing full = new ConsistentHashRing(instances, 160);
+        ServerInstance removed = instances.get(2);
+        ConsistentHashRing shrunk = new ConsistentHashRing(
+                instances.stream().filter(instance -> instance != removed).toList(), 160);
+
+        for (int userId = 0; userId < 10_000; userId++) {
+            String key = String.valueOf(userId);
+            ServerInstance before = full.owner(key);
+            ServerInstance after = shrunk.owner(key);
+            if (before == removed) {
+                assertNotEquals(removed, after);
+            } else {
+                assertEquals(before, after);
+            }
+        }
+    }
+
+    @Test
+    void locate_skipsRejectedInstancesClockwiseAndGivesUpWhenNoneAccepts() {
+        ConsistentHashRing ring = new ConsistentHashRing(instances, 160);
+        ServerInstance home = ring.owner("42");
+
+        ServerInstance next = ring.locate("42", instance -> instance != home);
+
+        assertNotEquals(home, next);
+        assertEquals(next, ring.locate("42", instance -> instance != home));
+        assertNull(ring.locate("42", instance -> false));
+    }
+}
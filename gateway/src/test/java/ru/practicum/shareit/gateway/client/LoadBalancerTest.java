@@ -0,0 +1,152 @@
+package ru.practicum.shareit.gateway.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.classic.methods.HttpGet;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.core5.http.io.HttpClientResponseHandler;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class LoadBalancerTest {
+    private final CloseableHttpClient httpClient = mock(CloseableHttpClient.class);
+    private final TaskScheduler taskScheduler = mock(TaskScheduler.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void choose_prefersInstanceWithFewerRequestsInFlight() {
+        LoadBalancer loadBalancer = loadBalancer(LoadBalancingProperties.Strategy.LEAST_OUTSTANDING, 2);
+        ServerInstance busy = loadBalancer.getInstances().get(0);
+        ServerInstance idle = loadBalancer.getInstances().get(1);
+        busy.acquire();
+
+        for (int i = 0; i < 20; i++) {
+            assertEquals(idle, loadBalancer.choose());
+        }
+    }
+
+    @Test
+    void choose_avoidsInstancesAlreadyTriedForTheRequest() {
+        LoadBalancer loadBalancer = loadBalancer(LoadBalancingProperties.Strategy.LEAST_OUTSTANDING, 3);
+        ServerInstance first = loadBalancer.getInstances().get(0);
+        ServerInstance second = loadBalancer.getInstances().get(1);
+
+        for (int i = 0; i < 20; i++) {
+            assertEquals(loadBalancer.getInstances().get(2), loadBalancer.choose(Set.of(first, second), null));
+        }
+        Set<ServerInstance> all = Set.copyOf(loadBalancer.getInstances());
+        assertTrue(all.contains(loadBalancer.choose(all, null)));
+    }
+
+    @Test
+    void onFailure_takesInstanceOutOfRotationUntilHealthChecksPass() throws IOException {
+        LoadBalancer loadBalancer = loadBalancer(LoadBalancingProperties.Strategy.LEAST_OUTSTANDING, 2);
+        ServerInstance failing = loadBalancer.getInstances().get(0);
+        ServerInstance other = loadBalancer.getInstances().get(1);
+        ArgumentCaptor<Runnable> healthCheck = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskScheduler).scheduleWithFixedDelay(healthCheck.capture(), eq(Duration.ofSeconds(5)));
+
+        loadBalancer.onFailure(failing);
+        assertTrue(failing.isHealthy());
+        loadBalancer.onFailure(failing);
+        assertFalse(failing.isHealthy());
+        other.acquire();
+        other.acquire();
+        for (int i = 0; i < 20; i++) {
+            assertEquals(other, loadBalancer.choose());
+        }
+
+        when(httpClient.execute(any(HttpGet.class), any(HttpClientResponseHandler.class))).thenReturn(true);
+        healthCheck.getValue().run();
+        assertFalse(failing.isHealthy());
+        healthCheck.getValue().run();
+        assertTrue(failing.isHealthy());
+        assertEquals(failing, loadBalancer.choose());
+    }
+
+    @Test
+    void choose_whenEveryInstanceIsDown_stillReturnsOne() {
+        LoadBalancer loadBalancer = loadBalancer(LoadBalancingProperties.Strategy.EWMA, 2);
+        loadBalancer.getInstances().forEach(instance -> {
+            loadBalancer.onFailure(instance);
+            loadBalancer.onFailure(instance);
+        });
+
+        assertTrue(loadBalancer.getInstances().contains(loadBalancer.choose()));
+    }
+
+    @Test
+    void choose_withEwma_prefersFasterInstance() {
+        LoadBalancer loadBalancer = loadBalancer(LoadBalancingProperties.Strategy.EWMA, 2);
+        ServerInstance slow = loadBalancer.getInstances().get(0);
+        ServerInstance fast = loadBalancer.getInstances().get(1);
+        loadBalancer.onSuccess(slow, Duration.ofMillis(200).toNanos());
+        loadBalancer.onSuccess(fast, Duration.ofMillis(5).toNanos());
+        fast.acquire();
+
+        assertEquals(fast, loadBalancer.choose());
+    }
+
+    @Test
+    void choose_withConsistentHash_keepsUserOnHomeInstanceWhileLoadIsBounded() {
+        LoadBalancer loadBalancer = loadBalancer(LoadBalancingProperties.Strategy.CONSISTENT_HASH, 3);
+        loadBalancer.getInstances().forEach(instance -> IntStream.range(0, 4).forEach(i -> instance.acquire()));
+        ServerInstance home = new ConsistentHashRing(loadBalancer.getInstances(), 160).owner("42");
+
+        for (int i = 0; i < 20; i++) {
+            assertEquals(home, loadBalancer.choose(Set.of(), "42"));
+        }
+        assertEquals(20, meterRegistry.get("shareit.client.affinity").tag("target", "home").counter().count());
+    }
+
+    @Test
+    void choose_withConsistentHash_spillsToNextInstanceWhenHomeIsOverloaded() {
+        LoadBalancer loadBalancer = loadBalancer(LoadBalancingProperties.Strategy.CONSISTENT_HASH, 3);
+        loadBalancer.getInstances().forEach(instance -> IntStream.range(0, 4).forEach(i -> instance.acquire()));
+        ConsistentHashRing ring = new ConsistentHashRing(loadBalancer.getInstances(), 160);
+        ServerInstance home = ring.owner("42");
+        ServerInstance next = ring.locate("42", instance -> instance != home);
+        IntStream.range(0, 3).forEach(i -> home.acquire());
+
+        assertEquals(next, loadBalancer.choose(Set.of(), "42"));
+        assertEquals(next, loadBalancer.choose(Set.of(), "42"));
+        assertEquals(2, meterRegistry.get("shareit.client.affinity").tag("target", "spilled").counter().count());
+
+        home.release();
+        assertEquals(home, loadBalancer.choose(Set.of(), "42"));
+    }
+
+    @Test
+    void choose_withConsistentHash_retriesOnAnotherInstance() {
+        LoadBalancer loadBalancer = loadBalancer(LoadBalancingProperties.Strategy.CONSISTENT_HASH, 3);
+        ServerInstance home = new ConsistentHashRing(loadBalancer.getInstances(), 160).owner("42");
+
+        ServerInstance retry = loadBalancer.choose(Set.of(home), "42");
+
+        assertNotEquals(home, retry);
+        assertEquals(home, loadBalancer.choose(Set.of(), "42"));
+    }
+
+    private LoadBalancer loadBalancer(LoadBalancingProperties.Strategy strategy, int instances) {
+        LoadBalancingProperties properties = new LoadBalancingProperties();
+        properties.setStrategy(strategy);
+        properties.setInstances(IntStream.rangeClosed(1, instances)
+                .mapToObj(i -> URI.create("http://server-" + i + ":9090"))
+                .toList());
+        return new LoadBalancer(properties, httpClient, meterRegistry, taskScheduler);
+    }
+}
@@ -0,0 +1,137 @@
+package ru.practicum.shareit.gateway.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ResilienceInterceptorTest {
+    private final CircuitBreakerRegistry circuitBreakers = CircuitBreakerRegistry.of(Map.of("shareit-server",
+            CircuitBreakerConfig.custom()
+                    .slidingWindowSize(4)
+                    .minimumNumberOfCalls(4)
+                    .failureRateThreshold(50)
+                    .waitDurationInOpenState(Duration.ofMinutes(1))
+                    .build()));
+    private final BulkheadRegistry bulkheads = BulkheadRegistry.of(Map.of("shareit-server",
+            BulkheadConfig.custom()
+                    .maxConcurrentCalls(1)
+                    .maxWaitDuration(Duration.ZERO)
+                    .build()));
+    private final ResilienceInterceptor interceptor = new ResilienceInterceptor(circuitBreakers, bulkheads,
+            new ObjectMapper());
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    @Test
+    void routeName_replacesIdsAndKeepsMethod() {
+        assertEquals("get-items-id-comment", ResilienceInterceptor.routeName(
+                new MockClientHttpRequest(HttpMethod.GET, URI.create("http://localhost:9090/items/12/comment"))));
+        assertEquals("post-bookings", ResilienceInterceptor.routeName(
+                new MockClientHttpRequest(HttpMethod.POST, URI.create("http://localhost:9090/bookings?x=1"))));
+    }
+
+    @Test
+    void intercept_whenRouteKeepsFailing_opensBreakerForThatRouteOnly() throws IOException {
+        ClientHttpRequestExecution failing = respondWith(HttpStatus.INTERNAL_SERVER_ERROR);
+        for (int i = 0; i < 4; i++) {
+            assertEquals(HttpStatus.INTERNAL_SERVER_ERROR,
+                    call(HttpMethod.GET, "/items/" + i, failing).getStatusCode());
+        }
+
+        ClientHttpResponse rejected = call(HttpMethod.GET, "/items/5", failing);
+        ClientHttpResponse otherRoute = call(HttpMethod.GET, "/bookings/5", respondWith(HttpStatus.OK));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getStatusCode());
+        assertEquals("1", rejected.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertTrue(new String(rejected.getBody().readAllBytes()).contains("get-items-id"));
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreakers.circuitBreaker("get-items-id").getState());
+        assertEquals(HttpStatus.OK, otherRoute.getStatusCode());
+        assertEquals(5, upstreamCalls.get());
+    }
+
+    @Test
+    void intercept_whenCallThrows_countsFailureAndReleasesBulkhead() {
+        ClientHttpRequestExecution refused = (request, body) -> {
+            upstreamCalls.incrementAndGet();
+            throw new ConnectException("Connection refused");
+        };
+
+        for (int i = 0; i < 4; i++) {
+            assertThrows(ConnectException.class, () -> call(HttpMethod.POST, "/bookings", refused));
+        }
+
+        assertEquals(4, upstreamCalls.get());
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreakers.circuitBreaker("post-bookings").getState());
+        assertEquals(1, bulkheads.bulkhead("post-bookings").getMetrics().getAvailableConcurrentCalls());
+    }
+
+    @Test
+    void intercept_whenRouteIsAtConcurrencyLimit_rejectsWithoutCallingServer() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ClientHttpRequestExecution slow = (request, body) -> {
+            upstreamCalls.incrementAndGet();
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+        };
+        CompletableFuture<ClientHttpResponse> first = CompletableFuture.supplyAsync(() -> {
+            try {
+                return call(HttpMethod.GET, "/requests/all", slow);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        ClientHttpResponse second = call(HttpMethod.GET, "/requests/all", slow);
+        release.countDown();
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, second.getStatusCode());
+        assertEquals(HttpStatus.OK, first.get(5, TimeUnit.SECONDS).getStatusCode());
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(HttpStatus.OK, call(HttpMethod.GET, "/requests/all", respondWith(HttpStatus.OK))
+                .getStatusCode());
+    }
+
+    private ClientHttpRequestExecution respondWith(HttpStatus status) {
+        return (request, body) -> {
+            upstreamCalls.incrementAndGet();
+            return new MockClientHttpResponse(new byte[0], status);
+        };
+    }
+
+    private ClientHttpResponse call(HttpMethod method, String path, ClientHttpRequestExecution execution)
+            throws IOException {
+        return interceptor.intercept(new MockClientHttpRequest(method, URI.create("http://localhost:9090" + path)),
+                new byte[0], execution);
+    }
+}
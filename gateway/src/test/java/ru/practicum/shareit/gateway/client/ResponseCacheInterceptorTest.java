@@ -0,0 +1,148 @@
+package ru.practicum.shareit.gateway.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.core.env.PropertiesPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static ru.practicum.shareit.gateway.util.Constant.USER_ID_HEADER;
+
+public class ResponseCacheInterceptorTest {
+    private final List<String> executed = new ArrayList<>();
+    private final ClientHttpRequestExecution execution = (request, body) -> {
+        executed.add(request.getMethod() + " " + request.getURI().getRawPath());
+        return new MockClientHttpResponse("{}".getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
+    };
+    private ResponseCacheInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new PropertiesPropertySource("application",
+                PropertiesLoaderUtils.loadProperties(new ClassPathResource("application.properties"))));
+        ResponseCacheProperties properties = new Binder(ConfigurationPropertySources.get(environment))
+                .bind("shareit-server.cache", ResponseCacheProperties.class)
+                .get();
+        interceptor = new ResponseCacheInterceptor(properties, new ObjectMapper(), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void intercept_whenGetRepeats_servesCachedResponsePerUser() throws IOException {
+        get("/items/1", 1);
+        get("/items/1", 1);
+        get("/items/1", 2);
+
+        assertEquals(List.of("GET /items/1", "GET /items/1"), executed);
+    }
+
+    @Test
+    void intercept_whenItemPatched_evictsOnlyThatItem() throws IOException {
+        get("/items/1", 1);
+        get("/items/2", 1);
+
+        write(HttpMethod.PATCH, "/items/1", 1L, "{\"name\":\"Дрель\"}");
+        get("/items/1", 1);
+        get("/items/2", 1);
+
+        assertEquals(List.of("GET /items/1", "GET /items/2", "PATCH /items/1", "GET /items/1"), executed);
+    }
+
+    @Test
+    void intercept_whenItemCreated_evictsOwnListAndRequestsThatItAnswers() throws IOException {
+        get("/items", 1);
+        get("/items", 2);
+        get("/requests/3", 2);
+        get("/requests/4", 2);
+
+        write(HttpMethod.POST, "/items", 1L, "{\"name\":\"Дрель\",\"requestId\":3}");
+        executed.clear();
+        get("/items", 1);
+        get("/items", 2);
+        get("/requests/3", 2);
+        get("/requests/4", 2);
+
+        assertEquals(List.of("GET /items", "GET /requests/3"), executed);
+    }
+
+    @Test
+    void intercept_whenUserDeleted_evictsEverythingBuiltFromTheirRows() throws IOException {
+        List<String> reads = List.of("/users/5", "/items/1", "/items", "/items/search", "/items/suggest",
+                "/requests", "/requests/all", "/requests/2");
+        for (String path : reads) {
+            get(path, 1);
+        }
+
+        write(HttpMethod.DELETE, "/users/5", null, "");
+        executed.clear();
+        for (String path : reads) {
+            get(path, 1);
+        }
+
+        assertEquals(reads.stream().map(path -> "GET " + path).toList(), executed);
+    }
+
+    @Test
+    void intercept_whenWriteFails_keepsCache() throws IOException {
+        get("/users/5", 1);
+        ClientHttpRequestExecution failing = (request, body) ->
+                new MockClientHttpResponse(new byte[0], HttpStatus.CONFLICT);
+
+        interceptor.intercept(request(HttpMethod.PATCH, "/users/5", null), "{}".getBytes(StandardCharsets.UTF_8),
+                failing);
+        get("/users/5", 1);
+
+        assertEquals(List.of("GET /users/5"), executed);
+    }
+
+    @Test
+    void intercept_whenWriteLandsDuringRead_doesNotCacheStaleResponse() throws IOException {
+        ClientHttpRequestExecution racing = (request, body) -> {
+            executed.add("GET " + request.getURI().getRawPath());
+            write(HttpMethod.PATCH, "/items/1", 1L, "{}");
+            return new MockClientHttpResponse("{}".getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
+        };
+
+        interceptor.intercept(request(HttpMethod.GET, "/items/1", 1L), new byte[0], racing);
+        get("/items/1", 1);
+        get("/items/1", 1);
+
+        assertEquals(List.of("GET /items/1", "PATCH /items/1", "GET /items/1"), executed);
+    }
+
+    private void get(String path, long userId) throws IOException {
+        interceptor.intercept(request(HttpMethod.GET, path, userId), new byte[0], execution).close();
+    }
+
+    private void write(HttpMethod method, String path, Long userId, String body) throws IOException {
+        MockClientHttpRequest request = request(method, path, userId);
+        request.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        interceptor.intercept(request, body.getBytes(StandardCharsets.UTF_8), execution);
+    }
+
+    private static MockClientHttpRequest request(HttpMethod method, String path, Long userId) {
+        MockClientHttpRequest request = new MockClientHttpRequest(method, URI.create("http://localhost:9090" + path));
+        if (userId != null) {
+            request.getHeaders().set(USER_ID_HEADER, String.valueOf(userId));
+        }
+        return request;
+    }
+}
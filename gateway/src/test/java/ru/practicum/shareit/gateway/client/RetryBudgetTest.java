@@ -0,0 +1,78 @@
+package ru.practicum.shareit.gateway.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RetryBudgetTest {
+
+    @Test
+    void tryWithdraw_spendsOnlyWhatRequestsDeposited() {
+        RetryBudget budget = new RetryBudget(0.5, 0, 100);
+
+        assertFalse(budget.tryWithdraw());
+        budget.deposit();
+        budget.deposit();
+        assertTrue(budget.tryWithdraw());
+        assertFalse(budget.tryWithdraw());
+    }
+
+    @Test
+    void deposit_isCappedByMaxBudget() {
+        RetryBudget budget = new RetryBudget(1, 0, 3);
+
+        for (int i = 0; i < 10; i++) {
+            budget.deposit();
+        }
+
+        assertEquals(3, budget.getBalance());
+    }
+
+    @Test
+    void tryWithdraw_refillsMinimumOverTimeWithoutTraffic() throws InterruptedException {
+        RetryBudget budget = new RetryBudget(0, 2, 100);
+
+        assertTrue(budget.tryWithdraw());
+        assertTrue(budget.tryWithdraw());
+        assertFalse(budget.tryWithdraw());
+        Thread.sleep(600);
+        assertTrue(budget.tryWithdraw());
+    }
+
+    @Test
+    void tryWithdraw_fromManyThreads_spendsEachTokenOnce() throws InterruptedException {
+        RetryBudget budget = new RetryBudget(1, 0, 1000);
+        for (int i = 0; i < 100; i++) {
+            budget.deposit();
+        }
+        AtomicInteger withdrawn = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 400; i++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                if (budget.tryWithdraw()) {
+                    withdrawn.incrementAndGet();
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(100, withdrawn.get());
+        assertEquals(0, budget.getBalance());
+    }
+}
@@ -0,0 +1,195 @@
+package ru.practicum.shareit.gateway.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.core5.http.NoHttpResponseException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RetryingRequestFactoryTest {
+    private static final URI ITEM = URI.create("http://localhost:9090/items/1");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Queue<Attempt> attempts = new ConcurrentLinkedQueue<>();
+    private final List<String> calls = new CopyOnWriteArrayList<>();
+    private final ClientHttpRequestFactory delegate = (uri, method) -> new MockClientHttpRequest(method, uri) {
+        @Override
+        protected ClientHttpResponse executeInternal() throws IOException {
+            calls.add(method + " " + getBodyAsString());
+            return attempts.remove().execute();
+        }
+    };
+    private final RetryProperties retry = new RetryProperties();
+    private final HedgingProperties hedging = new HedgingProperties();
+
+    RetryingRequestFactoryTest() {
+        retry.setEnabled(true);
+        hedging.setRoutes(List.of("/items/{itemId}"));
+        hedging.setMinDelay(Duration.ofMillis(50));
+        hedging.setMinSamples(0);
+    }
+
+    @Test
+    void execute_whenConnectionRefused_retriesWithSameBody() throws IOException {
+        attempts.add(() -> {
+            throw new ConnectException("Connection refused");
+        });
+        attempts.add(RetryingRequestFactoryTest::ok);
+
+        ClientHttpResponse response = execute(HttpMethod.POST, "{\"name\":\"Дрель\"}");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of("POST {\"name\":\"Дрель\"}", "POST {\"name\":\"Дрель\"}"), calls);
+        assertEquals(1, count("shareit.client.retries", "sent"));
+    }
+
+    @Test
+    void execute_whenConnectionDroppedAfterSend_retriesOnlyIdempotentMethods() throws IOException {
+        attempts.add(() -> {
+            throw new NoHttpResponseException("shareit-server failed to respond");
+        });
+        assertThrows(NoHttpResponseException.class, () -> execute(HttpMethod.POST, "{}"));
+
+        attempts.add(() -> {
+            throw new NoHttpResponseException("shareit-server failed to respond");
+        });
+        attempts.add(RetryingRequestFactoryTest::ok);
+        execute(HttpMethod.GET, "");
+
+        assertEquals(List.of("POST {}", "GET ", "GET "), calls);
+    }
+
+    @Test
+    void execute_whenBudgetExhausted_failsWithoutRetry() {
+        retry.setBudgetRatio(0);
+        retry.setMinRetriesPerSecond(0);
+        attempts.add(() -> {
+            throw new ConnectException("Connection refused");
+        });
+
+        assertThrows(ConnectException.class, () -> execute(HttpMethod.GET, ""));
+        assertEquals(1, calls.size());
+        assertEquals(1, count("shareit.client.retries", "budget_exhausted"));
+    }
+
+    @Test
+    void execute_whenPrimaryIsSlow_returnsHedgeAndClosesLateLoser() throws Exception {
+        hedging.setEnabled(true);
+        CountDownLatch primaryReleased = new CountDownLatch(1);
+        CountDownLatch loserClosed = new CountDownLatch(1);
+        attempts.add(() -> {
+            await(primaryReleased);
+            return new MockClientHttpResponse(new byte[0], HttpStatus.OK) {
+                @Override
+                public void close() {
+                    loserClosed.countDown();
+                }
+            };
+        });
+        ClientHttpResponse fast = ok();
+        attempts.add(() -> fast);
+
+        ClientHttpResponse response = execute(HttpMethod.GET, "");
+
+        assertSame(fast, response);
+        assertEquals(1, count("shareit.client.hedges", "sent"));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (count("shareit.client.hedges", "won") == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, count("shareit.client.hedges", "won"));
+        primaryReleased.countDown();
+        assertTrue(loserClosed.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void execute_whenPrimaryFailsAndHedgeSucceeds_returnsHedge() throws IOException {
+        hedging.setEnabled(true);
+        retry.setMaxAttempts(1);
+        attempts.add(() -> {
+            sleep(100);
+            throw new NoHttpResponseException("shareit-server failed to respond");
+        });
+        ClientHttpResponse fast = ok();
+        attempts.add(() -> fast);
+
+        assertSame(fast, execute(HttpMethod.GET, ""));
+    }
+
+    @Test
+    void execute_whenHedgeBudgetExhausted_waitsForPrimary() throws IOException {
+        hedging.setEnabled(true);
+        retry.setBudgetRatio(0);
+        retry.setMinRetriesPerSecond(0);
+        ClientHttpResponse slow = ok();
+        attempts.add(() -> {
+            sleep(100);
+            return slow;
+        });
+
+        assertSame(slow, execute(HttpMethod.GET, ""));
+        assertEquals(1, calls.size());
+        assertEquals(1, count("shareit.client.hedges", "budget_exhausted"));
+        assertFalse(attempts.iterator().hasNext());
+    }
+
+    private ClientHttpResponse execute(HttpMethod method, String body) throws IOException {
+        RetryingRequestFactory factory = new RetryingRequestFactory(delegate, retry, hedging, meterRegistry);
+        ClientHttpRequest request = factory.createRequest(ITEM, method);
+        StreamUtils.copy(body, StandardCharsets.UTF_8, request.getBody());
+        return request.execute();
+    }
+
+    private double count(String name, String outcome) {
+        return meterRegistry.get(name).tag("outcome", outcome).counter().count();
+    }
+
+    private static ClientHttpResponse ok() {
+        return new MockClientHttpResponse("{}".getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
+    }
+
+    private static void sleep(long millis) throws IOException {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private static void await(CountDownLatch latch) throws IOException {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Attempt {
+        ClientHttpResponse execute() throws IOException;
+    }
+}
@@ -0,0 +1,139 @@
+package ru.practicum.shareit.gateway.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static ru.practicum.shareit.gateway.util.Constant.UNKNOWN_USER_HEADER;
+import static ru.practicum.shareit.gateway.util.Constant.USER_ID_HEADER;
+
+public class UnknownUserInterceptorTest {
+    private static final String NOT_FOUND = "{\"error\":\"Пользователь с id = 7 не найден\"}";
+
+    private final List<String> executed = new ArrayList<>();
+    private final AtomicLong nanos = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UnknownUserCacheProperties properties = new UnknownUserCacheProperties();
+    private UnknownUserInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        properties.setRoutes(List.of("GET /items", "POST /bookings", "GET /bookings/{bookingId}"));
+        properties.setTtl(Duration.ofSeconds(30));
+        interceptor = create();
+    }
+
+    @Test
+    void intercept_whenServerReportsUnknownUser_answersRepeatsFromCache() throws IOException {
+        assertEquals(404, get("/items", 7, notFound("7")).getStatusCode().value());
+
+        ClientHttpResponse repeat = get("/items", 7, ok());
+        ClientHttpResponse otherRoute = interceptor.intercept(request(HttpMethod.POST, "/bookings", 7L),
+                new byte[0], execution(ok()));
+
+        assertEquals(List.of("GET /items"), executed);
+        assertEquals(404, repeat.getStatusCode().value());
+        assertEquals(NOT_FOUND, StreamUtils.copyToString(repeat.getBody(), StandardCharsets.UTF_8));
+        assertEquals(404, otherRoute.getStatusCode().value());
+        assertEquals(2, meterRegistry.get("shareit.client.unknown.users").tag("outcome", "hit").counter().count());
+    }
+
+    @Test
+    void intercept_whenNotFoundIsNotAboutTheUser_doesNotCache() throws IOException {
+        get("/bookings/5", 7, notFound(null));
+        get("/bookings/5", 7, ok());
+        get("/items", 8, notFound("7"));
+        get("/items", 8, ok());
+
+        assertEquals(List.of("GET /bookings/5", "GET /bookings/5", "GET /items", "GET /items"), executed);
+    }
+
+    @Test
+    void intercept_whenUserCreated_forgetsThatTheyWereUnknown() throws IOException {
+        get("/items", 7, notFound("7"));
+        MockClientHttpResponse created = new MockClientHttpResponse(
+                "{\"id\":7,\"name\":\"Иван\"}".getBytes(StandardCharsets.UTF_8), HttpStatus.CREATED);
+        created.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+
+        interceptor.intercept(request(HttpMethod.POST, "/users", null), new byte[0], execution(created));
+        ClientHttpResponse response = get("/items", 7, ok());
+
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(List.of("GET /items", "POST /users", "GET /items"), executed);
+    }
+
+    @Test
+    void intercept_keepsEntriesForConfiguredTtlAndSize() throws IOException {
+        get("/items", 7, notFound("7"));
+        nanos.addAndGet(Duration.ofSeconds(29).toNanos());
+        get("/items", 7, ok());
+        nanos.addAndGet(Duration.ofSeconds(2).toNanos());
+        get("/items", 7, ok());
+        assertEquals(List.of("GET /items", "GET /items"), executed);
+
+        properties.setMaxSize(1);
+        interceptor = create();
+        executed.clear();
+        get("/items", 7, notFound("7"));
+        get("/items", 8, notFound("8"));
+        get("/items", 7, ok());
+        get("/items", 8, ok());
+
+        assertEquals(3, executed.size());
+    }
+
+    private UnknownUserInterceptor create() {
+        return new UnknownUserInterceptor(properties, new ObjectMapper(), meterRegistry, nanos::get, Runnable::run);
+    }
+
+    private ClientHttpResponse get(String path, long userId, MockClientHttpResponse response) throws IOException {
+        return interceptor.intercept(request(HttpMethod.GET, path, userId), new byte[0], execution(response));
+    }
+
+    private ClientHttpRequestExecution execution(MockClientHttpResponse response) {
+        return (request, body) -> {
+            executed.add(request.getMethod() + " " + request.getURI().getRawPath());
+            return response;
+        };
+    }
+
+    private static MockClientHttpResponse notFound(String unknownUserId) {
+        MockClientHttpResponse response = new MockClientHttpResponse(NOT_FOUND.getBytes(StandardCharsets.UTF_8),
+                HttpStatus.NOT_FOUND);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        if (unknownUserId != null) {
+            response.getHeaders().set(UNKNOWN_USER_HEADER, unknownUserId);
+        }
+        return response;
+    }
+
+    private static MockClientHttpResponse ok() {
+        return new MockClientHttpResponse("[]".getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
+    }
+
+    private static MockClientHttpRequest request(HttpMethod method, String path, Long userId) {
+        MockClientHttpRequest request = new MockClientHttpRequest(method, URI.create("http://localhost:9090" + path));
+        if (userId != null) {
+            request.getHeaders().set(USER_ID_HEADER, String.valueOf(userId));
+        }
+        return request;
+    }
+}
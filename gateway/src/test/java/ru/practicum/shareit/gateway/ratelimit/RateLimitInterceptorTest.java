@@ -0,0 +1,80 @@
+package ru.practicum.shareit.gateway.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.practicum.shareit.gateway.util.Constant.USER_ID_HEADER;
+
+public class RateLimitInterceptorTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RateLimitInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getDefaultLimit().setPermitsPerSecond(0.001);
+        properties.getDefaultLimit().setBurst(2);
+        RateLimitProperties.Limit search = new RateLimitProperties.Limit();
+        search.setPattern("/items/search");
+        search.setPermitsPerSecond(0.001);
+        search.setBurst(1);
+        properties.getRoutes().put("search", search);
+        interceptor = new RateLimitInterceptor(properties, new ObjectMapper(), meterRegistry);
+    }
+
+    @Test
+    void preHandle_whenUserExceedsLimit_rejectsOnlyThatUserWith429() throws IOException {
+        assertEquals(200, handle("/items/{itemId}", "1").getStatus());
+        assertEquals(200, handle("/items/{itemId}", "1").getStatus());
+
+        MockHttpServletResponse rejected = handle("/items/{itemId}", "1");
+
+        assertEquals(429, rejected.getStatus());
+        assertTrue(Long.parseLong(rejected.getHeader("Retry-After")) >= 1);
+        assertTrue(rejected.getContentAsString().contains("error"));
+        assertEquals(200, handle("/items/{itemId}", "2").getStatus());
+        assertEquals(1, meterRegistry.get("shareit.gateway.rate.limit.rejected").tag("route", "default")
+                .counter().count());
+    }
+
+    @Test
+    void preHandle_whenRouteHasOwnLimit_countsItSeparately() throws IOException {
+        assertEquals(200, handle("/items/search", "1").getStatus());
+        assertEquals(429, handle("/items/search", "1").getStatus());
+
+        assertEquals(200, handle("/items", "1").getStatus());
+        assertEquals(200, handle(null, "1").getStatus());
+    }
+
+    @Test
+    void preHandle_withoutUserHeader_isNotLimited() throws IOException {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(200, handle("/users", null).getStatus());
+        }
+    }
+
+    private MockHttpServletResponse handle(String pattern, String userId) throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        if (pattern != null) {
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+        }
+        if (userId != null) {
+            request.addHeader(USER_ID_HEADER, userId);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        boolean proceed = interceptor.preHandle(request, response, new Object());
+        assertEquals(proceed, response.getStatus() == 200);
+        assertFalse(proceed && response.getContentAsByteArray().length > 0);
+        return response;
+    }
+}
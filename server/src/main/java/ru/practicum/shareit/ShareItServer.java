@@ -1,12 +1,26 @@
 package ru.practicum.shareit;
 
 import org.springframework.boot.SpringApplication;
-import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurationExcludeFilter;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.context.TypeExcludeFilter;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
 
-@SpringBootApplication
+/**
+ * То же, что @SpringBootApplication, но сканирование не заходит в пакет шлюза: во встроенном режиме
+ * shareit-gateway и shareit-server лежат на одном classpath.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@ComponentScan(excludeFilters = {
+		@ComponentScan.Filter(type = FilterType.CUSTOM, classes = TypeExcludeFilter.class),
+		@ComponentScan.Filter(type = FilterType.CUSTOM, classes = AutoConfigurationExcludeFilter.class),
+		@ComponentScan.Filter(type = FilterType.REGEX, pattern = "ru\\.practicum\\.shareit\\.gateway\\..*")})
 public class ShareItServer {
 
 	public static void main(String[] args) {
 		SpringApplication.run(ShareItServer.class, args);
 	}
-}
\ No newline at end of file
+}
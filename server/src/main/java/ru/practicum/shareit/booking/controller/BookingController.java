@@ -1,13 +1,20 @@
 package ru.practicum.shareit.booking.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.NewBookingDto;
 import ru.practicum.shareit.booking.model.enums.State;
 import ru.practicum.shareit.booking.service.interfaces.BookingService;
+import ru.practicum.shareit.util.SliceResponse;
 
-import java.util.Collection;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import static ru.practicum.shareit.util.Constant.USER_ID_HEADER;
 
@@ -18,9 +25,17 @@ public class BookingController {
     private final BookingService bookingService;
 
     @GetMapping
-    public Collection<BookingDto> getAllBookingsUser(@RequestHeader(USER_ID_HEADER) Long userId,
-                                                     @RequestParam(required = false, defaultValue = "ALL") State state) {
-        return bookingService.getAllBookingsUser(userId, state);
+    public ResponseEntity<List<BookingDto>> getAllBookingsUser(@RequestHeader(USER_ID_HEADER) Long userId,
+                                                               @RequestParam(required = false, defaultValue = "ALL")
+                                                               State state,
+                                                               @RequestParam(required = false)
+                                                               @DateTimeFormat(iso = ISO.DATE_TIME)
+                                                               LocalDateTime afterStart,
+                                                               @RequestParam(required = false) Long afterId,
+                                                               @RequestParam(defaultValue = "0") Integer from,
+                                                               @RequestParam(defaultValue = "20") Integer size) {
+        return SliceResponse.of(bookingService.getAllBookingsUser(userId, state, afterStart, afterId, from, size),
+                BookingController::cursor);
     }
 
     @GetMapping("/{bookingId}")
@@ -30,9 +45,17 @@ public class BookingController {
     }
 
     @GetMapping("/owner")
-    public Collection<BookingDto> getAllBookingsOwner(@RequestHeader(USER_ID_HEADER) Long userId,
-                                                      @RequestParam(required = false, defaultValue = "ALL") State state) {
-        return bookingService.getAllBookingsOwner(userId, state);
+    public ResponseEntity<List<BookingDto>> getAllBookingsOwner(@RequestHeader(USER_ID_HEADER) Long userId,
+                                                                @RequestParam(required = false, defaultValue = "ALL")
+                                                                State state,
+                                                                @RequestParam(required = false)
+                                                                @DateTimeFormat(iso = ISO.DATE_TIME)
+                                                                LocalDateTime afterStart,
+                                                                @RequestParam(required = false) Long afterId,
+                                                                @RequestParam(defaultValue = "0") Integer from,
+                                                                @RequestParam(defaultValue = "20") Integer size) {
+        return SliceResponse.of(bookingService.getAllBookingsOwner(userId, state, afterStart, afterId, from, size),
+                BookingController::cursor);
     }
 
     @PostMapping
@@ -47,4 +70,11 @@ public class BookingController {
                                           @RequestParam Boolean approved) {
         return bookingService.confirmationBooking(userId, bookingId, approved);
     }
+
+    public static Map<String, Object> cursor(BookingDto booking) {
+        Map<String, Object> cursor = new LinkedHashMap<>();
+        cursor.put("afterStart", booking.getStart());
+        cursor.put("afterId", booking.getId());
+        return cursor;
+    }
 }
\ No newline at end of file
@@ -1,42 +1,49 @@
 package ru.practicum.shareit.booking.dal;
 
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.enums.Status;
 
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.Collection;
 import java.util.Optional;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
-    List<Booking> findByBookerIdAndStatus(Long userId, Status status, Sort sort);
-
-    List<Booking> findByBookerIdAndStartBeforeAndEndAfter(Long userId, LocalDateTime time1, LocalDateTime time2, Sort sort);
-
-    List<Booking> findByBookerIdAndStatusOrBookerIdAndStatus(Long userId1, Status status1, Long userId2, Status status2, Sort sort);
-
-    List<Booking> findByBookerIdAndEndBefore(Long userId, LocalDateTime time, Sort sort);
-
-    List<Booking> findByBookerIdAndStartAfter(Long userId, LocalDateTime time, Sort sort);
-
-    List<Booking> findByBookerId(Long userId, Sort sort);
-
-    List<Booking> findByItem_OwnerIdAndStatus(Long userId, Status status, Sort sort);
-
-    List<Booking> findByItem_OwnerIdAndStartBeforeAndEndAfter(Long userId, LocalDateTime time1, LocalDateTime time2, Sort sort);
-
-    List<Booking> findByItem_OwnerIdAndStatusOrItem_OwnerIdAndStatus(Long userId1, Status status1, Long userId2, Status status2, Sort sort);
-
-    List<Booking> findByItem_OwnerIdAndEndBefore(Long userId, LocalDateTime time, Sort sort);
-
-    List<Booking> findByItem_OwnerIdAndStartAfter(Long userId, LocalDateTime time, Sort sort);
-
-    List<Booking> findByItem_OwnerId(Long userId, Sort sort);
+    /**
+     * Страница бронирований пользователя в порядке (start, id) после бронирования с ключами (afterStart, afterId).
+     * Состояние задаётся статусами и открытыми интервалами для начала и окончания. Slice вместо Page:
+     * следующая страница определяется по лишней строке, без COUNT(*). Владелец и запрос вещи связаны с ней
+     * жадно, поэтому тоже выбираются соединением, а не отдельным запросом на каждого владельца.
+     */
+    @Query("SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH i.owner LEFT JOIN FETCH i.request " +
+            "JOIN FETCH b.booker " +
+            "WHERE b.booker.id = :userId AND b.status IN :statuses " +
+            "AND b.start > :startFrom AND b.start < :startTo AND b.end > :endFrom AND b.end < :endTo " +
+            "AND (b.start > :afterStart OR b.start = :afterStart AND b.id > :afterId) " +
+            "ORDER BY b.start, b.id")
+    Slice<Booking> findBookerPage(Long userId, Collection<Status> statuses,
+                                  LocalDateTime startFrom, LocalDateTime startTo,
+                                  LocalDateTime endFrom, LocalDateTime endTo,
+                                  LocalDateTime afterStart, Long afterId, Pageable pageable);
+
+    /**
+     * То же, что findBookerPage, для бронирований вещей владельца.
+     */
+    @Query("SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH i.owner LEFT JOIN FETCH i.request " +
+            "JOIN FETCH b.booker " +
+            "WHERE i.owner.id = :userId AND b.status IN :statuses " +
+            "AND b.start > :startFrom AND b.start < :startTo AND b.end > :endFrom AND b.end < :endTo " +
+            "AND (b.start > :afterStart OR b.start = :afterStart AND b.id > :afterId) " +
+            "ORDER BY b.start, b.id")
+    Slice<Booking> findOwnerPage(Long userId, Collection<Status> statuses,
+                                 LocalDateTime startFrom, LocalDateTime startTo,
+                                 LocalDateTime endFrom, LocalDateTime endTo,
+                                 LocalDateTime afterStart, Long afterId, Pageable pageable);
 
     Optional<Booking> findByIdAndItem_OwnerId(Long bookingId, Long userId);
 
     Optional<Booking> findByBookerIdAndItemIdAndStatusAndEndBefore(Long userId, Long itemId, Status status, LocalDateTime time);
-
-    Optional<Booking> findFirstByItemIdAndStatusAndStartAfter(Long itemId, Status status, LocalDateTime time, Sort sort);
-}
\ No newline at end of file
+}
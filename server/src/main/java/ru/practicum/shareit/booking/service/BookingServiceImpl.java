@@ -2,7 +2,8 @@ package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dal.BookingRepository;
@@ -14,16 +15,17 @@ import ru.practicum.shareit.booking.model.enums.State;
 import ru.practicum.shareit.booking.model.enums.Status;
 import ru.practicum.shareit.booking.service.interfaces.BookingService;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dal.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.dal.UserRepository;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.util.Paging;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @Slf4j
@@ -38,7 +40,7 @@ public class BookingServiceImpl implements BookingService {
     @Transactional
     public BookingDto createBooking(Long userId, NewBookingDto newBookingDto) {
         log.info("Попытка создания бронирования, пользователь: {}", userId);
-        User user = userRepository.findById(userId).orElseThrow(() -> new NotFoundException("Пользователь не найден!"));
+        User user = userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException(userId, "Пользователь не найден!"));
         Item item = itemRepository.findById(newBookingDto.getItemId()).orElseThrow(() -> new NotFoundException("Вещь не найдена!"));
         if (!item.getAvailable()) {
             throw new ValidationException("Вещь с айди " + item.getId() + " недоступна!");
@@ -67,7 +69,7 @@ public class BookingServiceImpl implements BookingService {
     @Override
     public BookingDto getBookingById(Long userId, Long bookingId) {
         log.info("Попытка поиска бронирования с айди {}", bookingId);
-        User user = userRepository.findById(userId).orElseThrow(() -> new NotFoundException("Пользователь не найден!"));
+        User user = userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException(userId, "Пользователь не найден!"));
         Booking booking = bookingRepository.findById(bookingId).orElseThrow(() -> new NotFoundException("Бронирование " +
                 bookingId + " не найдено!"));
         if (booking.getBooker().equals(user) || booking.getItem().getOwner().equals(user)) {
@@ -77,43 +79,57 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
-    public Collection<BookingDto> getAllBookingsUser(Long userId, State state) {
-        log.info("Получение всех бронирований пользователя {}", userId);
-        User user = userRepository.findById(userId).orElseThrow(() -> new NotFoundException("Пользователь не найден!"));
-        LocalDateTime timeNow = LocalDateTime.now();
-        List<Booking> bookings = switch (state) {
-            case WAITING -> bookingRepository.findByBookerIdAndStatus(userId, Status.WAITING, Sort.by("start"));
-            case CURRENT ->
-                    bookingRepository.findByBookerIdAndStartBeforeAndEndAfter(userId, timeNow, timeNow, Sort.by("start"));
-            case REJECTED ->
-                    bookingRepository.findByBookerIdAndStatusOrBookerIdAndStatus(userId, Status.REJECTED, userId,
-                            Status.CANCELED, Sort.by("start"));
-            case PAST -> bookingRepository.findByBookerIdAndEndBefore(userId, timeNow, Sort.by("start"));
-            case FUTURE -> bookingRepository.findByBookerIdAndStartAfter(userId, timeNow, Sort.by("start"));
-            case ALL -> bookingRepository.findByBookerId(userId, Sort.by("start"));
-        };
-        return bookings.stream()
-                .map(BookingMapper::toBookingDto)
-                .collect(Collectors.toList());
+    public Slice<BookingDto> getAllBookingsUser(Long userId, State state, LocalDateTime afterStart, Long afterId,
+                                                     Integer from, Integer size) {
+        log.info("Получение бронирований пользователя {}, state = {}, после ({}, {}), from = {}, size = {}", userId,
+                state, afterStart, afterId, from, size);
+        Pageable page = Paging.page(from, size);
+        Paging.checkCursor(afterStart, afterId);
+        if (!userRepository.existsById(userId)) {
+            throw new UserNotFoundException(userId, "Пользователь не найден!");
+        }
+        Bounds bounds = Bounds.of(state, LocalDateTime.now());
+        return bookingRepository.findBookerPage(userId, bounds.statuses(), bounds.startFrom(), bounds.startTo(),
+                        bounds.endFrom(), bounds.endTo(), afterStart == null ? Paging.MIN_TIME : afterStart,
+                        afterId == null ? 0L : afterId, page)
+                .map(BookingMapper::toBookingDto);
     }
 
     @Override
-    public Collection<BookingDto> getAllBookingsOwner(Long userId, State state) {
-        log.info("Получение всех бронирований владельца {}", userId);
-        User user = userRepository.findById(userId).orElseThrow(() -> new NotFoundException("Пользователь не найден!"));
-        LocalDateTime timeNow = LocalDateTime.now();
-        List<Booking> bookings = switch (state) {
-            case WAITING -> bookingRepository.findByItem_OwnerIdAndStatus(userId, Status.WAITING, Sort.by("start"));
-            case CURRENT ->
-                    bookingRepository.findByItem_OwnerIdAndStartBeforeAndEndAfter(userId, timeNow, timeNow, Sort.by("start"));
-            case REJECTED ->
-                    bookingRepository.findByItem_OwnerIdAndStatusOrItem_OwnerIdAndStatus(userId, Status.REJECTED, userId, Status.CANCELED, Sort.by("start"));
-            case PAST -> bookingRepository.findByItem_OwnerIdAndEndBefore(userId, timeNow, Sort.by("start"));
-            case FUTURE -> bookingRepository.findByItem_OwnerIdAndStartAfter(userId, timeNow, Sort.by("start"));
-            case ALL -> bookingRepository.findByItem_OwnerId(userId, Sort.by("start"));
-        };
-        return bookings.stream()
-                .map(BookingMapper::toBookingDto)
-                .collect(Collectors.toList());
+    public Slice<BookingDto> getAllBookingsOwner(Long userId, State state, LocalDateTime afterStart, Long afterId,
+                                                      Integer from, Integer size) {
+        log.info("Получение бронирований владельца {}, state = {}, после ({}, {}), from = {}, size = {}", userId,
+                state, afterStart, afterId, from, size);
+        Pageable page = Paging.page(from, size);
+        Paging.checkCursor(afterStart, afterId);
+        if (!userRepository.existsById(userId)) {
+            throw new UserNotFoundException(userId, "Пользователь не найден!");
+        }
+        Bounds bounds = Bounds.of(state, LocalDateTime.now());
+        return bookingRepository.findOwnerPage(userId, bounds.statuses(), bounds.startFrom(), bounds.startTo(),
+                        bounds.endFrom(), bounds.endTo(), afterStart == null ? Paging.MIN_TIME : afterStart,
+                        afterId == null ? 0L : afterId, page)
+                .map(BookingMapper::toBookingDto);
+    }
+
+    /**
+     * Состояние бронирования как условия запроса: допустимые статусы и открытые интервалы для начала и окончания.
+     */
+    private record Bounds(Collection<Status> statuses, LocalDateTime startFrom, LocalDateTime startTo,
+                          LocalDateTime endFrom, LocalDateTime endTo) {
+        private static final List<Status> ANY_STATUS = List.of(Status.values());
+
+        private static Bounds of(State state, LocalDateTime now) {
+            LocalDateTime min = Paging.MIN_TIME;
+            LocalDateTime max = Paging.MAX_TIME;
+            return switch (state) {
+                case ALL -> new Bounds(ANY_STATUS, min, max, min, max);
+                case WAITING -> new Bounds(List.of(Status.WAITING), min, max, min, max);
+                case REJECTED -> new Bounds(List.of(Status.REJECTED, Status.CANCELED), min, max, min, max);
+                case CURRENT -> new Bounds(ANY_STATUS, min, now, now, max);
+                case PAST -> new Bounds(ANY_STATUS, min, max, min, now);
+                case FUTURE -> new Bounds(ANY_STATUS, now, max, min, max);
+            };
+        }
     }
 }
\ No newline at end of file
@@ -1,10 +1,11 @@
 package ru.practicum.shareit.booking.service.interfaces;
 
+import org.springframework.data.domain.Slice;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.NewBookingDto;
 import ru.practicum.shareit.booking.model.enums.State;
 
-import java.util.Collection;
+import java.time.LocalDateTime;
 
 public interface BookingService {
     BookingDto createBooking(Long userId, NewBookingDto newBookingDto);
@@ -13,7 +14,9 @@ public interface BookingService {
 
     BookingDto getBookingById(Long userId, Long bookingId);
 
-    Collection<BookingDto> getAllBookingsUser(Long userId, State state);
+    Slice<BookingDto> getAllBookingsUser(Long userId, State state, LocalDateTime afterStart, Long afterId,
+                                              Integer from, Integer size);
 
-    Collection<BookingDto> getAllBookingsOwner(Long userId, State state);
+    Slice<BookingDto> getAllBookingsOwner(Long userId, State state, LocalDateTime afterStart, Long afterId,
+                                               Integer from, Integer size);
 }
\ No newline at end of file
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.catalina.connector.Connector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "shareit.unix-socket-path")
+public class UnixSocketConfig {
+
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> unixSocketConnector(
+            @Value("${shareit.unix-socket-path}") String socketPath) {
+        return factory -> {
+            try {
+                Files.deleteIfExists(Path.of(socketPath));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            Connector connector = new Connector(TomcatServletWebServerFactory.DEFAULT_PROTOCOL);
+            connector.setProperty("unixDomainSocketPath", socketPath);
+            factory.addAdditionalTomcatConnectors(connector);
+            log.info("Дополнительный коннектор на unix-сокете {}", socketPath);
+        };
+    }
+}
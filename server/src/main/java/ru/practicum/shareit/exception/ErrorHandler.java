@@ -1,29 +1,53 @@
 package ru.practicum.shareit.exception;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
-import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import java.util.Map;
 
+import static ru.practicum.shareit.util.Constant.UNKNOWN_USER_HEADER;
+
 @RestControllerAdvice
 public class ErrorHandler {
+    @ExceptionHandler(UserNotFoundException.class)
+    public ResponseEntity<Map<String, String>> handleUserNotFoundException(final UserNotFoundException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .header(UNKNOWN_USER_HEADER, String.valueOf(e.getUserId()))
+                .body(Map.of("error", e.getMessage()));
+    }
+
     @ExceptionHandler(NotFoundException.class)
-    @ResponseStatus(HttpStatus.NOT_FOUND)
-    public Map<String, String> handleNotFoundException(final NotFoundException e) {
-        return Map.of("error", e.getMessage());
+    public ResponseEntity<Map<String, String>> handleNotFoundException(final NotFoundException e) {
+        return error(HttpStatus.NOT_FOUND, e);
     }
 
     @ExceptionHandler(ValidationException.class)
-    @ResponseStatus(HttpStatus.BAD_REQUEST)
-    public Map<String, String> handleValidationException(final Exception e) {
-        return Map.of("error", e.getMessage());
+    public ResponseEntity<Map<String, String>> handleValidationException(final ValidationException e) {
+        return error(HttpStatus.BAD_REQUEST, e);
     }
 
     @ExceptionHandler(EmailValidationException.class)
-    @ResponseStatus(HttpStatus.CONFLICT)
-    public Map<String, String> handleEmailValidationException(final Exception e) {
-        return Map.of("error", e.getMessage());
+    public ResponseEntity<Map<String, String>> handleEmailValidationException(final EmailValidationException e) {
+        return error(HttpStatus.CONFLICT, e);
+    }
+
+    /**
+     * Ответ на исключение сервиса, как его вернул бы обработчик выше; прочие исключения пробрасываются. Нужен
+     * встроенному режиму, где сервисы вызываются из шлюза без Spring MVC shareit-server.
+     */
+    public ResponseEntity<Map<String, String>> handle(final RuntimeException e) {
+        return switch (e) {
+            case UserNotFoundException userNotFound -> handleUserNotFoundException(userNotFound);
+            case NotFoundException notFound -> handleNotFoundException(notFound);
+            case ValidationException validation -> handleValidationException(validation);
+            case EmailValidationException emailValidation -> handleEmailValidationException(emailValidation);
+            default -> throw e;
+        };
+    }
+
+    private static ResponseEntity<Map<String, String>> error(HttpStatus status, RuntimeException e) {
+        return ResponseEntity.status(status).body(Map.of("error", e.getMessage()));
     }
-}
\ No newline at end of file
+}
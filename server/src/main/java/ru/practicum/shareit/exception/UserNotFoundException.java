@@ -0,0 +1,13 @@
+package ru.practicum.shareit.exception;
+
+import lombok.Getter;
+
+@Getter
+public class UserNotFoundException extends NotFoundException {
+    private final Long userId;
+
+    public UserNotFoundException(Long userId, String message) {
+        super(message);
+        this.userId = userId;
+    }
+}
@@ -1,13 +1,17 @@
 package ru.practicum.shareit.item.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemCommentsDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.SuggestionDto;
 import ru.practicum.shareit.item.service.interfaces.ItemService;
+import ru.practicum.shareit.util.SliceResponse;
 
-import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 
 import static ru.practicum.shareit.util.Constant.USER_ID_HEADER;
 
@@ -37,14 +41,26 @@ public class ItemController {
     }
 
     @GetMapping
-    public Collection<ItemDto> getAllItemsOfUser(@RequestHeader(USER_ID_HEADER) Long userId) {
-        return itemService.getAllItemsOfUser(userId);
+    public ResponseEntity<List<ItemCommentsDto>> getAllItemsOfUser(@RequestHeader(USER_ID_HEADER) Long userId,
+                                                                   @RequestParam(required = false) Long afterId,
+                                                                   @RequestParam(defaultValue = "0") Integer from,
+                                                                   @RequestParam(defaultValue = "20") Integer size) {
+        return SliceResponse.of(itemService.getAllItemsOfUser(userId, afterId, from, size), ItemController::cursor);
     }
 
     @GetMapping("/search")
-    public Collection<ItemDto> searchItemsByText(@RequestHeader(USER_ID_HEADER) Long userId,
-                                                 @RequestParam String text) {
-        return itemService.searchItems(userId, text);
+    public List<ItemDto> searchItemsByText(@RequestHeader(USER_ID_HEADER) Long userId,
+                                           @RequestParam String text,
+                                           @RequestParam(defaultValue = "0") Integer from,
+                                           @RequestParam(defaultValue = "20") Integer size) {
+        return itemService.searchItems(userId, text, from, size);
+    }
+
+    @GetMapping("/suggest")
+    public List<SuggestionDto> suggest(@RequestHeader(USER_ID_HEADER) Long userId,
+                                       @RequestParam String prefix,
+                                       @RequestParam(defaultValue = "10") Integer size) {
+        return itemService.suggest(userId, prefix, size);
     }
 
     @PostMapping("/{itemId}/comment")
@@ -53,4 +69,8 @@ public class ItemController {
                                     @RequestBody CommentDto commentDto) {
         return itemService.createComment(userId, itemId, commentDto);
     }
-}
\ No newline at end of file
+
+    public static Map<String, Object> cursor(ItemCommentsDto item) {
+        return Map.of("afterId", item.getId());
+    }
+}
@@ -0,0 +1,235 @@
+package ru.practicum.shareit.item.dal;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Кэш первых maxResults айди результата поиска по нормализованному тексту запроса поверх поиска через базу.
+ * Вытеснение частотное (W-TinyLFU в Caffeine) по оценке занимаемой памяти. При изменении вещи удаляются запросы,
+ * в результате которых она была, и запросы, которые находят её новый текст; ttl ограничивает устаревание
+ * из-за записей через другие экземпляры сервера.
+ */
+@Slf4j
+@Primary
+@Repository
+@EnableConfigurationProperties(ItemSearchCacheProperties.class)
+@ConditionalOnExpression("${shareit.search.cache.enabled:false} and !${shareit.search.in-memory.enabled:false}")
+public class CachingItemSearchRepository implements ItemSearchRepository {
+    private static final int ENTRY_OVERHEAD_BYTES = 96;
+
+    private final ItemSearchRepository delegate;
+    private final ItemRepository itemRepository;
+    private final int maxResults;
+    private final Cache<String, long[]> cache;
+    private final Executor invalidationExecutor;
+    /**
+     * Число записей, которые ещё не завершили транзакцию, и число завершённых. Результат поиска кладётся в кэш,
+     * только если за время запроса к базе ни одна запись не начиналась и не завершалась: иначе он мог быть
+     * прочитан до коммита и уже устарел. Меняются и проверяются под монитором this.
+     */
+    private int pendingWrites;
+    private long completedWrites;
+
+    @Autowired
+    public CachingItemSearchRepository(ItemSearchRepository delegate, ItemRepository itemRepository,
+                                       ItemSearchCacheProperties properties, MeterRegistry meterRegistry) {
+        this(delegate, itemRepository, properties, meterRegistry, Executors.newSingleThreadExecutor(
+                Thread.ofPlatform().name("item-search-cache-invalidation").daemon().factory()));
+    }
+
+    /**
+     * Инвалидации выполняются по одной в порядке завершения записей, поэтому исполнитель должен быть
+     * однопоточным; в тестах подходит Runnable::run.
+     */
+    public CachingItemSearchRepository(ItemSearchRepository delegate, ItemRepository itemRepository,
+                                       ItemSearchCacheProperties properties, MeterRegistry meterRegistry,
+                                       Executor invalidationExecutor) {
+        this.delegate = delegate;
+        this.itemRepository = itemRepository;
+        this.maxResults = properties.getMaxResults();
+        this.invalidationExecutor = invalidationExecutor;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxMemory().toBytes())
+                .weigher((String query, long[] ids) -> ENTRY_OVERHEAD_BYTES + 2 * query.length() + 8 * ids.length)
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "item-search");
+        Gauge.builder("shareit.search.cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .register(meterRegistry);
+        Gauge.builder("shareit.search.cache.memory", cache,
+                        c -> {
+                            c.cleanUp();
+                            return c.policy().eviction().orElseThrow().weightedSize().orElse(0);
+                        })
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (invalidationExecutor instanceof ExecutorService executorService) {
+            executorService.shutdown();
+        }
+    }
+
+    public static String normalize(String text) {
+        return text.trim().toLowerCase();
+    }
+
+    @Override
+    public List<ItemSummary> search(String text, Pageable pageable) {
+        String query = normalize(text);
+        long end = pageable.getOffset() + pageable.getPageSize();
+        if (end > maxResults) {
+            return delegate.search(query, pageable);
+        }
+        long[] ids = cache.getIfPresent(query);
+        if (ids != null) {
+            return load(ids, (int) pageable.getOffset(), (int) end);
+        }
+        long writes = writesSeen();
+        List<ItemSummary> found = delegate.search(query, PageRequest.of(0, maxResults));
+        synchronized (this) {
+            if (pendingWrites == 0 && completedWrites == writes) {
+                cache.put(query, found.stream().mapToLong(ItemSummary::getId).toArray());
+            }
+        }
+        int from = (int) Math.min(pageable.getOffset(), found.size());
+        return found.subList(from, (int) Math.min(end, found.size()));
+    }
+
+    /**
+     * Запросы, которые находят новый текст вещи, ищутся перебором ключей кэша, а для FullText ещё и запросом
+     * к базе, поэтому это делается не в транзакции записи, а после её завершения в потоке инвалидации.
+     * До конца инвалидации запись считается незавершённой и новые результаты поиска в кэш не кладутся.
+     */
+    @Override
+    public void onItemSaved(Item item) {
+        delegate.onItemSaved(item);
+        long id = item.getId();
+        boolean available = Boolean.TRUE.equals(item.getAvailable());
+        String name = item.getName();
+        String description = item.getDescription();
+        beginWrite();
+        afterCompletion(() -> {
+            evictContaining(id);
+            if (available) {
+                cache.invalidateAll(delegate.matchingQueries(name, description, List.copyOf(cache.asMap().keySet())));
+            }
+        });
+    }
+
+    @Override
+    public void onItemDeleted(Long itemId) {
+        delegate.onItemDeleted(itemId);
+        beginWrite();
+        afterCompletion(() -> evictContaining(itemId));
+    }
+
+    @Override
+    public void onOwnerDeleted(Long ownerId) {
+        delegate.onOwnerDeleted(ownerId);
+        beginWrite();
+        afterCompletion(cache::invalidateAll);
+    }
+
+    @Override
+    public List<String> matchingQueries(String name, String description, Collection<String> queries) {
+        return delegate.matchingQueries(name, description, queries);
+    }
+
+    private List<ItemSummary> load(long[] ids, int from, int to) {
+        long[] page = Arrays.copyOfRange(ids, Math.min(from, ids.length), Math.min(to, ids.length));
+        if (page.length == 0) {
+            return List.of();
+        }
+        Map<Long, ItemSummary> items = itemRepository.findAvailableByIdIn(Arrays.stream(page).boxed().toList())
+                .stream()
+                .collect(Collectors.toMap(ItemSummary::getId, Function.identity()));
+        return Arrays.stream(page)
+                .mapToObj(items::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private void evictContaining(long id) {
+        cache.asMap().entrySet().removeIf(entry -> Arrays.stream(entry.getValue()).anyMatch(value -> value == id));
+    }
+
+    /**
+     * Отметка записей на начало запроса к базе или -1, если какая-то запись ещё не завершена.
+     */
+    private synchronized long writesSeen() {
+        return pendingWrites == 0 ? completedWrites : -1;
+    }
+
+    private synchronized void beginWrite() {
+        pendingWrites++;
+    }
+
+    private void afterCompletion(Runnable invalidation) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            completeWriteLater(invalidation);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                completeWriteLater(invalidation);
+            }
+        });
+    }
+
+    private void completeWriteLater(Runnable invalidation) {
+        try {
+            invalidationExecutor.execute(() -> completeWrite(invalidation));
+        } catch (RejectedExecutionException e) {
+            completeWrite(invalidation);
+        }
+    }
+
+    /**
+     * Если инвалидация не удалась, кэш сбрасывается целиком: иначе в нём мог остаться устаревший результат.
+     */
+    private void completeWrite(Runnable invalidation) {
+        try {
+            invalidation.run();
+        } catch (RuntimeException e) {
+            log.warn("Не удалось выборочно сбросить кэш поиска, он сброшен целиком", e);
+            cache.invalidateAll();
+        } finally {
+            synchronized (this) {
+                pendingWrites--;
+                completedWrites++;
+            }
+        }
+    }
+}
@@ -1,10 +1,24 @@
 package ru.practicum.shareit.item.dal;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.CommentOfItemDto;
 import ru.practicum.shareit.item.model.Comment;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    List<Comment> findAllByItemId(Long itemId);
+    @Query("SELECT new ru.practicum.shareit.item.dto.CommentDto(c.id, c.text, a.name, c.created) " +
+            "FROM Comment c JOIN c.author a " +
+            "WHERE c.item.id = ?1 " +
+            "ORDER BY c.created")
+    List<CommentDto> findCommentDtosByItemId(Long itemId);
+
+    @Query("SELECT new ru.practicum.shareit.item.dto.CommentOfItemDto(c.item.id, c.id, c.text, a.name, c.created) " +
+            "FROM Comment c JOIN c.author a " +
+            "WHERE c.item.id IN ?1 " +
+            "ORDER BY c.created")
+    List<CommentOfItemDto> findCommentDtosByItemIdIn(Collection<Long> itemIds);
 }
\ No newline at end of file
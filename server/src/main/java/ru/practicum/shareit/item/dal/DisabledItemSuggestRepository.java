@@ -0,0 +1,19 @@
+package ru.practicum.shareit.item.dal;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.item.dto.SuggestionDto;
+
+import java.util.List;
+
+/**
+ * Подсказки выключены: индекс не строится и не занимает память, а на любой префикс возвращается пустой список.
+ */
+@Repository
+@ConditionalOnProperty(name = "shareit.search.suggest.enabled", havingValue = "false", matchIfMissing = true)
+public class DisabledItemSuggestRepository implements ItemSuggestRepository {
+    @Override
+    public List<SuggestionDto> suggest(String prefix, int size) {
+        return List.of();
+    }
+}
@@ -0,0 +1,71 @@
+package ru.practicum.shareit.item.dal;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.util.OffsetPageRequest;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Полнотекстовый поиск PostgreSQL по столбцу search_vector из schema-postgresql.sql. Совпадения по словам
+ * (русская и английская морфология) идут первыми в порядке ts_rank_cd; совпадения только по подстроке
+ * находятся через триграммные индексы и идут следом. Ранжируются не все совпадения, а первые RANK_WINDOW:
+ * сначала совпадения по словам, затем по подстроке, внутри каждой группы по id. Так окно не зависит от плана
+ * запроса, а ts_rank_cd, который разбирает весь вектор, считается только для него.
+ * <p>
+ * Окно фиксированное для всех страниц, иначе порядок ранее выданных страниц менялся бы при листании. Поэтому
+ * выдача ограничена первыми RANK_WINDOW совпадениями: страница, пересекающая границу окна, обрезается, а
+ * страницы за ней пусты.
+ */
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnExpression("'${spring.sql.init.platform:all}' == 'postgresql' " +
+        "and !${shareit.search.in-memory.enabled:false}")
+public class FullTextItemSearchRepository implements ItemSearchRepository {
+    public static final int RANK_WINDOW = 1000;
+
+    private final ItemRepository itemRepository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public List<ItemSummary> search(String text, Pageable pageable) {
+        long offset = pageable.getOffset();
+        if (offset >= RANK_WINDOW) {
+            return List.of();
+        }
+        int size = (int) Math.min(pageable.getPageSize(), RANK_WINDOW - offset);
+        return itemRepository.findAvailableByFullText(text, ItemSearchRepository.likePattern(text), RANK_WINDOW,
+                new OffsetPageRequest(offset, size));
+    }
+
+    /**
+     * Подстроку проверяет на месте, а совпадение по словам — одним запросом к PostgreSQL для всех оставшихся
+     * запросов: вектор строится из переданного текста так же, как search_vector, поэтому строка вещи не читается.
+     */
+    @Override
+    public List<String> matchingQueries(String name, String description, Collection<String> queries) {
+        List<String> bySubstring = ItemSearchRepository.super.matchingQueries(name, description, queries);
+        Set<String> matched = new HashSet<>(bySubstring);
+        List<String> rest = queries.stream()
+                .filter(query -> !matched.contains(query))
+                .toList();
+        if (rest.isEmpty()) {
+            return bySubstring;
+        }
+        try {
+            List<String> byWords = itemRepository.findFullTextQueriesMatching(name, description,
+                    objectMapper.writeValueAsString(rest));
+            return Stream.concat(bySubstring.stream(), byWords.stream()).toList();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
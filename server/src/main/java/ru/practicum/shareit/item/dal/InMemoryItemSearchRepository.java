@@ -0,0 +1,77 @@
+package ru.practicum.shareit.item.dal;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+/**
+ * Поиск по триграммному индексу в памяти процесса. Индекс строится из базы при старте и дальше обновляется
+ * сервисами после коммита их транзакций. Изменения, сделанные другими экземплярами сервера, сюда не попадают,
+ * поэтому включать его стоит только при одном экземпляре. Когда он включён, поиск через базу не создаётся.
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.in-memory.enabled", havingValue = "true")
+public class InMemoryItemSearchRepository implements ItemSearchRepository {
+    private static final int REBUILD_BATCH = 10_000;
+
+    private final ItemRepository itemRepository;
+    private volatile ItemSearchIndex index = new ItemSearchIndex();
+
+    @PostConstruct
+    public void rebuild() {
+        long started = System.nanoTime();
+        ItemSearchIndex rebuilt = new ItemSearchIndex();
+        long lastId = 0;
+        List<OwnedItemSummary> batch;
+        do {
+            batch = itemRepository.findAvailableAfter(lastId, PageRequest.of(0, REBUILD_BATCH));
+            for (OwnedItemSummary item : batch) {
+                rebuilt.put(item.getId(), item.getName(), item.getDescription(), item.getRequestId(),
+                        item.getOwnerId());
+                lastId = item.getId();
+            }
+        } while (batch.size() == REBUILD_BATCH);
+        rebuilt.trim();
+        index = rebuilt;
+        log.info("Индекс поиска вещей построен: {} вещей за {} мс", rebuilt.size(),
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @Override
+    public List<ItemSummary> search(String text, Pageable pageable) {
+        return index.search(text, pageable.getOffset(), pageable.getPageSize());
+    }
+
+    @Override
+    public void onItemSaved(Item item) {
+        long id = item.getId();
+        if (!Boolean.TRUE.equals(item.getAvailable())) {
+            AfterCommit.run(() -> index.remove(id));
+            return;
+        }
+        String name = item.getName();
+        String description = item.getDescription();
+        Long requestId = item.getRequest() == null ? null : item.getRequest().getId();
+        long ownerId = item.getOwner().getId();
+        AfterCommit.run(() -> index.put(id, name, description, requestId, ownerId));
+    }
+
+    @Override
+    public void onItemDeleted(Long itemId) {
+        AfterCommit.run(() -> index.remove(itemId));
+    }
+
+    @Override
+    public void onOwnerDeleted(Long ownerId) {
+        AfterCommit.run(() -> index.removeOwner(ownerId));
+    }
+}
@@ -0,0 +1,12 @@
+package ru.practicum.shareit.item.dal;
+
+/**
+ * Поля вещи для индекса подсказок: только название и владелец, без описания.
+ */
+public interface ItemNameSummary {
+    Long getId();
+
+    String getName();
+
+    Long getOwnerId();
+}
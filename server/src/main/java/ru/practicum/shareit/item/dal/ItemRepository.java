@@ -1,20 +1,97 @@
 package ru.practicum.shareit.item.dal;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.booking.model.enums.Status;
+import ru.practicum.shareit.item.dto.ItemCommentsDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.model.ItemRequest;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
-    List<Item> findByOwnerId(Long userId);
-
-    @Query("SELECT i FROM Item i " +
+    @Query("SELECT i.id AS id, i.name AS name, i.description AS description, i.available AS available, " +
+            "i.request.id AS requestId " +
+            "FROM Item i " +
             "WHERE i.available = true " +
-            "AND (LOWER(i.name) LIKE LOWER(CONCAT('%', ?1, '%')) " +
-            "OR LOWER(i.description) LIKE LOWER(CONCAT('%', ?1, '%')))")
-    List<Item> findItemByText(String text);
+            "AND (LOWER(i.name) LIKE ?1 ESCAPE '\\' OR LOWER(i.description) LIKE ?1 ESCAPE '\\') " +
+            "ORDER BY i.id")
+    List<ItemSummary> findAvailableByText(String likePattern, Pageable pageable);
+
+    @Query(value = "SELECT c.id AS id, c.name AS name, c.description AS description, c.available AS available, " +
+            "c.request_id AS \"requestId\" " +
+            "FROM (SELECT websearch_to_tsquery('russian', ?1) || websearch_to_tsquery('english', ?1) AS q) query, " +
+            "LATERAL (SELECT i.* FROM items i " +
+            "WHERE i.available " +
+            "AND (i.search_vector @@ query.q OR LOWER(i.name) LIKE ?2 OR LOWER(i.description) LIKE ?2) " +
+            "ORDER BY i.search_vector @@ query.q DESC, i.id " +
+            "LIMIT ?3) c " +
+            "ORDER BY ts_rank_cd(c.search_vector, query.q) DESC, c.id",
+            nativeQuery = true)
+    List<ItemSummary> findAvailableByFullText(String text, String likePattern, long window, Pageable pageable);
+
+    @Query(value = "SELECT q.text FROM jsonb_array_elements_text(CAST(?3 AS jsonb)) AS q(text) " +
+            "WHERE (to_tsvector('russian', ?1) || to_tsvector('english', ?1) " +
+            "|| to_tsvector('russian', ?2) || to_tsvector('english', ?2)) " +
+            "@@ (websearch_to_tsquery('russian', q.text) || websearch_to_tsquery('english', q.text))",
+            nativeQuery = true)
+    List<String> findFullTextQueriesMatching(String name, String description, String queriesJson);
+
+    @Query("SELECT i.id AS id, i.name AS name, i.description AS description, i.available AS available, " +
+            "i.request.id AS requestId " +
+            "FROM Item i " +
+            "WHERE i.available = true AND i.id IN ?1")
+    List<ItemSummary> findAvailableByIdIn(Collection<Long> ids);
+
+    @Query("SELECT i.id AS id, i.name AS name, i.description AS description, i.available AS available, " +
+            "i.request.id AS requestId, i.owner.id AS ownerId " +
+            "FROM Item i " +
+            "WHERE i.available = true AND i.id > ?1 " +
+            "ORDER BY i.id")
+    List<OwnedItemSummary> findAvailableAfter(Long afterId, Pageable pageable);
+
+    @Query("SELECT i.id AS id, i.name AS name, i.owner.id AS ownerId " +
+            "FROM Item i " +
+            "WHERE i.available = true AND i.id > ?1 " +
+            "ORDER BY i.id")
+    List<ItemNameSummary> findAvailableNamesAfter(Long afterId, Pageable pageable);
 
     List<Item> findAllByRequest(ItemRequest request);
+
+    /**
+     * Ответы на несколько запросов сразу, вместе с владельцами.
+     */
+    @Query("SELECT i FROM Item i JOIN FETCH i.owner WHERE i.request.id IN ?1")
+    List<Item> findAllByRequestIdIn(Collection<Long> requestIds);
+
+    /**
+     * Карточка вещи одним запросом. lastBooking - окончание будущего бронирования с самым поздним началом,
+     * nextBooking - начало ближайшего будущего бронирования; учитываются только бронирования со статусом ?2.
+     */
+    @Query("SELECT new ru.practicum.shareit.item.dto.ItemCommentsDto(i.id, i.name, i.description, i.available, " +
+            "(SELECT MAX(b.end) FROM Booking b WHERE b.item = i AND b.status = ?2 AND b.start = " +
+            "(SELECT MAX(b2.start) FROM Booking b2 WHERE b2.item = i AND b2.status = ?2 AND b2.start > ?3)), " +
+            "(SELECT MIN(b.start) FROM Booking b WHERE b.item = i AND b.status = ?2 AND b.start > ?3)) " +
+            "FROM Item i " +
+            "WHERE i.id = ?1")
+    Optional<ItemCommentsDto> findItemCard(Long itemId, Status status, LocalDateTime now);
+
+    /**
+     * Страница карточек вещей владельца в порядке айди после вещи с айди ?4, с теми же lastBooking и nextBooking,
+     * что и в findItemCard.
+     */
+    @Query("SELECT new ru.practicum.shareit.item.dto.ItemCommentsDto(i.id, i.name, i.description, i.available, " +
+            "(SELECT MAX(b.end) FROM Booking b WHERE b.item = i AND b.status = ?2 AND b.start = " +
+            "(SELECT MAX(b2.start) FROM Booking b2 WHERE b2.item = i AND b2.status = ?2 AND b2.start > ?3)), " +
+            "(SELECT MIN(b.start) FROM Booking b WHERE b.item = i AND b.status = ?2 AND b.start > ?3)) " +
+            "FROM Item i " +
+            "WHERE i.owner.id = ?1 AND i.id > ?4 " +
+            "ORDER BY i.id")
+    Slice<ItemCommentsDto> findItemCardsByOwnerId(Long ownerId, Status status, LocalDateTime now, Long afterId,
+                                                 Pageable pageable);
 }
\ No newline at end of file
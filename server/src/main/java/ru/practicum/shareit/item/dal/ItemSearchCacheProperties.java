@@ -0,0 +1,18 @@
+package ru.practicum.shareit.item.dal;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.search.cache")
+public class ItemSearchCacheProperties {
+    private boolean enabled = false;
+    private DataSize maxMemory = DataSize.ofMegabytes(16);
+    private int maxResults = 100;
+    private Duration ttl = Duration.ofMinutes(1);
+}
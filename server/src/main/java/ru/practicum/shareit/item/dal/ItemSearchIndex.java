@@ -0,0 +1,249 @@
+package ru.practicum.shareit.item.dal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Инвертированный индекс триграмм по названию и описанию доступных вещей. Для каждой триграммы хранится
+ * отсортированный список айди вещей, в которых она встречается. Поиск пересекает списки триграмм запроса,
+ * начиная с самого короткого, и проверяет кандидатов подстрокой, поэтому результат совпадает с LIKE '%text%'.
+ * Запросы короче трёх символов проверяются по всем вещам подряд.
+ */
+public class ItemSearchIndex {
+    private static final int GRAM = 3;
+
+    private final Map<Long, LongPostings> postings = new HashMap<>();
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final LongPostings all = new LongPostings();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Добавляет вещь или заменяет уже проиндексированную с тем же айди.
+     */
+    public void put(long id, String name, String description, Long requestId, long ownerId) {
+        Entry entry = new Entry(id, name, description, requestId, ownerId);
+        lock.writeLock().lock();
+        try {
+            Entry previous = entries.put(id, entry);
+            if (previous != null) {
+                unlink(previous);
+            }
+            for (long key : entry.keys()) {
+                postings.computeIfAbsent(key, k -> new LongPostings()).add(id);
+            }
+            all.add(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            Entry previous = entries.remove(id);
+            if (previous != null) {
+                unlink(previous);
+                all.remove(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeOwner(long ownerId) {
+        lock.writeLock().lock();
+        try {
+            List<Entry> owned = entries.values().stream()
+                    .filter(entry -> entry.ownerId == ownerId)
+                    .toList();
+            for (Entry entry : owned) {
+                entries.remove(entry.id);
+                unlink(entry);
+                all.remove(entry.id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Убирает запас в списках айди, оставшийся после массовой загрузки.
+     */
+    public void trim() {
+        lock.writeLock().lock();
+        try {
+            postings.values().forEach(LongPostings::trim);
+            all.trim();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Вещи, в названии или описании которых встречается text без учёта регистра, по возрастанию айди.
+     */
+    public List<ItemSummary> search(String text, long offset, int limit) {
+        String query = text.toLowerCase();
+        long[] keys = keys(query);
+        lock.readLock().lock();
+        try {
+            LongPostings[] lists = new LongPostings[Math.max(keys.length, 1)];
+            if (keys.length == 0) {
+                lists[0] = all;
+            }
+            for (int i = 0; i < keys.length; i++) {
+                lists[i] = postings.get(keys[i]);
+                if (lists[i] == null) {
+                    return List.of();
+                }
+            }
+            Arrays.sort(lists, (a, b) -> Integer.compare(a.size(), b.size()));
+
+            List<ItemSummary> result = new ArrayList<>(Math.min(limit, lists[0].size()));
+            int[] cursors = new int[lists.length];
+            long skipped = 0;
+            candidates:
+            for (int i = 0; i < lists[0].size(); i++) {
+                long id = lists[0].get(i);
+                for (int l = 1; l < lists.length; l++) {
+                    cursors[l] = lists[l].seek(id, cursors[l]);
+                    if (cursors[l] == lists[l].size()) {
+                        break candidates;
+                    }
+                    if (lists[l].get(cursors[l]) != id) {
+                        continue candidates;
+                    }
+                }
+                Entry entry = entries.get(id);
+                if (!entry.matches(query) || skipped++ < offset) {
+                    continue;
+                }
+                result.add(entry);
+                if (result.size() == limit) {
+                    break;
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Приблизительный объём списков айди в байтах, без учёта самих вещей и хеш-таблиц.
+     */
+    public long postingsMemoryBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = all.memoryBytes();
+            for (LongPostings list : postings.values()) {
+                bytes += list.memoryBytes();
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void unlink(Entry entry) {
+        for (long key : entry.keys()) {
+            LongPostings list = postings.get(key);
+            if (list != null && list.remove(entry.id) && list.size() == 0) {
+                postings.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Отсортированные различные триграммы строк, каждая упакована в long по 16 бит на символ.
+     */
+    static long[] keys(String... texts) {
+        int total = 0;
+        for (String text : texts) {
+            total += Math.max(text.length() - GRAM + 1, 0);
+        }
+        long[] keys = new long[total];
+        int count = 0;
+        for (String text : texts) {
+            for (int i = 0; i + GRAM <= text.length(); i++) {
+                keys[count++] = ((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16)
+                        | text.charAt(i + 2);
+            }
+        }
+        Arrays.sort(keys);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinct == 0 || keys[distinct - 1] != keys[i]) {
+                keys[distinct++] = keys[i];
+            }
+        }
+        return Arrays.copyOf(keys, distinct);
+    }
+
+    private static final class Entry implements ItemSummary {
+        private final long id;
+        private final String name;
+        private final String description;
+        private final Long requestId;
+        private final long ownerId;
+        private final String lowerName;
+        private final String lowerDescription;
+
+        private Entry(long id, String name, String description, Long requestId, long ownerId) {
+            this.id = id;
+            this.name = name;
+            this.description = description;
+            this.requestId = requestId;
+            this.ownerId = ownerId;
+            this.lowerName = name.toLowerCase();
+            this.lowerDescription = description.toLowerCase();
+        }
+
+        private long[] keys() {
+            return ItemSearchIndex.keys(lowerName, lowerDescription);
+        }
+
+        private boolean matches(String query) {
+            return lowerName.contains(query) || lowerDescription.contains(query);
+        }
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String getDescription() {
+            return description;
+        }
+
+        @Override
+        public Boolean getAvailable() {
+            return true;
+        }
+
+        @Override
+        public Long getRequestId() {
+            return requestId;
+        }
+    }
+}
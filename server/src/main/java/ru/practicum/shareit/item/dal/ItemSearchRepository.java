@@ -0,0 +1,44 @@
+package ru.practicum.shareit.item.dal;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Поиск доступных вещей по тексту в названии или описании. Реализации, которые ведут собственный индекс,
+ * получают изменения вещей через методы on*; индексам базы данных они не нужны.
+ */
+public interface ItemSearchRepository {
+    List<ItemSummary> search(String text, Pageable pageable);
+
+    default void onItemSaved(Item item) {
+    }
+
+    default void onItemDeleted(Long itemId) {
+    }
+
+    default void onOwnerDeleted(Long ownerId) {
+    }
+
+    /**
+     * Те из нормализованных запросов, которые нашли бы вещь с такими названием и описанием.
+     * По умолчанию — совпадение подстроки, как в LIKE.
+     */
+    default List<String> matchingQueries(String name, String description, Collection<String> queries) {
+        String lowerName = name.toLowerCase();
+        String lowerDescription = description.toLowerCase();
+        return queries.stream()
+                .filter(query -> lowerName.contains(query) || lowerDescription.contains(query))
+                .toList();
+    }
+
+    static String likePattern(String text) {
+        String escaped = text.toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+}
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.item.dal;
+
+import ru.practicum.shareit.item.dto.SuggestionDto;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+/**
+ * Подсказки при вводе поискового запроса. Реализации с собственным индексом получают изменения вещей
+ * через методы on*.
+ */
+public interface ItemSuggestRepository {
+    int MAX_SUGGESTIONS = 20;
+
+    /**
+     * До size самых частых слов, продолжающих последнее слово prefix, по убыванию числа вещей.
+     */
+    List<SuggestionDto> suggest(String prefix, int size);
+
+    default void onItemSaved(Item item) {
+    }
+
+    default void onItemDeleted(Long itemId) {
+    }
+
+    default void onOwnerDeleted(Long ownerId) {
+    }
+}
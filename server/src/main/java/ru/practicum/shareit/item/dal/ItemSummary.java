@@ -0,0 +1,16 @@
+package ru.practicum.shareit.item.dal;
+
+/**
+ * Поля вещи, которых достаточно для ItemDto, без загрузки владельца и запроса.
+ */
+public interface ItemSummary {
+    Long getId();
+
+    String getName();
+
+    String getDescription();
+
+    Boolean getAvailable();
+
+    Long getRequestId();
+}
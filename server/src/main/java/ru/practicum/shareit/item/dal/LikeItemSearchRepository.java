@@ -0,0 +1,25 @@
+package ru.practicum.shareit.item.dal;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Поиск подстрокой через LIKE для баз без полнотекстового индекса, в том числе H2 в тестах.
+ * Сортировка по айди.
+ */
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnExpression("'${spring.sql.init.platform:all}' != 'postgresql' " +
+        "and !${shareit.search.in-memory.enabled:false}")
+public class LikeItemSearchRepository implements ItemSearchRepository {
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<ItemSummary> search(String text, Pageable pageable) {
+        return itemRepository.findAvailableByText(ItemSearchRepository.likePattern(text), pageable);
+    }
+}
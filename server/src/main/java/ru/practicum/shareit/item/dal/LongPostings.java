@@ -0,0 +1,79 @@
+package ru.practicum.shareit.item.dal;
+
+import java.util.Arrays;
+
+/**
+ * Отсортированный по возрастанию список айди без повторов на примитивном массиве.
+ * Новые вещи получают растущие айди, поэтому добавление почти всегда сводится к записи в конец.
+ */
+final class LongPostings {
+    private long[] values = new long[4];
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    long get(int index) {
+        return values[index];
+    }
+
+    void add(long value) {
+        if (size > 0 && values[size - 1] >= value) {
+            int index = Arrays.binarySearch(values, 0, size, value);
+            if (index >= 0) {
+                return;
+            }
+            insert(-index - 1, value);
+            return;
+        }
+        insert(size, value);
+    }
+
+    boolean remove(long value) {
+        int index = Arrays.binarySearch(values, 0, size, value);
+        if (index < 0) {
+            return false;
+        }
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        size--;
+        return true;
+    }
+
+    /**
+     * Индекс первого элемента не меньше value, начиная с from. Поиск галопом: при пересечении списков
+     * курсор двигается только вперёд, и короткий список не заставляет просматривать длинный целиком.
+     */
+    int seek(long value, int from) {
+        if (from >= size || values[from] >= value) {
+            return from;
+        }
+        int low = from;
+        int step = 1;
+        while (low + step < size && values[low + step] < value) {
+            low += step;
+            step <<= 1;
+        }
+        int index = Arrays.binarySearch(values, low + 1, Math.min(low + step, size - 1) + 1, value);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    void trim() {
+        if (size < values.length) {
+            values = Arrays.copyOf(values, Math.max(size, 1));
+        }
+    }
+
+    long memoryBytes() {
+        return 16L + 8L * values.length;
+    }
+
+    private void insert(int index, long value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size + (size >> 1) + 1);
+        }
+        System.arraycopy(values, index, values, index + 1, size - index);
+        values[index] = value;
+        size++;
+    }
+}
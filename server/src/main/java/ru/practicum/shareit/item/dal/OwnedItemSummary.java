@@ -0,0 +1,8 @@
+package ru.practicum.shareit.item.dal;
+
+/**
+ * Поля вещи для поискового индекса в памяти: владелец нужен, чтобы убрать его вещи при удалении пользователя.
+ */
+public interface OwnedItemSummary extends ItemSummary {
+    Long getOwnerId();
+}
@@ -0,0 +1,188 @@
+package ru.practicum.shareit.item.dal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Префиксное дерево слов с числом вещей для каждого слова. В каждом узле хранятся topSize самых частых слов
+ * его поддерева, поэтому дополнение префикса — это спуск по префиксу и чтение готового списка. При изменении
+ * счётчика списки пересчитываются только на пути от слова к корню: слово входит лишь в поддеревья своих предков.
+ * Не потокобезопасно.
+ */
+public class TokenTrie {
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_NODES = new Node[0];
+    private static final Comparator<Node> BY_COUNT = Comparator.comparingInt((Node node) -> node.count).reversed()
+            .thenComparing(node -> node.token);
+
+    private final int topSize;
+    private final Node root = new Node();
+
+    public TokenTrie(int topSize) {
+        this.topSize = topSize;
+    }
+
+    /**
+     * Дерево из готовых счётчиков: списки лучших слов считаются один раз снизу вверх, а не на каждую вставку.
+     */
+    public static TokenTrie build(Map<String, Integer> counts, int topSize) {
+        TokenTrie trie = new TokenTrie(topSize);
+        counts.forEach((token, count) -> {
+            Node node = trie.root;
+            for (int i = 0; i < token.length(); i++) {
+                node = node.child(token.charAt(i), true);
+            }
+            node.token = token;
+            node.count = count;
+        });
+        trie.rankAll(trie.root);
+        return trie;
+    }
+
+    /**
+     * Меняет число вещей со словом token на delta и возвращает экземпляр слова, хранящийся в дереве.
+     */
+    public String add(String token, int delta) {
+        Node[] path = new Node[token.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < token.length(); i++) {
+            path[i + 1] = path[i].child(token.charAt(i), true);
+        }
+        Node node = path[token.length()];
+        if (node.token == null) {
+            node.token = token;
+        }
+        node.count += delta;
+        String stored = node.token;
+        if (node.count <= 0) {
+            node.count = 0;
+            node.token = null;
+        }
+        for (int i = token.length(); i >= 0; i--) {
+            if (i > 0 && path[i].isEmpty()) {
+                path[i - 1].remove(token.charAt(i - 1));
+            } else {
+                path[i].rank(topSize);
+            }
+        }
+        return stored;
+    }
+
+    public int count(String token) {
+        Node node = find(token);
+        return node == null ? 0 : node.count;
+    }
+
+    /**
+     * До size самых частых слов, начинающихся с prefix, но не больше topSize.
+     */
+    public List<Map.Entry<String, Integer>> complete(String prefix, int size) {
+        Node node = find(prefix);
+        if (node == null) {
+            return List.of();
+        }
+        List<Map.Entry<String, Integer>> result = new ArrayList<>(Math.min(size, node.top.length));
+        for (int i = 0; i < node.top.length && i < size; i++) {
+            result.add(Map.entry(node.top[i].token, node.top[i].count));
+        }
+        return result;
+    }
+
+    private Node find(String prefix) {
+        Node node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.child(prefix.charAt(i), false);
+        }
+        return node;
+    }
+
+    private void rankAll(Node node) {
+        for (Node child : node.children) {
+            rankAll(child);
+        }
+        node.rank(topSize);
+    }
+
+    private static final class Node {
+        private char[] keys = NO_KEYS;
+        private Node[] children = NO_NODES;
+        private String token;
+        private int count;
+        private Node[] top = NO_NODES;
+
+        private Node child(char key, boolean create) {
+            int index = Arrays.binarySearch(keys, key);
+            if (index >= 0) {
+                return children[index];
+            }
+            if (!create) {
+                return null;
+            }
+            int insertAt = -index - 1;
+            Node child = new Node();
+            keys = insert(keys, insertAt, key);
+            Node[] grown = new Node[children.length + 1];
+            System.arraycopy(children, 0, grown, 0, insertAt);
+            grown[insertAt] = child;
+            System.arraycopy(children, insertAt, grown, insertAt + 1, children.length - insertAt);
+            children = grown;
+            return child;
+        }
+
+        private void remove(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            if (index < 0) {
+                return;
+            }
+            char[] shrunkKeys = new char[keys.length - 1];
+            Node[] shrunk = new Node[children.length - 1];
+            System.arraycopy(keys, 0, shrunkKeys, 0, index);
+            System.arraycopy(keys, index + 1, shrunkKeys, index, keys.length - index - 1);
+            System.arraycopy(children, 0, shrunk, 0, index);
+            System.arraycopy(children, index + 1, shrunk, index, children.length - index - 1);
+            keys = shrunkKeys.length == 0 ? NO_KEYS : shrunkKeys;
+            children = shrunk.length == 0 ? NO_NODES : shrunk;
+        }
+
+        private boolean isEmpty() {
+            return token == null && children.length == 0;
+        }
+
+        /**
+         * Лучшие слова поддерева: само слово узла и лучшие слова детей. Слово не из списка ребёнка не может
+         * попасть в список родителя — у ребёнка уже есть topSize слов не реже его.
+         */
+        private void rank(int topSize) {
+            int candidates = token != null ? 1 : 0;
+            for (Node child : children) {
+                candidates += child.top.length;
+            }
+            if (candidates == 0) {
+                top = NO_NODES;
+                return;
+            }
+            Node[] all = new Node[candidates];
+            int n = 0;
+            if (token != null) {
+                all[n++] = this;
+            }
+            for (Node child : children) {
+                System.arraycopy(child.top, 0, all, n, child.top.length);
+                n += child.top.length;
+            }
+            Arrays.sort(all, BY_COUNT);
+            top = all.length > topSize ? Arrays.copyOf(all, topSize) : all;
+        }
+
+        private static char[] insert(char[] array, int index, char value) {
+            char[] grown = new char[array.length + 1];
+            System.arraycopy(array, 0, grown, 0, index);
+            grown[index] = value;
+            System.arraycopy(array, index, grown, index + 1, array.length - index);
+            return grown;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package ru.practicum.shareit.item.dal;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.item.dto.SuggestionDto;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Подсказки по префиксному дереву слов из названий доступных вещей с числом вещей на каждое слово. Дерево
+ * строится из базы при старте и дальше обновляется сервисами после коммита их транзакций; изменения, сделанные
+ * другими экземплярами сервера, до перезапуска сюда не попадают. Занимает порядка 250 байт кучи на вещь,
+ * поэтому включается явно.
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.suggest.enabled", havingValue = "true")
+public class TrieItemSuggestRepository implements ItemSuggestRepository {
+    private static final int REBUILD_BATCH = 10_000;
+    private static final int MIN_TOKEN_LENGTH = 2;
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern LAST_TOKEN = Pattern.compile("[\\p{L}\\p{N}]+$");
+    private static final String[] NO_TOKENS = new String[0];
+
+    private final ItemRepository itemRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private TokenTrie trie = new TokenTrie(MAX_SUGGESTIONS);
+    private Map<Long, IndexedItem> items = new HashMap<>();
+
+    @PostConstruct
+    public void rebuild() {
+        long started = System.nanoTime();
+        Map<String, String> stored = new HashMap<>();
+        Map<String, Integer> counts = new HashMap<>();
+        Map<Long, IndexedItem> rebuilt = new HashMap<>();
+        long lastId = 0;
+        List<ItemNameSummary> batch;
+        do {
+            batch = itemRepository.findAvailableNamesAfter(lastId, PageRequest.of(0, REBUILD_BATCH));
+            for (ItemNameSummary item : batch) {
+                String[] tokens = tokens(item.getName());
+                for (int i = 0; i < tokens.length; i++) {
+                    String token = stored.putIfAbsent(tokens[i], tokens[i]);
+                    tokens[i] = token == null ? tokens[i] : token;
+                    counts.merge(tokens[i], 1, Integer::sum);
+                }
+                rebuilt.put(item.getId(), new IndexedItem(item.getOwnerId(), tokens));
+                lastId = item.getId();
+            }
+        } while (batch.size() == REBUILD_BATCH);
+        TokenTrie built = TokenTrie.build(counts, MAX_SUGGESTIONS);
+        lock.writeLock().lock();
+        try {
+            trie = built;
+            items = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Подсказки поиска построены: {} слов из {} вещей за {} мс", counts.size(), rebuilt.size(),
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @Override
+    public List<SuggestionDto> suggest(String prefix, int size) {
+        Matcher last = LAST_TOKEN.matcher(prefix.toLowerCase());
+        if (!last.find()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            return trie.complete(last.group(), size).stream()
+                    .map(entry -> new SuggestionDto(entry.getKey(), entry.getValue()))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void onItemSaved(Item item) {
+        long id = item.getId();
+        if (!Boolean.TRUE.equals(item.getAvailable())) {
+            AfterCommit.run(() -> remove(id));
+            return;
+        }
+        String[] tokens = tokens(item.getName());
+        long ownerId = item.getOwner().getId();
+        AfterCommit.run(() -> put(id, ownerId, tokens));
+    }
+
+    @Override
+    public void onItemDeleted(Long itemId) {
+        AfterCommit.run(() -> remove(itemId));
+    }
+
+    @Override
+    public void onOwnerDeleted(Long ownerId) {
+        AfterCommit.run(() -> removeOwner(ownerId));
+    }
+
+    private void put(long id, long ownerId, String[] tokens) {
+        lock.writeLock().lock();
+        try {
+            unlink(items.remove(id));
+            for (int i = 0; i < tokens.length; i++) {
+                tokens[i] = trie.add(tokens[i], 1);
+            }
+            items.put(id, new IndexedItem(ownerId, tokens));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            unlink(items.remove(id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeOwner(long ownerId) {
+        lock.writeLock().lock();
+        try {
+            items.values().removeIf(item -> {
+                if (item.ownerId() != ownerId) {
+                    return false;
+                }
+                unlink(item);
+                return true;
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void unlink(IndexedItem item) {
+        if (item == null) {
+            return;
+        }
+        for (String token : item.tokens()) {
+            trie.add(token, -1);
+        }
+    }
+
+    /**
+     * Различные слова названия в нижнем регистре, кроме однобуквенных.
+     */
+    static String[] tokens(String name) {
+        if (name == null) {
+            return NO_TOKENS;
+        }
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String token : SEPARATORS.split(name.toLowerCase())) {
+            if (token.length() >= MIN_TOKEN_LENGTH) {
+                tokens.add(token);
+            }
+        }
+        return tokens.toArray(NO_TOKENS);
+    }
+
+    private record IndexedItem(long ownerId, String[] tokens) {
+    }
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Отзыв вместе с айди вещи, для пакетной загрузки отзывов к нескольким вещам.
+ */
+@Data
+@AllArgsConstructor
+public class CommentOfItemDto {
+    private Long itemId;
+    private Long id;
+    private String text;
+    private String authorName;
+    private LocalDateTime created;
+}
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.item.dto;
 
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.time.LocalDateTime;
@@ -8,6 +9,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Data
+@NoArgsConstructor
 public class ItemCommentsDto {
     private Long id;
     private String name;
@@ -17,4 +19,14 @@ public class ItemCommentsDto {
     private LocalDateTime lastBooking;
     private LocalDateTime nextBooking;
     private List<CommentDto> comments = new ArrayList<>();
+
+    public ItemCommentsDto(Long id, String name, String description, Boolean available,
+                           LocalDateTime lastBooking, LocalDateTime nextBooking) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.available = available;
+        this.lastBooking = lastBooking;
+        this.nextBooking = nextBooking;
+    }
 }
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Дополнение введённого префикса до слова из названий вещей и число доступных вещей с этим словом.
+ */
+@Data
+@AllArgsConstructor
+public class SuggestionDto {
+    private String text;
+    private Integer count;
+}
@@ -2,14 +2,12 @@ package ru.practicum.shareit.item.mapper;
 
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
-import ru.practicum.shareit.item.dto.CommentDto;
-import ru.practicum.shareit.item.dto.ItemCommentsDto;
+import ru.practicum.shareit.item.dal.ItemSummary;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoRequest;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
-import java.util.List;
 import java.util.Objects;
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
@@ -26,6 +24,16 @@ public class ItemMapper {
         return itemDto;
     }
 
+    public static ItemDto toItemDto(ItemSummary item) {
+        ItemDto itemDto = new ItemDto();
+        itemDto.setId(item.getId());
+        itemDto.setName(item.getName());
+        itemDto.setDescription(item.getDescription());
+        itemDto.setAvailable(item.getAvailable());
+        itemDto.setRequestId(item.getRequestId());
+        return itemDto;
+    }
+
     public static Item toItem(ItemDto itemDto, User owner) {
         Item item = new Item();
         item.setName(itemDto.getName());
@@ -35,16 +43,6 @@ public class ItemMapper {
         return item;
     }
 
-    public static ItemCommentsDto toItemCommentsDto(Item item, List<CommentDto> comments) {
-        ItemCommentsDto dto = new ItemCommentsDto();
-        dto.setId(item.getId());
-        dto.setName(item.getName());
-        dto.setDescription(item.getDescription());
-        dto.setAvailable(item.getAvailable());
-        dto.setComments(comments);
-        return dto;
-    }
-
     public static ItemDtoRequest toItemDtoRequest(Item item) {
         ItemDtoRequest itemDtoRequest = new ItemDtoRequest();
         itemDtoRequest.setItemId(item.getId());
@@ -2,19 +2,24 @@ package ru.practicum.shareit.item.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dal.BookingRepository;
-import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.enums.Status;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dal.CommentRepository;
 import ru.practicum.shareit.item.dal.ItemRepository;
+import ru.practicum.shareit.item.dal.ItemSearchRepository;
+import ru.practicum.shareit.item.dal.ItemSuggestRepository;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.CommentOfItemDto;
 import ru.practicum.shareit.item.dto.ItemCommentsDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.SuggestionDto;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
@@ -24,12 +29,12 @@ import ru.practicum.shareit.request.dal.ItemRequestRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.dal.UserRepository;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.util.Paging;
 
 import java.time.LocalDateTime;
-import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
@@ -42,12 +47,14 @@ public class ItemServiceImpl implements ItemService {
     private final CommentRepository commentRepository;
     private final BookingRepository bookingRepository;
     private final ItemRequestRepository itemRequestRepository;
+    private final ItemSearchRepository itemSearchRepository;
+    private final ItemSuggestRepository itemSuggestRepository;
 
     @Override
     @Transactional
     public ItemDto createItem(ItemDto itemDto, Long userId) {
         log.info("Попытка создания вещи");
-        User user = userRepository.findById(userId).orElseThrow(() -> new NotFoundException("Пользователь не найден!"));
+        User user = userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException(userId, "Пользователь не найден!"));
         Item item = ItemMapper.toItem(itemDto, user);
         if (itemDto.getRequestId() != null) {
             ItemRequest itemRequest = itemRequestRepository.findById(itemDto.getRequestId())
@@ -55,28 +62,18 @@ public class ItemServiceImpl implements ItemService {
             item.setRequest(itemRequest);
         }
 
-        return ItemMapper.toItemDto(itemRepository.save(item));
+        Item saved = itemRepository.save(item);
+        itemSearchRepository.onItemSaved(saved);
+        itemSuggestRepository.onItemSaved(saved);
+        return ItemMapper.toItemDto(saved);
     }
 
     @Override
     public ItemCommentsDto getItem(Long userId, Long itemId) {
         log.info("Попытка получения вещи по айди {}", itemId);
-        Item item = itemRepository.findById(itemId)
+        ItemCommentsDto itemCommentsDto = itemRepository.findItemCard(itemId, Status.APPROVED, LocalDateTime.now())
                 .orElseThrow(() -> new NotFoundException("Вещь с айди " + itemId + " не найдена!"));
-
-        List<CommentDto> commentsDto = commentRepository.findAllByItemId(itemId).stream()
-                .map(CommentMapper::toCommentDto).collect(Collectors.toList());
-
-        ItemCommentsDto itemCommentsDto = ItemMapper.toItemCommentsDto(item, commentsDto);
-
-        Optional<Booking> last = bookingRepository.findFirstByItemIdAndStatusAndStartAfter(itemId,
-                Status.APPROVED, LocalDateTime.now(), Sort.by("start").descending());
-        Optional<Booking> next = bookingRepository.findFirstByItemIdAndStatusAndStartAfter(itemId,
-                Status.APPROVED, LocalDateTime.now(), Sort.by("start"));
-
-        itemCommentsDto.setLastBooking(last.map(Booking::getEnd).orElse(null));
-        itemCommentsDto.setNextBooking(next.map(Booking::getStart).orElse(null));
-
+        itemCommentsDto.setComments(commentRepository.findCommentDtosByItemId(itemId));
         return itemCommentsDto;
     }
 
@@ -87,13 +84,15 @@ public class ItemServiceImpl implements ItemService {
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new NotFoundException("Вещь с айди " + itemId + " не найдена!"));
         itemRepository.delete(item);
+        itemSearchRepository.onItemDeleted(itemId);
+        itemSuggestRepository.onItemDeleted(itemId);
     }
 
     @Override
     @Transactional
     public ItemDto updateItem(ItemDto itemDto, Long userId, Long itemId) {
         log.info("Попытка обновления данных по вещи с айди {}", itemId);
-        User user = userRepository.findById(userId).orElseThrow(() -> new NotFoundException("Пользователь не найден!"));
+        User user = userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException(userId, "Пользователь не найден!"));
         Item item = itemRepository.findById(itemId).orElseThrow(() -> new NotFoundException("Вещь не найдена!"));
         if (!item.getOwner().equals(user)) {
             throw new ValidationException("Пользователь не является владельцем вещи!");
@@ -111,34 +110,62 @@ public class ItemServiceImpl implements ItemService {
             log.info("Задан новый статус доступности вещи с айди {}", itemId);
         }
         itemRepository.save(item);
+        itemSearchRepository.onItemSaved(item);
+        itemSuggestRepository.onItemSaved(item);
         return ItemMapper.toItemDto(item);
     }
 
     @Override
-    public Collection<ItemDto> getAllItemsOfUser(Long userId) {
-        log.info("Получение списка всех вещей пользователя с айди {}", userId);
-        User user = userRepository.findById(userId).orElseThrow(() -> new NotFoundException("Пользователь не найден!"));
-        return itemRepository.findByOwnerId(userId).stream()
-                .map(ItemMapper::toItemDto)
-                .collect(Collectors.toSet());
+    public Slice<ItemCommentsDto> getAllItemsOfUser(Long userId, Long afterId, Integer from, Integer size) {
+        log.info("Получение списка вещей пользователя с айди {}, afterId = {}, from = {}, size = {}", userId, afterId,
+                from, size);
+        Pageable page = Paging.page(from, size);
+        if (!userRepository.existsById(userId)) {
+            throw new UserNotFoundException(userId, "Пользователь не найден!");
+        }
+        Slice<ItemCommentsDto> items = itemRepository.findItemCardsByOwnerId(userId, Status.APPROVED,
+                LocalDateTime.now(), afterId == null ? 0L : afterId, page);
+        if (!items.hasContent()) {
+            return items;
+        }
+        Map<Long, List<CommentDto>> comments = commentRepository.findCommentDtosByItemIdIn(items.stream()
+                        .map(ItemCommentsDto::getId)
+                        .toList()).stream()
+                .collect(Collectors.groupingBy(CommentOfItemDto::getItemId,
+                        Collectors.mapping(CommentMapper::toCommentDto, Collectors.toList())));
+        items.forEach(item -> item.setComments(comments.getOrDefault(item.getId(), List.of())));
+        return items;
     }
 
     @Override
-    public Collection<ItemDto> searchItems(Long userId, String text) {
-        log.info("Поиск вещи с заданным текстом {}", text);
+    public List<ItemDto> searchItems(Long userId, String text, Integer from, Integer size) {
+        log.info("Поиск вещи с заданным текстом {}, from = {}, size = {}", text, from, size);
+        Pageable page = Paging.page(from, size);
         if (text.isBlank()) {
             return List.of();
         }
-        return itemRepository.findItemByText(text)
-                .stream()
+        return itemSearchRepository.search(text, page).stream()
                 .map(ItemMapper::toItemDto)
-                .collect(Collectors.toSet());
+                .toList();
+    }
+
+    @Override
+    public List<SuggestionDto> suggest(Long userId, String prefix, Integer size) {
+        log.info("Подсказки для префикса {}, size = {}", prefix, size);
+        if (size < 1 || size > ItemSuggestRepository.MAX_SUGGESTIONS) {
+            throw new ValidationException("Параметр size должен быть от 1 до " + ItemSuggestRepository.MAX_SUGGESTIONS
+                    + "!");
+        }
+        if (prefix.isBlank()) {
+            return List.of();
+        }
+        return itemSuggestRepository.suggest(prefix, size);
     }
 
     @Override
     @Transactional
     public CommentDto createComment(Long userId, Long itemId, CommentDto commentDto) {
-        User user = userRepository.findById(userId).orElseThrow(() -> new NotFoundException("Пользователь не найден!"));
+        User user = userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException(userId, "Пользователь не найден!"));
         Item item = itemRepository.findById(itemId).orElseThrow(() -> new NotFoundException("Вещь не найдена!"));
         if (bookingRepository.findByBookerIdAndItemIdAndStatusAndEndBefore(userId, itemId, Status.APPROVED, LocalDateTime.now()).isEmpty()) {
             throw new ValidationException("Попытка написать отзыв у вещи, которую не бронировал пользователь.");
@@ -1,10 +1,12 @@
 package ru.practicum.shareit.item.service.interfaces;
 
+import org.springframework.data.domain.Slice;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemCommentsDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.SuggestionDto;
 
-import java.util.Collection;
+import java.util.List;
 
 public interface ItemService {
     ItemDto createItem(ItemDto itemDto, Long userId);
@@ -15,9 +17,11 @@ public interface ItemService {
 
     void deleteItem(Long itemId);
 
-    Collection<ItemDto> getAllItemsOfUser(Long userId);
+    Slice<ItemCommentsDto> getAllItemsOfUser(Long userId, Long afterId, Integer from, Integer size);
 
-    Collection<ItemDto> searchItems(Long userId, String text);
+    List<ItemDto> searchItems(Long userId, String text, Integer from, Integer size);
+
+    List<SuggestionDto> suggest(Long userId, String prefix, Integer size);
 
     CommentDto createComment(Long userId, Long itemId, CommentDto commentDto);
 }
\ No newline at end of file
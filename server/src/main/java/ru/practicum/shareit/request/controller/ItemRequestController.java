@@ -1,12 +1,19 @@
 package ru.practicum.shareit.request.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.NewItemRequestDto;
 import ru.practicum.shareit.request.service.interfaces.ItemRequestService;
+import ru.practicum.shareit.util.SliceResponse;
 
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import static ru.practicum.shareit.util.Constant.USER_ID_HEADER;
 
@@ -17,13 +24,27 @@ public class ItemRequestController {
     private final ItemRequestService itemRequestService;
 
     @GetMapping
-    public List<ItemRequestDto> getAllItemRequestsByUser(@RequestHeader(USER_ID_HEADER) Long userId) {
-        return itemRequestService.getAllItemRequestsByUser(userId);
+    public ResponseEntity<List<ItemRequestDto>> getAllItemRequestsByUser(@RequestHeader(USER_ID_HEADER) Long userId,
+                                                                         @RequestParam(required = false)
+                                                                         @DateTimeFormat(iso = ISO.DATE_TIME)
+                                                                         LocalDateTime afterCreated,
+                                                                         @RequestParam(required = false) Long afterId,
+                                                                         @RequestParam(defaultValue = "0") Integer from,
+                                                                         @RequestParam(defaultValue = "20") Integer size) {
+        return SliceResponse.of(itemRequestService.getAllItemRequestsByUser(userId, afterCreated, afterId, from, size),
+                ItemRequestController::cursor);
     }
 
     @GetMapping("/all")
-    public List<ItemRequestDto> getAllItemRequests(@RequestHeader(USER_ID_HEADER) Long userId) {
-        return itemRequestService.getAllItemRequests(userId);
+    public ResponseEntity<List<ItemRequestDto>> getAllItemRequests(@RequestHeader(USER_ID_HEADER) Long userId,
+                                                                   @RequestParam(required = false)
+                                                                   @DateTimeFormat(iso = ISO.DATE_TIME)
+                                                                   LocalDateTime afterCreated,
+                                                                   @RequestParam(required = false) Long afterId,
+                                                                   @RequestParam(defaultValue = "0") Integer from,
+                                                                   @RequestParam(defaultValue = "20") Integer size) {
+        return SliceResponse.of(itemRequestService.getAllItemRequests(userId, afterCreated, afterId, from, size),
+                ItemRequestController::cursor);
     }
 
     @GetMapping("/{requestId}")
@@ -37,4 +58,11 @@ public class ItemRequestController {
                                             @RequestBody NewItemRequestDto newItemRequestDto) {
         return itemRequestService.createItemRequest(userId, newItemRequestDto);
     }
+
+    public static Map<String, Object> cursor(ItemRequestDto itemRequest) {
+        Map<String, Object> cursor = new LinkedHashMap<>();
+        cursor.put("afterCreated", itemRequest.getCreated());
+        cursor.put("afterId", itemRequest.getId());
+        return cursor;
+    }
 }
\ No newline at end of file
@@ -1,13 +1,31 @@
 package ru.practicum.shareit.request.dal;
 
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.request.model.ItemRequest;
 
-import java.util.List;
+import java.time.LocalDateTime;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
-    List<ItemRequest> findAllByRequesterId(Long requesterId, Sort sort);
+    /**
+     * Страница запросов пользователя от новых к старым, начиная после запроса с ключами (afterCreated, afterId).
+     */
+    @Query("SELECT r FROM ItemRequest r JOIN FETCH r.requester " +
+            "WHERE r.requester.id = :requesterId " +
+            "AND (r.created < :afterCreated OR r.created = :afterCreated AND r.id < :afterId) " +
+            "ORDER BY r.created DESC, r.id DESC")
+    Slice<ItemRequest> findPageByRequesterId(Long requesterId, LocalDateTime afterCreated, Long afterId,
+                                             Pageable pageable);
 
-    List<ItemRequest> findAllByRequesterIdNot(Long requesterId, Sort sort);
-}
\ No newline at end of file
+    /**
+     * То же, что findPageByRequesterId, для запросов всех остальных пользователей.
+     */
+    @Query("SELECT r FROM ItemRequest r JOIN FETCH r.requester " +
+            "WHERE r.requester.id <> :requesterId " +
+            "AND (r.created < :afterCreated OR r.created = :afterCreated AND r.id < :afterId) " +
+            "ORDER BY r.created DESC, r.id DESC")
+    Slice<ItemRequest> findPageByRequesterIdNot(Long requesterId, LocalDateTime afterCreated, Long afterId,
+                                                Pageable pageable);
+}
@@ -2,10 +2,12 @@ package ru.practicum.shareit.request.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.item.dal.ItemRepository;
 import ru.practicum.shareit.item.dto.ItemDtoRequest;
 import ru.practicum.shareit.item.mapper.ItemMapper;
@@ -18,9 +20,12 @@ import ru.practicum.shareit.request.service.interfaces.ItemRequestService;
 import ru.practicum.shareit.user.dal.UserRepository;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.util.Paging;
 
-import java.util.ArrayList;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -32,13 +37,11 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
 
-    private static final Sort SORT = Sort.by("created").descending();
-
     @Override
     @Transactional
     public ItemRequestDto createItemRequest(Long userId, NewItemRequestDto newItemRequestDto) {
         User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Пользователь с id: " + userId + " не найден."));
+                .orElseThrow(() -> new UserNotFoundException(userId, "Пользователь с id: " + userId + " не найден."));
         ItemRequest itemRequest = ItemRequestMapper.toItemRequest(user, newItemRequestDto);
         itemRequestRepository.save(itemRequest);
         log.info("Создан ItemRequest с id: {} от пользователя с id: {}", itemRequest.getId(), userId);
@@ -48,47 +51,53 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     }
 
     @Override
-    public List<ItemRequestDto> getAllItemRequestsByUser(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Пользователь с id: " + userId + " не найден."));
-        log.info("Получение всех запросов пользователя с id: {}", userId);
-        List<ItemRequest> itemRequests = itemRequestRepository.findAllByRequesterId(userId, SORT);
-        List<ItemRequestDto> listToReturn = new ArrayList<>();
-        itemRequests.forEach(
-                itemRequest -> {
-                    ItemRequestDto itemRequestDto = ItemRequestMapper.toItemRequestDto(itemRequest);
-                    List<ItemDtoRequest> items = itemRepository.findAllByRequest(itemRequest).stream()
-                            .map(ItemMapper::toItemDtoRequest)
-                            .toList();
-                    itemRequestDto.setItems(items);
-                    itemRequestDto.setRequester(UserMapper.userToDto(itemRequest.getRequester()));
-                    listToReturn.add(itemRequestDto);
-                }
-        );
-        return listToReturn;
+    public Slice<ItemRequestDto> getAllItemRequestsByUser(Long userId, LocalDateTime afterCreated, Long afterId,
+                                                         Integer from, Integer size) {
+        log.info("Получение запросов пользователя с id: {}, после ({}, {}), from = {}, size = {}", userId,
+                afterCreated, afterId, from, size);
+        Pageable page = Paging.page(from, size);
+        Paging.checkCursor(afterCreated, afterId);
+        if (!userRepository.existsById(userId)) {
+            throw new UserNotFoundException(userId, "Пользователь с id: " + userId + " не найден.");
+        }
+        Slice<ItemRequest> itemRequests = itemRequestRepository.findPageByRequesterId(userId,
+                afterCreated == null ? Paging.MAX_TIME : afterCreated, afterId == null ? Long.MAX_VALUE : afterId,
+                page);
+        if (!itemRequests.hasContent()) {
+            return itemRequests.map(ItemRequestServiceImpl::toItemRequestDto);
+        }
+        Map<Long, List<ItemDtoRequest>> items = itemRepository.findAllByRequestIdIn(itemRequests.stream()
+                        .map(ItemRequest::getId)
+                        .toList()).stream()
+                .collect(Collectors.groupingBy(item -> item.getRequest().getId(),
+                        Collectors.mapping(ItemMapper::toItemDtoRequest, Collectors.toList())));
+        return itemRequests.map(itemRequest -> {
+            ItemRequestDto itemRequestDto = toItemRequestDto(itemRequest);
+            itemRequestDto.setItems(items.getOrDefault(itemRequest.getId(), List.of()));
+            return itemRequestDto;
+        });
     }
 
     @Override
-    public List<ItemRequestDto> getAllItemRequests(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Пользователь с id: " + userId + " не найден."));
-        log.info("Получение всех запросов пользователей, кроме пользователя с id: {}", userId);
-        List<ItemRequest> itemRequests = itemRequestRepository.findAllByRequesterIdNot(userId, SORT);
-        List<ItemRequestDto> listToReturn = new ArrayList<>();
-        itemRequests.forEach(
-                itemRequest -> {
-                    ItemRequestDto itemRequestDto = ItemRequestMapper.toItemRequestDto(itemRequest);
-                    itemRequestDto.setRequester(UserMapper.userToDto(itemRequest.getRequester()));
-                    listToReturn.add(itemRequestDto);
-                }
-        );
-        return listToReturn;
+    public Slice<ItemRequestDto> getAllItemRequests(Long userId, LocalDateTime afterCreated, Long afterId,
+                                                   Integer from, Integer size) {
+        log.info("Получение запросов пользователей, кроме пользователя с id: {}, после ({}, {}), from = {}, size = {}",
+                userId, afterCreated, afterId, from, size);
+        Pageable page = Paging.page(from, size);
+        Paging.checkCursor(afterCreated, afterId);
+        if (!userRepository.existsById(userId)) {
+            throw new UserNotFoundException(userId, "Пользователь с id: " + userId + " не найден.");
+        }
+        return itemRequestRepository.findPageByRequesterIdNot(userId,
+                        afterCreated == null ? Paging.MAX_TIME : afterCreated,
+                        afterId == null ? Long.MAX_VALUE : afterId, page)
+                .map(ItemRequestServiceImpl::toItemRequestDto);
     }
 
     @Override
     public ItemRequestDto getItemRequest(Long userId, Long requestId) {
         User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Пользователь с id: " + userId + " не найден."));
+                .orElseThrow(() -> new UserNotFoundException(userId, "Пользователь с id: " + userId + " не найден."));
         ItemRequest itemRequest = itemRequestRepository.findById(requestId)
                 .orElseThrow(() -> new NotFoundException("Запрос с id: " + requestId + " не найден."));
         log.info("Получение запроса ItemRequest по id: {}", requestId);
@@ -100,4 +109,10 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         itemRequestDto.setRequester(UserMapper.userToDto(itemRequest.getRequester()));
         return itemRequestDto;
     }
+
+    private static ItemRequestDto toItemRequestDto(ItemRequest itemRequest) {
+        ItemRequestDto itemRequestDto = ItemRequestMapper.toItemRequestDto(itemRequest);
+        itemRequestDto.setRequester(UserMapper.userToDto(itemRequest.getRequester()));
+        return itemRequestDto;
+    }
 }
\ No newline at end of file
@@ -1,16 +1,19 @@
 package ru.practicum.shareit.request.service.interfaces;
 
+import org.springframework.data.domain.Slice;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.NewItemRequestDto;
 
-import java.util.List;
+import java.time.LocalDateTime;
 
 public interface ItemRequestService {
     ItemRequestDto createItemRequest(Long userId, NewItemRequestDto newItemRequestDto);
 
-    List<ItemRequestDto> getAllItemRequestsByUser(Long userId);
+    Slice<ItemRequestDto> getAllItemRequestsByUser(Long userId, LocalDateTime afterCreated, Long afterId,
+                                                  Integer from, Integer size);
 
-    List<ItemRequestDto> getAllItemRequests(Long userId);
+    Slice<ItemRequestDto> getAllItemRequests(Long userId, LocalDateTime afterCreated, Long afterId,
+                                            Integer from, Integer size);
 
     ItemRequestDto getItemRequest(Long userId, Long requestId);
 }
\ No newline at end of file
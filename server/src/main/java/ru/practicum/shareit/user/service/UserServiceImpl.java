@@ -4,7 +4,9 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.UserNotFoundException;
+import ru.practicum.shareit.item.dal.ItemSearchRepository;
+import ru.practicum.shareit.item.dal.ItemSuggestRepository;
 import ru.practicum.shareit.user.dal.UserRepository;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
@@ -18,6 +20,8 @@ import ru.practicum.shareit.user.service.interfaces.UserService;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final ItemSearchRepository itemSearchRepository;
+    private final ItemSuggestRepository itemSuggestRepository;
 
     @Override
     public UserDto createUser(UserDto userDto) {
@@ -31,7 +35,7 @@ public class UserServiceImpl implements UserService {
     public UserDto getUser(Long id) {
         log.info("Попытка получить пользователя по айди {}", id);
         return UserMapper.userToDto(userRepository.findById(id)
-                .orElseThrow(() -> new NotFoundException("Пользователь с айди " + id + " не найден!")));
+                .orElseThrow(() -> new UserNotFoundException(id, "Пользователь с айди " + id + " не найден!")));
     }
 
     @Override
@@ -39,7 +43,7 @@ public class UserServiceImpl implements UserService {
         log.info("Попытка обновить пользователя");
         User user = UserMapper.toUser(userDto);
         User userFromStorage = userRepository.findById(id)
-                .orElseThrow(() -> new NotFoundException("Пользователь с айди " + id + " не найден!"));
+                .orElseThrow(() -> new UserNotFoundException(id, "Пользователь с айди " + id + " не найден!"));
         String name = user.getName();
         String email = user.getEmail();
         if (!(name == null || name.isBlank())) {
@@ -55,7 +59,9 @@ public class UserServiceImpl implements UserService {
     public void deleteUser(Long id) {
         log.info("Удаление пользователя с айди {}", id);
         userRepository.findById(id)
-                .orElseThrow(() -> new NotFoundException("Пользователь с айди " + id + " не найден!"));
+                .orElseThrow(() -> new UserNotFoundException(id, "Пользователь с айди " + id + " не найден!"));
         userRepository.deleteById(id);
+        itemSearchRepository.onOwnerDeleted(id);
+        itemSuggestRepository.onOwnerDeleted(id);
     }
 }
\ No newline at end of file
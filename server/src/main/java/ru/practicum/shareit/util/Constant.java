@@ -6,4 +6,6 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class Constant {
     public static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    public static final String UNKNOWN_USER_HEADER = "X-Unknown-User-Id";
+    public static final String HAS_NEXT_HEADER = "X-Has-Next";
 }
\ No newline at end of file
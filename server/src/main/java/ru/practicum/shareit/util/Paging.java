@@ -0,0 +1,40 @@
+package ru.practicum.shareit.util;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.time.LocalDateTime;
+
+/**
+ * Параметры постраничной выдачи списков: смещение from/size и курсор из ключей последнего полученного элемента.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class Paging {
+    /**
+     * Границы времени, подставляемые вместо отсутствующего курсора или условия; обе допустимы и в H2, и в PostgreSQL.
+     */
+    public static final LocalDateTime MIN_TIME = LocalDateTime.of(1, 1, 1, 0, 0);
+    public static final LocalDateTime MAX_TIME = LocalDateTime.of(9999, 12, 31, 0, 0);
+    /**
+     * Наибольший размер страницы; сервер проверяет его сам, не полагаясь на шлюз.
+     */
+    public static final int MAX_SIZE = 100;
+
+    public static Pageable page(Integer from, Integer size) {
+        if (from < 0 || size < 1) {
+            throw new ValidationException("Параметр from не может быть отрицательным, а size должен быть больше нуля!");
+        }
+        if (size > MAX_SIZE) {
+            throw new ValidationException("Параметр size не может быть больше " + MAX_SIZE + "!");
+        }
+        return new OffsetPageRequest(from, size);
+    }
+
+    public static void checkCursor(Object key, Long id) {
+        if ((key == null) != (id == null)) {
+            throw new ValidationException("Курсор задаётся обоими ключами последнего элемента или не задаётся вовсе!");
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package ru.practicum.shareit.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static ru.practicum.shareit.util.Constant.HAS_NEXT_HEADER;
+
+/**
+ * Ответ со страницей списка. Тело остаётся массивом, а признак следующей страницы передаётся в заголовке
+ * X-Has-Next. Если она есть, заголовок Link с rel="next" содержит относительную ссылку на неё: тот же запрос,
+ * в котором from заменён курсором из ключей последнего элемента.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class SliceResponse {
+    private static final String FROM = "from";
+
+    public static <T> ResponseEntity<List<T>> of(Slice<T> slice, Function<T, Map<String, Object>> cursor) {
+        return of(slice, cursor, () -> {
+            HttpServletRequest request = ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes())
+                    .getRequest();
+            return nextLink(request.getRequestURI(), request.getParameterMap(),
+                    cursor.apply(slice.getContent().getLast()));
+        });
+    }
+
+    /**
+     * То же без текущего HTTP-запроса, например при вызове сервиса из шлюза в том же процессе: путь и параметры
+     * запроса, от которых строится ссылка на следующую страницу, передаются явно.
+     */
+    public static <T> ResponseEntity<List<T>> of(Slice<T> slice, Function<T, Map<String, Object>> cursor,
+                                                 String path, Map<String, String[]> parameters) {
+        return of(slice, cursor, () -> nextLink(path, parameters, cursor.apply(slice.getContent().getLast())));
+    }
+
+    private static <T> ResponseEntity<List<T>> of(Slice<T> slice, Function<T, Map<String, Object>> cursor,
+                                                  Supplier<String> nextLink) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header(HAS_NEXT_HEADER, String.valueOf(slice.hasNext()));
+        if (slice.hasNext() && slice.hasContent()) {
+            response.header(HttpHeaders.LINK, "<" + nextLink.get() + ">; rel=\"next\"");
+        }
+        return response.body(slice.getContent());
+    }
+
+    private static String nextLink(String path, Map<String, String[]> parameters, Map<String, Object> cursor) {
+        UriComponentsBuilder link = UriComponentsBuilder.fromPath(path);
+        parameters.forEach((name, values) -> {
+            if (!FROM.equals(name) && !cursor.containsKey(name)) {
+                link.queryParam(name, (Object[]) values);
+            }
+        });
+        cursor.forEach(link::queryParam);
+        return link.encode().build().toUriString();
+    }
+}
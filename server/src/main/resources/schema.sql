@@ -42,3 +42,10 @@ CREATE TABLE IF NOT EXISTS bookings (
     status VARCHAR(10) NOT NULL
 );
 
+CREATE INDEX IF NOT EXISTS bookings_item_status_start_idx ON bookings (item_id, status, start_date);
+CREATE INDEX IF NOT EXISTS comments_item_idx ON comments (item_id);
+CREATE INDEX IF NOT EXISTS items_owner_idx ON items (user_id, id);
+CREATE INDEX IF NOT EXISTS items_request_idx ON items (request_id);
+CREATE INDEX IF NOT EXISTS bookings_booker_start_idx ON bookings (booker_id, start_date, id);
+CREATE INDEX IF NOT EXISTS requests_requester_created_idx ON requests (requester_id, created, id);
+CREATE INDEX IF NOT EXISTS requests_created_idx ON requests (created, id);
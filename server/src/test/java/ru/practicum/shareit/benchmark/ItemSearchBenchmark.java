@@ -0,0 +1,152 @@
+package ru.practicum.shareit.benchmark;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.item.dal.FullTextItemSearchRepository;
+import ru.practicum.shareit.item.dal.ItemRepository;
+import ru.practicum.shareit.item.dal.ItemSearchRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Сравнение поиска вещей через LIKE без индексов и через полнотекстовый и триграммный индексы PostgreSQL.
+ * Создаёт отдельную схему item_search_bench, заполняет её вещами и удаляет по окончании.
+ * Полнотекстовый запрос берётся из {@link ItemRepository}, поэтому замер всегда соответствует коду.
+ * <p>
+ * Запуск: {@code mvn -pl server -am test -Pbenchmark -Dtest=ItemSearchBenchmark
+ * -Dbenchmark.url=jdbc:postgresql://localhost:5432/shareit -Dbenchmark.items=1000000}.
+ */
+@Slf4j
+@Tag("benchmark")
+public class ItemSearchBenchmark {
+    private static final String URL = System.getProperty("benchmark.url", "jdbc:postgresql://localhost:5432/shareit");
+    private static final String USER = System.getProperty("benchmark.user", "shareit");
+    private static final String PASSWORD = System.getProperty("benchmark.password", "shareit");
+    private static final int ITEMS = Integer.getInteger("benchmark.items", 1_000_000);
+    private static final String SCHEMA = "item_search_bench";
+    private static final int RUNS = 20;
+    private static final int PAGE = 20;
+    private static final List<String> QUERIES = List.of("дрель", "дрели", "перфоратор", "ноутбук 4711",
+            "drill", "ель", "4711");
+    private static final Pattern POSITIONAL = Pattern.compile("\\?(\\d)");
+    private static final String LIKE_SQL = "SELECT i.id, i.name, i.description, i.available, i.request_id " +
+            "FROM items i " +
+            "WHERE i.available AND (LOWER(i.name) LIKE ?1 OR LOWER(i.description) LIKE ?1) " +
+            "ORDER BY i.id";
+
+    @Test
+    void compareLikeWithFullText() throws Exception {
+
+        try (Connection connection = DriverManager.getConnection(URL, USER, PASSWORD)) {
+            execute(connection, "DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+            execute(connection, "CREATE SCHEMA " + SCHEMA);
+            try {
+                execute(connection, "SET search_path TO " + SCHEMA);
+                runScript(connection, "schema.sql");
+                fill(connection, ITEMS);
+
+                log.info("{} вещей, по {} прогонов, страница {}", ITEMS, RUNS, PAGE);
+                log.info(String.format("%-14s %12s %8s %12s %8s", "text", "like ms", "rows", "fts ms", "rows"));
+                long[][] like = new long[QUERIES.size()][];
+                for (int i = 0; i < QUERIES.size(); i++) {
+                    like[i] = measure(connection, LIKE_SQL, ItemSearchRepository.likePattern(QUERIES.get(i)));
+                }
+
+                execute(connection, "SET search_path TO " + SCHEMA + ", public");
+                runScript(connection, "schema-postgresql.sql");
+                execute(connection, "ANALYZE items");
+                String fullTextSql = fullTextSql();
+                for (int i = 0; i < QUERIES.size(); i++) {
+                    String text = QUERIES.get(i);
+                    long[] fts = measure(connection, fullTextSql, text, ItemSearchRepository.likePattern(text),
+                            String.valueOf(FullTextItemSearchRepository.RANK_WINDOW));
+                    log.info(String.format("%-14s %12.2f %8d %12.2f %8d", text,
+                            like[i][0] / 1_000_000.0, like[i][1], fts[0] / 1_000_000.0, fts[1]));
+                }
+            } finally {
+                execute(connection, "DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+            }
+        }
+    }
+
+    private static void fill(Connection connection, int items) throws SQLException {
+        execute(connection, "INSERT INTO users (name, email) VALUES ('bench', 'bench@mail.ru')");
+        execute(connection, "INSERT INTO items (name, description, available, user_id) " +
+                "SELECT (ARRAY['Дрель', 'Шуруповерт', 'Перфоратор', 'Лобзик', 'Ноутбук', 'Палатка', 'Велосипед', " +
+                "'Cordless drill', 'Camping tent', 'Ladder'])[1 + n % 10] || ' ' || n, " +
+                "(ARRAY['Аккумуляторный, две батареи', 'Для сверления бетона', 'С набором бит', " +
+                "'Почти новый, в кейсе', 'Подходит для дрели', 'Good condition', 'Drilling and driving', " +
+                "'Лёгкий и складной'])[1 + n % 8] || ', артикул ' || (n % 10000), " +
+                "n % 7 <> 0, (SELECT MIN(id) FROM users) " +
+                "FROM generate_series(1, " + items + ") n");
+        execute(connection, "ANALYZE items");
+    }
+
+    /**
+     * Выполняет запрос с позиционными параметрами вида ?1, ?2 так же, как их разворачивает Hibernate:
+     * каждое вхождение становится отдельным параметром JDBC.
+     */
+    private static long[] measure(Connection connection, String query, String... values) throws SQLException {
+        Matcher matcher = POSITIONAL.matcher(query);
+        List<String> bound = new ArrayList<>();
+        while (matcher.find()) {
+            bound.add(values[Integer.parseInt(matcher.group(1)) - 1]);
+        }
+        String sql = matcher.replaceAll("?") + " LIMIT " + PAGE;
+        long best = Long.MAX_VALUE;
+        long rows = 0;
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < bound.size(); i++) {
+                statement.setObject(i + 1, bound.get(i), Types.OTHER);
+            }
+            for (int run = 0; run < RUNS; run++) {
+                long started = System.nanoTime();
+                rows = 0;
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        rows++;
+                    }
+                }
+                best = Math.min(best, System.nanoTime() - started);
+            }
+        }
+        return new long[]{best, rows};
+    }
+
+    private static String fullTextSql() throws NoSuchMethodException {
+        return ItemRepository.class
+                .getMethod("findAvailableByFullText", String.class, String.class, long.class, Pageable.class)
+                .getAnnotation(Query.class)
+                .value();
+    }
+
+    private static void runScript(Connection connection, String name) throws Exception {
+        String script = new ClassPathResource(name).getContentAsString(StandardCharsets.UTF_8);
+        for (String sql : Arrays.stream(script.split(";\\s*\\n")).map(String::trim).filter(s -> !s.isEmpty())
+                .toList()) {
+            execute(connection, sql);
+        }
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
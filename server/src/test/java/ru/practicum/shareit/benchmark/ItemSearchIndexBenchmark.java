@@ -0,0 +1,79 @@
+package ru.practicum.shareit.benchmark;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.dal.ItemSearchIndex;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Память и задержка поиска по триграммному индексу в памяти на тех же данных, что и ItemSearchBenchmark.
+ * <p>
+ * Запуск: {@code mvn -pl server -am test -Pbenchmark -Dtest=ItemSearchIndexBenchmark -Dbenchmark.items=1000000}.
+ */
+@Slf4j
+@Tag("benchmark")
+public class ItemSearchIndexBenchmark {
+    private static final int ITEMS = Integer.getInteger("benchmark.items", 1_000_000);
+    private static final int RUNS = 2_000;
+    private static final int PAGE = 20;
+    private static final List<String> QUERIES = List.of("дрель", "дрели", "перфоратор", "ноутбук 4711",
+            "drill", "ель", "4711", "ь");
+    private static final String[] NAMES = {"Дрель", "Шуруповерт", "Перфоратор", "Лобзик", "Ноутбук", "Палатка",
+            "Велосипед", "Cordless drill", "Camping tent", "Ladder"};
+    private static final String[] DESCRIPTIONS = {"Аккумуляторный, две батареи", "Для сверления бетона",
+            "С набором бит", "Почти новый, в кейсе", "Подходит для дрели", "Good condition", "Drilling and driving",
+            "Лёгкий и складной"};
+
+    @Test
+    void measureMemoryAndLatency() {
+
+        long before = usedHeap();
+        long started = System.nanoTime();
+        ItemSearchIndex index = new ItemSearchIndex();
+        int available = 0;
+        for (int n = 1; n <= ITEMS; n++) {
+            if (n % 7 == 0) {
+                continue;
+            }
+            index.put(n, NAMES[n % NAMES.length] + " " + n,
+                    DESCRIPTIONS[n % DESCRIPTIONS.length] + ", артикул " + (n % 10_000), null, 1L);
+            available++;
+        }
+        index.trim();
+        long buildMs = (System.nanoTime() - started) / 1_000_000;
+        long used = usedHeap() - before;
+
+        log.info("{} вещей, в индексе {}, построение {} мс", ITEMS, available, buildMs);
+        log.info(String.format("куча: %.1f МБ, %d байт на вещь, из них списки айди %d байт", used / 1048576.0,
+                used / available, index.postingsMemoryBytes() / available));
+        for (int run = 0; run < RUNS; run++) {
+            for (String query : QUERIES) {
+                index.search(query, 0, PAGE);
+            }
+        }
+        log.info(String.format("%-14s %10s %10s %10s %6s", "text", "p50 us", "p99 us", "max us", "rows"));
+        for (String query : QUERIES) {
+            long[] times = new long[RUNS];
+            int rows = 0;
+            for (int run = 0; run < RUNS; run++) {
+                long queryStarted = System.nanoTime();
+                rows = index.search(query, 0, PAGE).size();
+                times[run] = System.nanoTime() - queryStarted;
+            }
+            Arrays.sort(times);
+            log.info(String.format("%-14s %10.1f %10.1f %10.1f %6d", query, times[RUNS / 2] / 1000.0,
+                    times[RUNS * 99 / 100] / 1000.0, times[RUNS - 1] / 1000.0, rows));
+        }
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
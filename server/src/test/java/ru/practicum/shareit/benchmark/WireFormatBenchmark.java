@@ -0,0 +1,169 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.enums.Status;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemCommentsDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemDtoRequest;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Сравнение размера и стоимости сериализации JSON и Smile для самых крупных ответов сервера.
+ * <p>
+ * Запуск: {@code mvn -pl server -am test -Pbenchmark -Dtest=WireFormatBenchmark}.
+ */
+@Slf4j
+@Tag("benchmark")
+public class WireFormatBenchmark {
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 50_000;
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 8, 1, 12, 0);
+
+    @Test
+    void compareJsonWithSmile() throws Exception {
+        ObjectMapper json = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        ObjectMapper smile = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .factory(new SmileFactory())
+                .build();
+
+        List<BookingDto> bookings = new ArrayList<>();
+        for (long i = 1; i <= 100; i++) {
+            bookings.add(booking(i));
+        }
+        List<ItemRequestDto> requests = new ArrayList<>();
+        for (long i = 1; i <= 50; i++) {
+            requests.add(request(i, 10));
+        }
+        ItemCommentsDto item = itemWithComments(100);
+
+        log.info(String.format("%-28s %10s %10s %8s %12s %12s %12s %12s", "payload", "json B", "smile B", "ratio",
+                "json ser us", "smile ser us", "json de us", "smile de us"));
+        run("List<BookingDto> x100", bookings,
+                json.getTypeFactory().constructCollectionType(List.class, BookingDto.class), json, smile);
+        run("List<ItemRequestDto> x50", requests,
+                json.getTypeFactory().constructCollectionType(List.class, ItemRequestDto.class), json, smile);
+        run("ItemCommentsDto 100 comm.", item, json.constructType(ItemCommentsDto.class), json, smile);
+    }
+
+    private static void run(String name, Object value, JavaType type, ObjectMapper json, ObjectMapper smile)
+            throws Exception {
+        byte[] jsonBytes = json.writeValueAsBytes(value);
+        byte[] smileBytes = smile.writeValueAsBytes(value);
+        double jsonWrite = measureWrite(json, value);
+        double smileWrite = measureWrite(smile, value);
+        double jsonRead = measureRead(json, jsonBytes, type);
+        double smileRead = measureRead(smile, smileBytes, type);
+        log.info(String.format("%-28s %10d %10d %8.2f %12.1f %12.1f %12.1f %12.1f", name, jsonBytes.length,
+                smileBytes.length, (double) smileBytes.length / jsonBytes.length,
+                jsonWrite, smileWrite, jsonRead, smileRead));
+    }
+
+    private static double measureWrite(ObjectMapper mapper, Object value) throws Exception {
+        long sink = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            sink += mapper.writeValueAsBytes(value).length;
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += mapper.writeValueAsBytes(value).length;
+        }
+        return elapsedMicros(start, sink);
+    }
+
+    private static double measureRead(ObjectMapper mapper, byte[] bytes, JavaType type) throws Exception {
+        long sink = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            sink += mapper.readValue(bytes, type).hashCode();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += mapper.readValue(bytes, type).hashCode();
+        }
+        return elapsedMicros(start, sink);
+    }
+
+    private static double elapsedMicros(long start, long sink) {
+        double micros = (System.nanoTime() - start) / 1_000d / ITERATIONS;
+        return sink == Long.MIN_VALUE ? -1 : micros;
+    }
+
+    private static UserDto user(long id) {
+        UserDto user = new UserDto();
+        user.setId(id);
+        user.setName("Пользователь " + id);
+        user.setEmail("user" + id + "@shareit.ru");
+        return user;
+    }
+
+    private static BookingDto booking(long id) {
+        ItemDto item = new ItemDto();
+        item.setId(id);
+        item.setName("Дрель " + id);
+        item.setDescription("Аккумуляторная дрель с набором бит");
+        item.setAvailable(true);
+        item.setOwner(user(id + 1000));
+        BookingDto booking = new BookingDto();
+        booking.setId(id);
+        booking.setStart(NOW.plusDays(id));
+        booking.setEnd(NOW.plusDays(id + 1));
+        booking.setItem(item);
+        booking.setBooker(user(id));
+        booking.setStatus(Status.APPROVED);
+        return booking;
+    }
+
+    private static ItemRequestDto request(long id, int items) {
+        ItemRequestDto request = new ItemRequestDto();
+        request.setId(id);
+        request.setDescription("Нужна стремянка на выходные, высота от двух метров");
+        request.setRequester(user(id));
+        request.setCreated(NOW.minusDays(id));
+        List<ItemDtoRequest> answers = new ArrayList<>();
+        for (long i = 1; i <= items; i++) {
+            ItemDtoRequest answer = new ItemDtoRequest();
+            answer.setItemId(id * 100 + i);
+            answer.setName("Стремянка " + i);
+            answer.setUserId(i);
+            answers.add(answer);
+        }
+        request.setItems(answers);
+        return request;
+    }
+
+    private static ItemCommentsDto itemWithComments(int comments) {
+        ItemCommentsDto item = new ItemCommentsDto();
+        item.setId(1L);
+        item.setName("Палатка");
+        item.setDescription("Четырехместная палатка с тамбуром");
+        item.setAvailable(true);
+        item.setOwner(user(1));
+        item.setLastBooking(NOW.minusDays(3));
+        item.setNextBooking(NOW.plusDays(3));
+        for (long i = 1; i <= comments; i++) {
+            CommentDto comment = new CommentDto();
+            comment.setId(i);
+            comment.setText("Отличная палатка, не протекает даже в сильный дождь");
+            comment.setAuthorName("Пользователь " + i);
+            comment.setCreated(NOW.minusDays(i));
+            item.getComments().add(comment);
+        }
+        return item;
+    }
+}
@@ -7,20 +7,26 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import ru.practicum.shareit.booking.controller.BookingController;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.NewBookingDto;
+import ru.practicum.shareit.booking.model.enums.State;
 import ru.practicum.shareit.booking.model.enums.Status;
 import ru.practicum.shareit.booking.service.interfaces.BookingService;
 
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -89,7 +95,8 @@ public class BookingControllerTest {
 
     @Test
     void getAllBookingsUser_whenInvoked_thenHasCorrectResponse() throws Exception {
-        when(bookingService.getAllBookingsUser(eq(1L), any())).thenReturn(List.of(bookingDto));
+        when(bookingService.getAllBookingsUser(eq(1L), any(), isNull(), isNull(), eq(0), eq(20)))
+                .thenReturn(new SliceImpl<>(List.of(bookingDto)));
         mvc.perform(get("/bookings")
                         .content(mapper.writeValueAsString(bookingDto))
                         .header("X-Sharer-User-Id", 1L)
@@ -97,20 +104,30 @@ public class BookingControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(header().string("X-Has-Next", "false"))
+                .andExpect(header().doesNotExist(HttpHeaders.LINK))
                 .andExpect(content().json(mapper.writeValueAsString(List.of(bookingDto))));
     }
 
     @Test
     void getAllBookingsOwner_whenInvoked_thenHasCorrectResponse() throws Exception {
-        when(bookingService.getAllBookingsOwner(eq(1L), any())).thenReturn(List.of(bookingDto));
+        bookingDto.setId(7L);
+        bookingDto.setStart(LocalDateTime.of(2026, 10, 19, 12, 0));
+        when(bookingService.getAllBookingsOwner(1L, State.ALL, LocalDateTime.of(2026, 10, 18, 10, 0, 0, 123_000),
+                5L, 0, 10)).thenReturn(new SliceImpl<>(List.of(bookingDto), PageRequest.of(0, 10), true));
         mvc.perform(get("/bookings/owner")
-                        .content(mapper.writeValueAsString(bookingDto))
+                        .param("afterStart", "2026-10-18T10:00:00.000123")
+                        .param("afterId", "5")
+                        .param("size", "10")
                         .header("X-Sharer-User-Id", 1L)
                         .characterEncoding(StandardCharsets.UTF_8)
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(content().json(mapper.writeValueAsString(List.of(bookingDto))));
+                .andExpect(header().string("X-Has-Next", "true"))
+                .andExpect(header().string(HttpHeaders.LINK,
+                        "</bookings/owner?size=10&afterStart=2026-10-19T12:00&afterId=7>; rel=\"next\""))
+                .andExpect(jsonPath("$[0].id").value(7));
     }
 
     @Test
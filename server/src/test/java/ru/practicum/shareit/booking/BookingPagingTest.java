@@ -0,0 +1,184 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Slice;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.enums.State;
+import ru.practicum.shareit.booking.model.enums.Status;
+import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(BookingServiceImpl.class)
+public class BookingPagingTest {
+    @Autowired
+    private TestEntityManager em;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private BookingServiceImpl bookingService;
+
+    private Statistics statistics;
+    private User owner;
+    private User booker;
+    private Booking waiting;
+    private Booking past;
+    private Booking approved;
+    private Booking current;
+    private Booking rejected;
+    private Booking canceled;
+    private Booking later;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        owner = user("owner", "owner@mail.ru");
+        booker = user("booker", "booker@mail.ru");
+        User other = user("other", "other@mail.ru");
+        Item drill = item("Дрель");
+        Item saw = item("Пила");
+
+        waiting = booking(drill, booker, now.plusDays(3), Status.WAITING);
+        past = booking(saw, booker, now.minusDays(5), Status.APPROVED);
+        approved = booking(drill, booker, now.plusDays(3), Status.APPROVED);
+        current = booking(saw, booker, now.minusHours(1), Status.APPROVED);
+        rejected = booking(drill, other, now.plusDays(1), Status.REJECTED);
+        canceled = booking(saw, booker, now.plusDays(3), Status.CANCELED);
+        later = booking(drill, booker, now.plusDays(10), Status.APPROVED);
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void getAllBookingsUser_returnsBookingsOfEachStateInStartAndIdOrder() {
+        Map<State, List<Booking>> expected = Map.of(
+                State.ALL, List.of(past, current, waiting, approved, canceled, later),
+                State.WAITING, List.of(waiting),
+                State.REJECTED, List.of(canceled),
+                State.CURRENT, List.of(current),
+                State.PAST, List.of(past),
+                State.FUTURE, List.of(waiting, approved, canceled, later));
+
+        expected.forEach((state, bookings) -> {
+            assertEquals(ids(bookings), ids(bookingService.getAllBookingsUser(booker.getId(), state, null, null,
+                    0, 100)), state.name());
+            assertEquals(ids(bookings), walk(state, false), state.name());
+        });
+    }
+
+    @Test
+    void getAllBookingsOwner_returnsBookingsOfEachStateInStartAndIdOrder() {
+        Map<State, List<Booking>> expected = Map.of(
+                State.ALL, List.of(past, current, rejected, waiting, approved, canceled, later),
+                State.WAITING, List.of(waiting),
+                State.REJECTED, List.of(rejected, canceled),
+                State.CURRENT, List.of(current),
+                State.PAST, List.of(past),
+                State.FUTURE, List.of(rejected, waiting, approved, canceled, later));
+
+        expected.forEach((state, bookings) -> {
+            assertEquals(ids(bookings), ids(bookingService.getAllBookingsOwner(owner.getId(), state, null, null,
+                    0, 100)), state.name());
+            assertEquals(ids(bookings), walk(state, true), state.name());
+        });
+        assertEquals(List.of(), ids(bookingService.getAllBookingsOwner(booker.getId(), State.ALL, null, null,
+                0, 100)));
+    }
+
+    @Test
+    void getAllBookingsUser_walkingByCursor_takesTwoStatementsPerPage() {
+        BookingDto last = null;
+        Slice<BookingDto> page;
+        do {
+            statistics.clear();
+            page = bookingService.getAllBookingsUser(booker.getId(), State.ALL,
+                    last == null ? null : last.getStart(), last == null ? null : last.getId(), 0, 2);
+            assertEquals(2, statistics.getPrepareStatementCount());
+            last = page.hasContent() ? page.getContent().getLast() : null;
+        } while (page.hasNext());
+    }
+
+    @Test
+    void getAllBookingsUser_whenFromIsNotMultipleOfSize_skipsExactlyFromRows() {
+        Slice<BookingDto> page = bookingService.getAllBookingsUser(booker.getId(), State.ALL, null, null, 1, 2);
+
+        assertEquals(ids(List.of(current, waiting)), ids(page));
+        assertTrue(page.hasNext());
+
+        Slice<BookingDto> tail = bookingService.getAllBookingsUser(booker.getId(), State.ALL, null, null, 5, 4);
+
+        assertEquals(ids(List.of(later)), ids(tail));
+        assertFalse(tail.hasNext());
+    }
+
+    private List<Long> walk(State state, boolean asOwner) {
+        List<Long> walked = new ArrayList<>();
+        BookingDto last = null;
+        Slice<BookingDto> page;
+        do {
+            LocalDateTime afterStart = last == null ? null : last.getStart();
+            Long afterId = last == null ? null : last.getId();
+            page = asOwner
+                    ? bookingService.getAllBookingsOwner(owner.getId(), state, afterStart, afterId, 0, 1)
+                    : bookingService.getAllBookingsUser(booker.getId(), state, afterStart, afterId, 0, 1);
+            walked.addAll(ids(page));
+            last = page.hasContent() ? page.getContent().getLast() : null;
+        } while (page.hasNext());
+        return walked;
+    }
+
+    private static List<Long> ids(Slice<BookingDto> bookings) {
+        return bookings.map(BookingDto::getId).getContent();
+    }
+
+    private static List<Long> ids(List<Booking> bookings) {
+        return bookings.stream().map(Booking::getId).toList();
+    }
+
+    private Item item(String name) {
+        Item item = new Item();
+        item.setName(name);
+        item.setDescription("Описание");
+        item.setAvailable(true);
+        item.setOwner(owner);
+        return em.persist(item);
+    }
+
+    private User user(String name, String email) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(email);
+        return em.persist(user);
+    }
+
+    private Booking booking(Item item, User booker, LocalDateTime start, Status status) {
+        Booking booking = new Booking();
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStart(start);
+        booking.setEnd(start.plusHours(2));
+        booking.setStatus(status);
+        return em.persist(booking);
+    }
+}
@@ -5,7 +5,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import ru.practicum.shareit.booking.dal.BookingRepository;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.NewBookingDto;
@@ -20,15 +21,17 @@ import ru.practicum.shareit.item.dal.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.dal.UserRepository;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.util.OffsetPageRequest;
+import ru.practicum.shareit.util.Paging;
 
 import java.time.LocalDateTime;
-import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -350,386 +353,193 @@ public class BookingServiceImplTest {
 
     @Test
     void getAllBookingsOfUser_whenStateALL() {
-        User user = new User();
-        user.setId(1L);
-        user.setName("name");
-        user.setEmail("12345@mail.ru");
-
-        Item item = new Item();
-        item.setId(0L);
-        item.setName("name");
-        item.setDescription("description");
-        item.setAvailable(true);
-        item.setOwner(user);
-
-        Booking booking = new Booking();
-        booking.setId(2L);
-        booking.setStatus(Status.WAITING);
-        booking.setStart(LocalDateTime.now());
-        booking.setEnd(LocalDateTime.now().plusHours(5));
-        booking.setBooker(user);
-        booking.setItem(item);
-
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
-        when(bookingRepository.findByBookerId(anyLong(), any(Sort.class))).thenReturn(List.of(booking));
-
-        Collection<BookingDto> collection = bookingService.getAllBookingsUser(user.getId(), State.ALL);
+        Object[] query = bookerQuery(State.ALL);
 
-        assertNotNull(collection);
-        assertEquals(1, collection.size());
-
-        verify(bookingRepository, times(1)).findByBookerId(user.getId(), Sort.by("start"));
+        assertEquals(List.of(Status.values()), query[1]);
+        assertUnbounded(query, 2, 3, 4, 5);
+        assertEquals(Paging.MIN_TIME, query[6]);
+        assertEquals(0L, query[7]);
+        assertEquals(new OffsetPageRequest(0, 20), query[8]);
     }
 
     @Test
     void getAllBookingsOfUser_whenStateWaiting() {
-        User user = new User();
-        user.setId(1L);
-        user.setName("name");
-        user.setEmail("12345@mail.ru");
-
-        Item item = new Item();
-        item.setId(0L);
-        item.setName("name");
-        item.setDescription("description");
-        item.setAvailable(true);
-        item.setOwner(user);
+        Object[] query = bookerQuery(State.WAITING);
 
-        Booking booking = new Booking();
-        booking.setId(2L);
-        booking.setStatus(Status.WAITING);
-        booking.setStart(LocalDateTime.now());
-        booking.setEnd(LocalDateTime.now().plusHours(5));
-        booking.setBooker(user);
-        booking.setItem(item);
-
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
-        when(bookingRepository.findByBookerIdAndStatus(user.getId(), Status.WAITING, Sort.by("start"))).thenReturn(List.of(booking));
-
-        Collection<BookingDto> collection = bookingService.getAllBookingsUser(user.getId(), State.WAITING);
-
-        assertNotNull(collection);
-        assertEquals(1, collection.size());
-
-        verify(bookingRepository, times(1)).findByBookerIdAndStatus(user.getId(), Status.WAITING, Sort.by("start"));
+        assertEquals(List.of(Status.WAITING), query[1]);
+        assertUnbounded(query, 2, 3, 4, 5);
     }
 
     @Test
     void getAllBookingsOfUser_whenStateCurrent() {
-        User user = new User();
-        user.setId(1L);
-        user.setName("name");
-        user.setEmail("12345@mail.ru");
-
-        Item item = new Item();
-        item.setId(0L);
-        item.setName("name");
-        item.setDescription("description");
-        item.setAvailable(true);
-        item.setOwner(user);
-
-        Booking booking = new Booking();
-        booking.setId(2L);
-        booking.setStatus(Status.WAITING);
-        booking.setStart(LocalDateTime.now());
-        booking.setEnd(LocalDateTime.now().plusHours(5));
-        booking.setBooker(user);
-        booking.setItem(item);
-
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
-        when(bookingRepository.findByBookerIdAndStartBeforeAndEndAfter(anyLong(), any(LocalDateTime.class),
-                any(LocalDateTime.class), any(Sort.class))).thenReturn(List.of(booking));
+        LocalDateTime before = LocalDateTime.now();
+        Object[] query = bookerQuery(State.CURRENT);
 
-        Collection<BookingDto> collection = bookingService.getAllBookingsUser(user.getId(), State.CURRENT);
-
-        assertNotNull(collection);
-        assertEquals(1, collection.size());
-
-        verify(bookingRepository, times(1)).findByBookerIdAndStartBeforeAndEndAfter(anyLong(), any(LocalDateTime.class),
-                any(LocalDateTime.class), any(Sort.class));
+        assertEquals(List.of(Status.values()), query[1]);
+        assertNow(before, query[3]);
+        assertEquals(query[3], query[4]);
+        assertUnbounded(query, 2, 5);
     }
 
     @Test
     void getAllBookingsOfUser_whenStateRejected() {
-        User user = new User();
-        user.setId(1L);
-        user.setName("name");
-        user.setEmail("12345@mail.ru");
+        Object[] query = bookerQuery(State.REJECTED);
 
-        Item item = new Item();
-        item.setId(0L);
-        item.setName("name");
-        item.setDescription("description");
-        item.setAvailable(true);
-        item.setOwner(user);
-
-        Booking booking = new Booking();
-        booking.setId(2L);
-        booking.setStatus(Status.WAITING);
-        booking.setStart(LocalDateTime.now());
-        booking.setEnd(LocalDateTime.now().plusHours(5));
-        booking.setBooker(user);
-        booking.setItem(item);
-
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
-        when(bookingRepository.findByBookerIdAndStatusOrBookerIdAndStatus(user.getId(), Status.REJECTED, user.getId(),
-                Status.CANCELED, Sort.by("start"))).thenReturn(List.of(booking));
-
-        Collection<BookingDto> collection = bookingService.getAllBookingsUser(user.getId(), State.REJECTED);
-
-        assertNotNull(collection);
-        assertEquals(1, collection.size());
-
-        verify(bookingRepository, times(1)).findByBookerIdAndStatusOrBookerIdAndStatus(user.getId(), Status.REJECTED, user.getId(),
-                Status.CANCELED, Sort.by("start"));
+        assertEquals(List.of(Status.REJECTED, Status.CANCELED), query[1]);
+        assertUnbounded(query, 2, 3, 4, 5);
     }
 
     @Test
     void getAllBookingsOfUser_whenStatePast() {
-        User user = new User();
-        user.setId(1L);
-        user.setName("name");
-        user.setEmail("12345@mail.ru");
-
-        Item item = new Item();
-        item.setId(0L);
-        item.setName("name");
-        item.setDescription("description");
-        item.setAvailable(true);
-        item.setOwner(user);
+        LocalDateTime before = LocalDateTime.now();
+        Object[] query = bookerQuery(State.PAST);
 
-        Booking booking = new Booking();
-        booking.setId(2L);
-        booking.setStatus(Status.WAITING);
-        booking.setStart(LocalDateTime.now());
-        booking.setEnd(LocalDateTime.now().plusHours(5));
-        booking.setBooker(user);
-        booking.setItem(item);
-
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
-        when(bookingRepository.findByBookerIdAndEndBefore(anyLong(), any(LocalDateTime.class), any(Sort.class)))
-                .thenReturn(List.of(booking));
-
-        Collection<BookingDto> collection = bookingService.getAllBookingsUser(user.getId(), State.PAST);
-
-        assertNotNull(collection);
-        assertEquals(1, collection.size());
-
-        verify(bookingRepository, times(1)).findByBookerIdAndEndBefore(anyLong(),
-                any(LocalDateTime.class), any(Sort.class));
+        assertNow(before, query[5]);
+        assertUnbounded(query, 2, 3, 4);
     }
 
     @Test
     void getAllBookingsOfUser_whenStateFuture() {
-        User user = new User();
-        user.setId(1L);
-        user.setName("name");
-        user.setEmail("12345@mail.ru");
-
-        Item item = new Item();
-        item.setId(0L);
-        item.setName("name");
-        item.setDescription("description");
-        item.setAvailable(true);
-        item.setOwner(user);
+        LocalDateTime before = LocalDateTime.now();
+        Object[] query = bookerQuery(State.FUTURE);
 
-        Booking booking = new Booking();
-        booking.setId(2L);
-        booking.setStatus(Status.WAITING);
-        booking.setStart(LocalDateTime.now());
-        booking.setEnd(LocalDateTime.now().plusHours(5));
-        booking.setBooker(user);
-        booking.setItem(item);
-
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
-        when(bookingRepository.findByBookerIdAndStartAfter(anyLong(), any(LocalDateTime.class), any(Sort.class)))
-                .thenReturn(List.of(booking));
+        assertNow(before, query[2]);
+        assertUnbounded(query, 3, 4, 5);
+    }
 
-        Collection<BookingDto> collection = bookingService.getAllBookingsUser(user.getId(), State.FUTURE);
+    @Test
+    void getAllBookingsOfUser_whenCursorIsGiven_continuesAfterIt() {
+        LocalDateTime afterStart = LocalDateTime.now().minusDays(1);
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(bookingRepository.findBookerPage(eq(1L), any(), any(), any(), any(), any(), eq(afterStart), eq(7L),
+                eq(new OffsetPageRequest(10, 10)))).thenReturn(new SliceImpl<>(List.of(booking())));
 
-        assertNotNull(collection);
-        assertEquals(1, collection.size());
+        Slice<BookingDto> slice = bookingService.getAllBookingsUser(1L, State.ALL, afterStart, 7L, 10, 10);
 
-        verify(bookingRepository, times(1)).findByBookerIdAndStartAfter(anyLong(),
-                any(LocalDateTime.class), any(Sort.class));
+        assertEquals(1, slice.getNumberOfElements());
+        assertFalse(slice.hasNext());
     }
 
     @Test
-    void getAllBookingsOwner_whenStateAll() {
-        User user = new User();
-        user.setId(1L);
-        user.setName("name");
-        user.setEmail("12345@mail.ru");
-
-        Item item = new Item();
-        item.setId(0L);
-        item.setName("name");
-        item.setDescription("description");
-        item.setAvailable(true);
-        item.setOwner(user);
-
-        Booking booking = new Booking();
-        booking.setId(2L);
-        booking.setStatus(Status.WAITING);
-        booking.setStart(LocalDateTime.now());
-        booking.setEnd(LocalDateTime.now().plusHours(5));
-        booking.setBooker(user);
-        booking.setItem(item);
+    void getAllBookingsOfUser_whenPagingIsInvalid_throwException() {
+        assertThrows(ValidationException.class, () -> bookingService.getAllBookingsUser(1L, State.ALL, null, null,
+                -1, 20));
+        assertThrows(ValidationException.class, () -> bookingService.getAllBookingsUser(1L, State.ALL, null, null,
+                0, Paging.MAX_SIZE + 1));
+        assertThrows(ValidationException.class, () -> bookingService.getAllBookingsUser(1L, State.ALL, null, 7L,
+                0, 20));
+        assertThrows(ValidationException.class, () -> bookingService.getAllBookingsOwner(1L, State.ALL,
+                LocalDateTime.now(), null, 0, 20));
+        verifyNoInteractions(bookingRepository, userRepository);
+    }
 
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
-        when(bookingRepository.findByItem_OwnerId(user.getId(), Sort.by("start")))
-                .thenReturn(List.of(booking));
+    @Test
+    void getAllBookingsOfUser_whenUserIsNotFound_throwException() {
+        when(userRepository.existsById(1L)).thenReturn(false);
 
-        Collection<BookingDto> collection = bookingService.getAllBookingsOwner(user.getId(), State.ALL);
+        assertThrows(NotFoundException.class, () -> bookingService.getAllBookingsUser(1L, State.ALL, null, null,
+                0, 20));
+        verifyNoInteractions(bookingRepository);
+    }
 
-        assertNotNull(collection);
-        assertEquals(1, collection.size());
+    @Test
+    void getAllBookingsOwner_whenStateAll() {
+        Object[] query = ownerQuery(State.ALL);
 
-        verify(bookingRepository, times(1)).findByItem_OwnerId(user.getId(), Sort.by("start"));
+        assertEquals(List.of(Status.values()), query[1]);
+        assertUnbounded(query, 2, 3, 4, 5);
+        assertEquals(new OffsetPageRequest(0, 20), query[8]);
     }
 
     @Test
     void getAllBookingsOwner_whenStateWaiting() {
-        User user = new User();
-        user.setId(1L);
-        user.setName("name");
-        user.setEmail("12345@mail.ru");
+        Object[] query = ownerQuery(State.WAITING);
 
-        Item item = new Item();
-        item.setId(0L);
-        item.setName("name");
-        item.setDescription("description");
-        item.setAvailable(true);
-        item.setOwner(user);
-
-        Booking booking = new Booking();
-        booking.setId(2L);
-        booking.setStatus(Status.WAITING);
-        booking.setStart(LocalDateTime.now());
-        booking.setEnd(LocalDateTime.now().plusHours(5));
-        booking.setBooker(user);
-        booking.setItem(item);
-
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
-        when(bookingRepository.findByItem_OwnerIdAndStatus(user.getId(), Status.WAITING, Sort.by("start")))
-                .thenReturn(List.of(booking));
-
-        Collection<BookingDto> collection = bookingService.getAllBookingsOwner(user.getId(), State.WAITING);
-
-        assertNotNull(collection);
-        assertEquals(1, collection.size());
-
-        verify(bookingRepository, times(1)).findByItem_OwnerIdAndStatus(user.getId(),
-                Status.WAITING, Sort.by("start"));
+        assertEquals(List.of(Status.WAITING), query[1]);
+        assertUnbounded(query, 2, 3, 4, 5);
     }
 
     @Test
     void getAllBookingsOwner_whenStateCurrent() {
-        User user = new User();
-        user.setId(1L);
-        user.setName("name");
-        user.setEmail("12345@mail.ru");
-
-        Item item = new Item();
-        item.setId(0L);
-        item.setName("name");
-        item.setDescription("description");
-        item.setAvailable(true);
-        item.setOwner(user);
-
-        Booking booking = new Booking();
-        booking.setId(2L);
-        booking.setStatus(Status.WAITING);
-        booking.setStart(LocalDateTime.now());
-        booking.setEnd(LocalDateTime.now().plusHours(5));
-        booking.setBooker(user);
-        booking.setItem(item);
-
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
-        when(bookingRepository.findByItem_OwnerIdAndStartBeforeAndEndAfter(anyLong(), any(LocalDateTime.class),
-                any(LocalDateTime.class), any(Sort.class))).thenReturn(List.of(booking));
-
-        Collection<BookingDto> collection = bookingService.getAllBookingsOwner(user.getId(), State.CURRENT);
+        LocalDateTime before = LocalDateTime.now();
+        Object[] query = ownerQuery(State.CURRENT);
 
-        assertNotNull(collection);
-        assertEquals(1, collection.size());
-
-        verify(bookingRepository, times(1)).findByItem_OwnerIdAndStartBeforeAndEndAfter(anyLong(),
-                any(LocalDateTime.class), any(LocalDateTime.class), any(Sort.class));
+        assertNow(before, query[3]);
+        assertEquals(query[3], query[4]);
+        assertUnbounded(query, 2, 5);
     }
 
     @Test
     void getAllBookingsOwner_whenStateRejected() {
-        User user = new User();
-        user.setId(1L);
-        user.setName("name");
-        user.setEmail("12345@mail.ru");
+        Object[] query = ownerQuery(State.REJECTED);
 
-        Item item = new Item();
-        item.setId(0L);
-        item.setName("name");
-        item.setDescription("description");
-        item.setAvailable(true);
-        item.setOwner(user);
-
-        Booking booking = new Booking();
-        booking.setId(2L);
-        booking.setStatus(Status.WAITING);
-        booking.setStart(LocalDateTime.now());
-        booking.setEnd(LocalDateTime.now().plusHours(5));
-        booking.setBooker(user);
-        booking.setItem(item);
+        assertEquals(List.of(Status.REJECTED, Status.CANCELED), query[1]);
+        assertUnbounded(query, 2, 3, 4, 5);
+    }
 
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
-        when(bookingRepository.findByItem_OwnerIdAndStatusOrItem_OwnerIdAndStatus(user.getId(), Status.REJECTED,
-                user.getId(), Status.CANCELED, Sort.by("start"))).thenReturn(List.of(booking));
+    @Test
+    void getAllBookingsOwner_whenStatePast() {
+        LocalDateTime before = LocalDateTime.now();
+        Object[] query = ownerQuery(State.PAST);
 
-        Collection<BookingDto> collection = bookingService.getAllBookingsOwner(user.getId(), State.REJECTED);
+        assertNow(before, query[5]);
+        assertUnbounded(query, 2, 3, 4);
+    }
 
-        assertNotNull(collection);
-        assertEquals(1, collection.size());
+    @Test
+    void getAllBookingsOwner_whenStateFuture() {
+        LocalDateTime before = LocalDateTime.now();
+        Object[] query = ownerQuery(State.FUTURE);
 
-        verify(bookingRepository, times(1)).findByItem_OwnerIdAndStatusOrItem_OwnerIdAndStatus(user.getId(),
-                Status.REJECTED, user.getId(), Status.CANCELED, Sort.by("start"));
+        assertNow(before, query[2]);
+        assertUnbounded(query, 3, 4, 5);
     }
 
-    @Test
-    void getAllBookingsOwner_whenStatePast() {
-        User user = new User();
-        user.setId(1L);
-        user.setName("name");
-        user.setEmail("12345@mail.ru");
+    private Object[] bookerQuery(State state) {
+        Object[][] query = new Object[1][];
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(bookingRepository.findBookerPage(anyLong(), any(), any(), any(), any(), any(), any(), anyLong(), any()))
+                .thenAnswer(invocation -> {
+                    query[0] = invocation.getArguments();
+                    return new SliceImpl<>(List.of(booking()));
+                });
 
-        Item item = new Item();
-        item.setId(0L);
-        item.setName("name");
-        item.setDescription("description");
-        item.setAvailable(true);
-        item.setOwner(user);
+        Slice<BookingDto> slice = bookingService.getAllBookingsUser(1L, state, null, null, 0, 20);
 
-        Booking booking = new Booking();
-        booking.setId(2L);
-        booking.setStatus(Status.WAITING);
-        booking.setStart(LocalDateTime.now());
-        booking.setEnd(LocalDateTime.now().plusHours(5));
-        booking.setBooker(user);
-        booking.setItem(item);
+        assertNotNull(slice);
+        assertEquals(List.of(2L), slice.map(BookingDto::getId).getContent());
+        return query[0];
+    }
 
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
-        when(bookingRepository.findByItem_OwnerIdAndEndBefore(anyLong(), any(LocalDateTime.class), any(Sort.class)))
-                .thenReturn(List.of(booking));
+    private Object[] ownerQuery(State state) {
+        Object[][] query = new Object[1][];
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(bookingRepository.findOwnerPage(anyLong(), any(), any(), any(), any(), any(), any(), anyLong(), any()))
+                .thenAnswer(invocation -> {
+                    query[0] = invocation.getArguments();
+                    return new SliceImpl<>(List.of(booking()));
+                });
 
-        Collection<BookingDto> collection = bookingService.getAllBookingsOwner(user.getId(), State.PAST);
+        Slice<BookingDto> slice = bookingService.getAllBookingsOwner(1L, state, null, null, 0, 20);
 
-        assertNotNull(collection);
-        assertEquals(1, collection.size());
+        assertNotNull(slice);
+        assertEquals(List.of(2L), slice.map(BookingDto::getId).getContent());
+        return query[0];
+    }
 
-        verify(bookingRepository, times(1)).findByItem_OwnerIdAndEndBefore(anyLong(),
-                any(LocalDateTime.class), any(Sort.class));
+    private static void assertUnbounded(Object[] query, int... bounds) {
+        for (int bound : bounds) {
+            assertEquals(bound % 2 == 0 ? Paging.MIN_TIME : Paging.MAX_TIME, query[bound]);
+        }
     }
 
-    @Test
-    void getAllBookingsOwner_whenStateFuture() {
+    private static void assertNow(LocalDateTime before, Object actual) {
+        LocalDateTime time = (LocalDateTime) actual;
+        assertFalse(time.isBefore(before));
+        assertFalse(time.isAfter(LocalDateTime.now()));
+    }
+
+    private static Booking booking() {
         User user = new User();
         user.setId(1L);
         user.setName("name");
@@ -749,17 +559,6 @@ public class BookingServiceImplTest {
         booking.setEnd(LocalDateTime.now().plusHours(5));
         booking.setBooker(user);
         booking.setItem(item);
-
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
-        when(bookingRepository.findByItem_OwnerIdAndStartAfter(anyLong(), any(LocalDateTime.class), any(Sort.class)))
-                .thenReturn(List.of(booking));
-
-        Collection<BookingDto> collection = bookingService.getAllBookingsOwner(user.getId(), State.FUTURE);
-
-        assertNotNull(collection);
-        assertEquals(1, collection.size());
-
-        verify(bookingRepository, times(1)).findByItem_OwnerIdAndStartAfter(anyLong(),
-                any(LocalDateTime.class), any(Sort.class));
+        return booking;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.JsonTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemCommentsDto;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@JsonTest
+@Import(WireFormatConfig.class)
+public class WireFormatConfigTest {
+
+    @Autowired
+    MappingJackson2SmileHttpMessageConverter converter;
+
+    @Test
+    void testSmileKeepsIsoDates() throws Exception {
+        ItemCommentsDto itemCommentsDto = new ItemCommentsDto();
+        itemCommentsDto.setId(1L);
+        itemCommentsDto.setName("name");
+        itemCommentsDto.setLastBooking(LocalDateTime.of(2024, 8, 1, 12, 0));
+        CommentDto commentDto = new CommentDto();
+        commentDto.setText("text");
+        commentDto.setCreated(LocalDateTime.of(2024, 7, 1, 12, 0));
+        itemCommentsDto.getComments().add(commentDto);
+
+        byte[] smile = converter.getObjectMapper().writeValueAsBytes(itemCommentsDto);
+        JsonNode tree = converter.getObjectMapper().readTree(smile);
+
+        assertThat(tree.get("lastBooking").asText()).isEqualTo("2024-08-01T12:00:00");
+        assertThat(tree.get("comments").get(0).get("created").asText()).isEqualTo("2024-07-01T12:00:00");
+        assertThat(converter.getObjectMapper().readValue(smile, ItemCommentsDto.class)).isEqualTo(itemCommentsDto);
+    }
+}
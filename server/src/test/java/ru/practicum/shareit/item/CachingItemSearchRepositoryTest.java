@@ -0,0 +1,218 @@
+package ru.practicum.shareit.item;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.dal.CachingItemSearchRepository;
+import ru.practicum.shareit.item.dal.ItemRepository;
+import ru.practicum.shareit.item.dal.ItemSearchCacheProperties;
+import ru.practicum.shareit.item.dal.ItemSearchIndex;
+import ru.practicum.shareit.item.dal.ItemSearchRepository;
+import ru.practicum.shareit.item.dal.ItemSummary;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class CachingItemSearchRepositoryTest {
+    @Mock
+    private ItemSearchRepository delegate;
+    @Mock
+    private ItemRepository itemRepository;
+
+    private final ItemSearchIndex items = new ItemSearchIndex();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Queue<Runnable> invalidations = new ArrayDeque<>();
+    private ItemSearchCacheProperties properties;
+    private CachingItemSearchRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ItemSearchCacheProperties();
+        properties.setMaxResults(3);
+        repository = new CachingItemSearchRepository(delegate, itemRepository, properties, meterRegistry,
+                Runnable::run);
+
+        items.put(1L, "Дрель", "Ударная", null, 1L);
+        items.put(2L, "Дрель 2", "Без ударного режима", null, 1L);
+        items.put(3L, "Пила", "Ручная", null, 1L);
+        items.put(4L, "Дрель 4", "", null, 1L);
+        items.put(5L, "Дрель 5", "", null, 1L);
+        lenient().when(delegate.search(anyString(), any())).thenAnswer(invocation -> {
+            PageRequest page = invocation.getArgument(1);
+            return items.search(invocation.getArgument(0), page.getOffset(), page.getPageSize());
+        });
+    }
+
+    @Test
+    void search_whenQueryRepeatsInAnotherCase_servesPageFromCache() {
+        stubLoadById();
+
+        List<ItemSummary> first = repository.search("Дрель", PageRequest.of(0, 2));
+        List<ItemSummary> second = repository.search("  ДРЕЛЬ ", PageRequest.of(2, 1));
+
+        assertEquals(List.of(1L, 2L), ids(first));
+        assertEquals(List.of(4L), ids(second));
+        verify(delegate, times(1)).search(eq("дрель"), eq(PageRequest.of(0, 3)));
+        assertEquals(0.5, meterRegistry.get("shareit.search.cache.hit.ratio").gauge().value());
+        assertEquals(96 + 2 * 5 + 8 * 3, meterRegistry.get("shareit.search.cache.memory").gauge().value());
+    }
+
+    @Test
+    void search_whenPageIsBeyondCachedResults_goesToDelegate() {
+        List<ItemSummary> actual = repository.search("дрель", PageRequest.of(1, 3));
+
+        assertEquals(List.of(5L), ids(actual));
+        verify(delegate).search("дрель", PageRequest.of(1, 3));
+        verify(itemRepository, never()).findAvailableByIdIn(anyCollection());
+    }
+
+    @Test
+    void onItemSaved_evictsQueriesThatFindOldOrNewText() {
+        stubLoadById();
+        when(delegate.matchingQueries(anyString(), anyString(), anyCollection())).thenCallRealMethod();
+        repository.search("дрель", PageRequest.of(0, 3));
+        repository.search("пила", PageRequest.of(0, 3));
+        repository.search("ударн", PageRequest.of(0, 3));
+
+        repository.onItemSaved(item(3L, "Пила-дрель", "Электрическая", true));
+        items.put(3L, "Пила-дрель", "Электрическая", null, 1L);
+        repository.search("дрель", PageRequest.of(0, 3));
+        repository.search("пила", PageRequest.of(0, 3));
+        repository.search("ударн", PageRequest.of(0, 3));
+
+        verify(delegate, times(2)).search("дрель", PageRequest.of(0, 3));
+        verify(delegate, times(2)).search("пила", PageRequest.of(0, 3));
+        verify(delegate, times(1)).search("ударн", PageRequest.of(0, 3));
+    }
+
+    @Test
+    void onItemSaved_whenItemBecomesUnavailable_evictsOnlyQueriesThatFoundIt() {
+        stubLoadById();
+        repository.search("дрель", PageRequest.of(0, 3));
+        repository.search("пила", PageRequest.of(0, 3));
+
+        repository.onItemSaved(item(1L, "Дрель", "Ударная", false));
+        items.remove(1L);
+
+        assertEquals(List.of(2L, 4L, 5L), ids(repository.search("дрель", PageRequest.of(0, 3))));
+        repository.search("пила", PageRequest.of(0, 3));
+        verify(delegate, times(2)).search("дрель", PageRequest.of(0, 3));
+        verify(delegate, times(1)).search("пила", PageRequest.of(0, 3));
+        verify(delegate, never()).matchingQueries(anyString(), anyString(), anyCollection());
+    }
+
+    @Test
+    void onItemDeleted_andOnOwnerDeleted_evictAndForward() {
+        repository.search("дрель", PageRequest.of(0, 3));
+        repository.search("пила", PageRequest.of(0, 3));
+
+        repository.onItemDeleted(3L);
+        repository.search("дрель", PageRequest.of(0, 3));
+        repository.search("пила", PageRequest.of(0, 3));
+        verify(delegate, times(1)).search("дрель", PageRequest.of(0, 3));
+        verify(delegate, times(2)).search("пила", PageRequest.of(0, 3));
+
+        repository.onOwnerDeleted(1L);
+        repository.search("дрель", PageRequest.of(0, 3));
+        verify(delegate, times(2)).search("дрель", PageRequest.of(0, 3));
+        verify(delegate).onItemDeleted(3L);
+        verify(delegate).onOwnerDeleted(1L);
+    }
+
+    @Test
+    void search_whenItemChangesWhileQueryRuns_doesNotCacheResult() {
+        doAnswer(invocation -> {
+            repository.onItemDeleted(1L);
+            return items.search(invocation.getArgument(0), 0, 3);
+        }).doAnswer(invocation -> items.search(invocation.getArgument(0), 0, 3))
+                .when(delegate).search(anyString(), any());
+
+        repository.search("дрель", PageRequest.of(0, 3));
+        repository.search("дрель", PageRequest.of(0, 3));
+
+        verify(delegate, times(2)).search("дрель", PageRequest.of(0, 3));
+    }
+
+    @Test
+    void onItemSaved_matchesCachedQueriesOutsideWriteAndCachesNothingUntilDone() {
+        repository = new CachingItemSearchRepository(delegate, itemRepository, properties, meterRegistry,
+                invalidations::add);
+        stubLoadById();
+        when(delegate.matchingQueries(anyString(), anyString(), anyCollection())).thenCallRealMethod();
+        repository.search("пила", PageRequest.of(0, 3));
+
+        repository.onItemSaved(item(1L, "Дрель-пила", "Ударная", true));
+        verify(delegate, never()).matchingQueries(anyString(), anyString(), anyCollection());
+        items.put(1L, "Дрель-пила", "Ударная", null, 1L);
+        repository.search("ударн", PageRequest.of(0, 3));
+        repository.search("ударн", PageRequest.of(0, 3));
+        verify(delegate, times(2)).search("ударн", PageRequest.of(0, 3));
+
+        invalidations.remove().run();
+        assertEquals(List.of(1L, 3L), ids(repository.search("пила", PageRequest.of(0, 3))));
+        repository.search("ударн", PageRequest.of(0, 3));
+        repository.search("ударн", PageRequest.of(0, 3));
+        verify(delegate, times(3)).search("ударн", PageRequest.of(0, 3));
+    }
+
+    @Test
+    void onItemSaved_whenMatchingFails_clearsWholeCache() {
+        repository.search("дрель", PageRequest.of(0, 3));
+        repository.search("пила", PageRequest.of(0, 3));
+        when(delegate.matchingQueries(anyString(), anyString(), anyCollection()))
+                .thenThrow(new IllegalStateException("База недоступна"));
+
+        repository.onItemSaved(item(6L, "Молоток", "", true));
+        repository.search("дрель", PageRequest.of(0, 3));
+        repository.search("пила", PageRequest.of(0, 3));
+
+        verify(delegate, times(2)).search("дрель", PageRequest.of(0, 3));
+        verify(delegate, times(2)).search("пила", PageRequest.of(0, 3));
+    }
+
+    private void stubLoadById() {
+        when(itemRepository.findAvailableByIdIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return items.search("", 0, Integer.MAX_VALUE).stream()
+                    .filter(item -> ids.contains(item.getId()))
+                    .toList();
+        });
+    }
+
+    private static Item item(Long id, String name, String description, boolean available) {
+        User owner = new User();
+        owner.setId(1L);
+        Item item = new Item();
+        item.setId(id);
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(available);
+        item.setOwner(owner);
+        return item;
+    }
+
+    private static List<Long> ids(List<ItemSummary> items) {
+        return items.stream().map(ItemSummary::getId).toList();
+    }
+}
@@ -0,0 +1,73 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.dal.FullTextItemSearchRepository;
+import ru.practicum.shareit.item.dal.ItemRepository;
+import ru.practicum.shareit.util.OffsetPageRequest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class FullTextItemSearchRepositoryTest {
+    private static final int WINDOW = FullTextItemSearchRepository.RANK_WINDOW;
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    private FullTextItemSearchRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new FullTextItemSearchRepository(itemRepository, new ObjectMapper());
+    }
+
+    @Test
+    void testSearchKeepsWindowFixed() {
+        when(itemRepository.findAvailableByFullText(anyString(), anyString(), anyLong(), any()))
+                .thenReturn(List.of());
+
+        repository.search("дрель", new OffsetPageRequest(0, 10));
+        repository.search("дрель", new OffsetPageRequest(WINDOW - 20, 10));
+
+        verify(itemRepository).findAvailableByFullText("дрель", "%дрель%", WINDOW, new OffsetPageRequest(0, 10));
+        verify(itemRepository).findAvailableByFullText("дрель", "%дрель%", WINDOW,
+                new OffsetPageRequest(WINDOW - 20, 10));
+    }
+
+    @Test
+    void testSearchTruncatesPageAtWindow() {
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        when(itemRepository.findAvailableByFullText(anyString(), anyString(), eq((long) WINDOW),
+                pageable.capture())).thenReturn(List.of());
+
+        repository.search("дрель", new OffsetPageRequest(WINDOW - 5, 20));
+
+        assertEquals(WINDOW - 5, pageable.getValue().getOffset());
+        assertEquals(5, pageable.getValue().getPageSize());
+    }
+
+    @Test
+    void testSearchBeyondWindowIsEmpty() {
+        assertTrue(repository.search("дрель", new OffsetPageRequest(WINDOW, 20)).isEmpty());
+        assertTrue(repository.search("дрель", new OffsetPageRequest(WINDOW + 100, 20)).isEmpty());
+
+        verifyNoInteractions(itemRepository);
+    }
+}
@@ -7,6 +7,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
@@ -14,6 +17,7 @@ import ru.practicum.shareit.item.controller.ItemController;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemCommentsDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.SuggestionDto;
 import ru.practicum.shareit.item.service.interfaces.ItemService;
 
 import java.nio.charset.StandardCharsets;
@@ -73,14 +77,20 @@ public class ItemControllerTest {
 
     @Test
     void getAllItemsOfUser_whenInvoked_thenHasCorrectResponse() throws Exception {
-        when(itemService.getAllItemsOfUser(1L)).thenReturn(List.of(itemDto));
+        when(itemService.getAllItemsOfUser(1L, 7L, 10, 5))
+                .thenReturn(new SliceImpl<>(List.of(itemCommentsDto), PageRequest.of(2, 5), true));
         mvc.perform(get("/items")
                         .header("X-Sharer-User-Id", 1L)
+                        .param("afterId", "7")
+                        .param("from", "10")
+                        .param("size", "5")
                         .characterEncoding(StandardCharsets.UTF_8)
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(content().json(mapper.writeValueAsString(List.of(itemDto))));
+                .andExpect(header().string("X-Has-Next", "true"))
+                .andExpect(header().string(HttpHeaders.LINK, "</items?size=5&afterId=3>; rel=\"next\""))
+                .andExpect(content().json(mapper.writeValueAsString(List.of(itemCommentsDto))));
     }
 
     @Test
@@ -97,7 +107,7 @@ public class ItemControllerTest {
 
     @Test
     void getItemByText_whenInvoked_thenHasCorrectResponse() throws Exception {
-        when(itemService.searchItems(eq(1L), any())).thenReturn(List.of(itemDto));
+        when(itemService.searchItems(eq(1L), any(), eq(0), eq(20))).thenReturn(List.of(itemDto));
         mvc.perform(get("/items/search?text=text")
                         .header("X-Sharer-User-Id", 1L)
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -107,6 +117,19 @@ public class ItemControllerTest {
                 .andExpect(content().json(mapper.writeValueAsString(List.of(itemDto))));
     }
 
+    @Test
+    void suggest_whenInvoked_thenHasCorrectResponse() throws Exception {
+        List<SuggestionDto> suggestions = List.of(new SuggestionDto("дрель", 3), new SuggestionDto("дрели", 1));
+        when(itemService.suggest(1L, "дре", 10)).thenReturn(suggestions);
+        mvc.perform(get("/items/suggest")
+                        .param("prefix", "дре")
+                        .header("X-Sharer-User-Id", 1L)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().json(mapper.writeValueAsString(suggestions)));
+    }
+
     @Test
     void createItem_whenInvoked_thenHasCorrectResponse() throws Exception {
         when(itemService.createItem(itemDto, 1L)).thenReturn(itemDto);
@@ -0,0 +1,137 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.dal.ItemSearchIndex;
+import ru.practicum.shareit.item.dal.ItemSummary;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ItemSearchIndexTest {
+    private final ItemSearchIndex index = new ItemSearchIndex();
+
+    @Test
+    void search_findsSubstringInNameOrDescriptionIgnoringCase() {
+        index.put(1L, "Дрель", "Ударная", null, 10L);
+        index.put(2L, "Шуруповерт", "Заменит ДРЕЛЬ", 7L, 10L);
+        index.put(3L, "Cordless drill", "18V", null, 11L);
+
+        assertEquals(List.of(1L, 2L), ids(index.search("дрель", 0, 20)));
+        assertEquals(List.of(1L, 2L), ids(index.search("РЕЛ", 0, 20)));
+        assertEquals(List.of(3L), ids(index.search("DRILL", 0, 20)));
+        assertEquals(List.of(), ids(index.search("перфоратор", 0, 20)));
+
+        ItemSummary found = index.search("шуруп", 0, 20).getFirst();
+        assertEquals("Шуруповерт", found.getName());
+        assertEquals("Заменит ДРЕЛЬ", found.getDescription());
+        assertEquals(7L, found.getRequestId());
+        assertTrue(found.getAvailable());
+    }
+
+    @Test
+    void search_whenQueryIsShorterThanTrigram_scansAllItems() {
+        index.put(1L, "Дрель", "Ударная", null, 10L);
+        index.put(2L, "Пила", "Ручная", null, 10L);
+
+        assertEquals(List.of(1L), ids(index.search("ь", 0, 20)));
+        assertEquals(List.of(1L, 2L), ids(index.search("на", 0, 20)));
+    }
+
+    @Test
+    void search_whenAllTrigramsPresentButNotAdjacent_doesNotMatch() {
+        index.put(1L, "abca cab", "x", null, 10L);
+
+        assertEquals(List.of(), ids(index.search("abcab", 0, 20)));
+        assertEquals(List.of(1L), ids(index.search("abca", 0, 20)));
+    }
+
+    @Test
+    void put_whenItemIsReindexed_replacesOldText() {
+        index.put(1L, "Дрель", "Ударная", null, 10L);
+        index.put(1L, "Пила", "Ручная", null, 10L);
+
+        assertEquals(List.of(), ids(index.search("дрель", 0, 20)));
+        assertEquals(List.of(1L), ids(index.search("пила", 0, 20)));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void remove_andRemoveOwner_dropItemsFromResults() {
+        index.put(1L, "Дрель 1", "", null, 10L);
+        index.put(2L, "Дрель 2", "", null, 11L);
+        index.put(3L, "Дрель 3", "", null, 11L);
+
+        index.remove(1L);
+        assertEquals(List.of(2L, 3L), ids(index.search("дрель", 0, 20)));
+
+        index.removeOwner(11L);
+        assertEquals(List.of(), ids(index.search("дрель", 0, 20)));
+        assertEquals(List.of(), ids(index.search("д", 0, 20)));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void search_pagesInIdOrderWhateverTheInsertionOrder() {
+        for (long id : new long[]{5, 1, 4, 2, 3}) {
+            index.put(id, "Дрель " + id, "", null, 10L);
+        }
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), ids(index.search("дрель", 0, 20)));
+        assertEquals(List.of(3L, 4L), ids(index.search("дрель", 2, 2)));
+        assertEquals(List.of(), ids(index.search("дрель", 5, 2)));
+    }
+
+    @Test
+    void search_matchesBruteForceSubstringSearch() {
+        Random random = new Random(42);
+        TreeMap<Long, String[]> items = new TreeMap<>();
+        for (int step = 0; step < 3000; step++) {
+            long id = 1 + random.nextInt(400);
+            if (random.nextInt(5) == 0) {
+                index.remove(id);
+                items.remove(id);
+            } else {
+                String name = randomText(random, 8);
+                String description = randomText(random, 20);
+                index.put(id, name, description, null, id % 7);
+                items.put(id, new String[]{name.toLowerCase(), description.toLowerCase()});
+            }
+        }
+
+        for (int q = 0; q < 500; q++) {
+            String query = randomText(random, 1 + random.nextInt(5));
+            List<Long> expected = new ArrayList<>();
+            items.forEach((id, texts) -> {
+                if (texts[0].contains(query.toLowerCase()) || texts[1].contains(query.toLowerCase())) {
+                    expected.add(id);
+                }
+            });
+            assertEquals(expected, ids(index.search(query, 0, Integer.MAX_VALUE)), query);
+        }
+        assertEquals(items.size(), index.size());
+    }
+
+    @Test
+    void search_whenIndexIsEmpty_returnsNothing() {
+        assertEquals(List.of(), index.search("дрель", 0, 20));
+        assertEquals(List.of(), index.search("д", 0, 20));
+    }
+
+    private static String randomText(Random random, int length) {
+        String alphabet = "абвАБВabcAB ";
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return builder.toString();
+    }
+
+    private static List<Long> ids(List<ItemSummary> items) {
+        return items.stream().map(ItemSummary::getId).toList();
+    }
+}
@@ -0,0 +1,95 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.dal.ItemSearchRepository;
+import ru.practicum.shareit.item.dal.ItemSummary;
+import ru.practicum.shareit.item.dal.LikeItemSearchRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@DataJpaTest
+@Import(LikeItemSearchRepository.class)
+public class ItemSearchRepositoryTest {
+    @Autowired
+    private TestEntityManager em;
+    @Autowired
+    private ItemSearchRepository itemSearchRepository;
+
+    private User owner;
+    private ItemRequest request;
+
+    @BeforeEach
+    void setUp() {
+        owner = new User();
+        owner.setName("owner");
+        owner.setEmail("owner@mail.ru");
+        em.persist(owner);
+
+        request = new ItemRequest();
+        request.setDescription("Нужна дрель");
+        request.setRequester(owner);
+        request.setCreated(LocalDateTime.now());
+        em.persist(request);
+    }
+
+    @Test
+    void search_findsSubstringInNameOrDescriptionIgnoringCase() {
+        Item drill = item("Дрель", "Ударная", true, request);
+        Item screwdriver = item("Шуруповерт", "Почти ДРЕЛЬ", true, null);
+        item("Дрель сломанная", "Недоступна", false, null);
+        item("Молоток", "Обычный", true, null);
+
+        List<ItemSummary> found = itemSearchRepository.search("дрел", PageRequest.of(0, 10));
+
+        assertEquals(List.of(drill.getId(), screwdriver.getId()), found.stream().map(ItemSummary::getId).toList());
+        assertEquals(request.getId(), found.get(0).getRequestId());
+        assertNull(found.get(1).getRequestId());
+    }
+
+    @Test
+    void search_treatsLikeWildcardsLiterally() {
+        Item percent = item("Скидка 50%", "Акция", true, null);
+        item("Скидка 500", "Акция", true, null);
+
+        List<ItemSummary> found = itemSearchRepository.search("50%", PageRequest.of(0, 10));
+
+        assertEquals(List.of(percent.getId()), found.stream().map(ItemSummary::getId).toList());
+    }
+
+    @Test
+    void search_returnsRequestedPage() {
+        for (int i = 0; i < 5; i++) {
+            item("Палатка " + i, "Туристическая", true, null);
+        }
+
+        List<ItemSummary> all = itemSearchRepository.search("палатка", PageRequest.of(0, 10));
+        List<ItemSummary> page = itemSearchRepository.search("палатка", PageRequest.of(1, 2));
+
+        assertEquals(5, all.size());
+        assertEquals(all.subList(2, 4).stream().map(ItemSummary::getId).toList(),
+                page.stream().map(ItemSummary::getId).toList());
+    }
+
+    private Item item(String name, String description, boolean available, ItemRequest itemRequest) {
+        Item item = new Item();
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(available);
+        item.setOwner(owner);
+        item.setRequest(itemRequest);
+        return em.persist(item);
+    }
+}
@@ -5,7 +5,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.SliceImpl;
 import ru.practicum.shareit.booking.dal.BookingRepository;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.enums.Status;
@@ -13,9 +13,14 @@ import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dal.CommentRepository;
 import ru.practicum.shareit.item.dal.ItemRepository;
+import ru.practicum.shareit.item.dal.ItemSearchRepository;
+import ru.practicum.shareit.item.dal.ItemSuggestRepository;
+import ru.practicum.shareit.item.dal.ItemSummary;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.CommentOfItemDto;
 import ru.practicum.shareit.item.dto.ItemCommentsDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.SuggestionDto;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
@@ -25,6 +30,7 @@ import ru.practicum.shareit.request.dal.ItemRequestRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.dal.UserRepository;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.util.OffsetPageRequest;
 
 import java.util.*;
 
@@ -44,6 +50,10 @@ public class ItemServiceImplTest {
     private BookingRepository bookingRepository;
     @Mock
     private ItemRequestRepository itemRequestRepository;
+    @Mock
+    private ItemSearchRepository itemSearchRepository;
+    @Mock
+    private ItemSuggestRepository itemSuggestRepository;
     @InjectMocks
     private ItemServiceImpl itemService;
 
@@ -70,6 +80,8 @@ public class ItemServiceImplTest {
         assertEquals(actualItemDto.getName(), item.getName());
 
         verify(itemRepository, times(1)).save(any(Item.class));
+        verify(itemSearchRepository).onItemSaved(item);
+        verify(itemSuggestRepository).onItemSaved(item);
     }
 
     @Test
@@ -128,37 +140,30 @@ public class ItemServiceImplTest {
 
     @Test
     void getItem_returnItemCommentsDto() {
-        User user = new User();
-        user.setId(1L);
-        user.setName("name");
-        user.setEmail("12345@mail.ru");
-
-        Item item = new Item();
-        item.setId(0L);
-        item.setName("name");
-        item.setDescription("description");
-        item.setAvailable(true);
-        item.setOwner(user);
-        item.setRequest(null);
-
         CommentDto commentDto = new CommentDto();
         commentDto.setId(3L);
         commentDto.setText("someText");
 
-        Booking booking = new Booking();
+        ItemCommentsDto itemCommentsDto = new ItemCommentsDto(0L, "name", "description", true,
+                null, null);
 
-        ItemCommentsDto itemCommentsDto = ItemMapper.toItemCommentsDto(item, List.of(commentDto));
+        when(itemRepository.findItemCard(anyLong(), eq(Status.APPROVED), any())).thenReturn(Optional.of(itemCommentsDto));
+        when(commentRepository.findCommentDtosByItemId(anyLong())).thenReturn(List.of(commentDto));
 
-        when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
-        when(commentRepository.findAllByItemId(anyLong())).thenReturn((List.of()));
-        when(bookingRepository.findFirstByItemIdAndStatusAndStartAfter(anyLong(),
-                eq(Status.APPROVED), any(), eq(Sort.by("start").descending()))).thenReturn(Optional.of(booking));
-        when(bookingRepository.findFirstByItemIdAndStatusAndStartAfter(anyLong(),
-                eq(Status.APPROVED), any(), eq(Sort.by("start")))).thenReturn(Optional.of(booking));
+        ItemCommentsDto actual = itemService.getItem(1L, 0L);
 
-        ItemCommentsDto actual = itemService.getItem(user.getId(), item.getId());
+        assertEquals(itemCommentsDto.getId(), actual.getId());
+        assertEquals(List.of(commentDto), actual.getComments());
+        verifyNoInteractions(bookingRepository);
+    }
 
-        assertEquals(actual.getId(), itemCommentsDto.getId());
+    @Test
+    void getItem_whenItemNotFound_throwException() {
+        when(itemRepository.findItemCard(anyLong(), eq(Status.APPROVED), any())).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> itemService.getItem(1L, 0L));
+
+        verify(commentRepository, never()).findCommentDtosByItemId(anyLong());
     }
 
     @Test
@@ -171,6 +176,8 @@ public class ItemServiceImplTest {
         itemService.deleteItem(item.getId());
 
         verify(itemRepository, times(1)).delete(item);
+        verify(itemSearchRepository).onItemDeleted(item.getId());
+        verify(itemSuggestRepository).onItemDeleted(item.getId());
     }
 
     @Test
@@ -178,6 +185,7 @@ public class ItemServiceImplTest {
         assertThrows(NotFoundException.class, () -> itemService.deleteItem(1L));
 
         verify(itemRepository, never()).delete(any(Item.class));
+        verifyNoInteractions(itemSearchRepository);
     }
 
     @Test
@@ -210,6 +218,8 @@ public class ItemServiceImplTest {
         assertEquals(actual.getDescription(), itemDto.getDescription());
 
         verify(itemRepository, times(1)).save(item);
+        verify(itemSearchRepository).onItemSaved(item);
+        verify(itemSuggestRepository).onItemSaved(item);
     }
 
     @Test
@@ -243,54 +253,90 @@ public class ItemServiceImplTest {
         assertThrows(ValidationException.class, () -> itemService.updateItem(itemDto, user.getId(), item.getId()));
 
         verify(itemRepository, never()).save(item);
+        verifyNoInteractions(itemSearchRepository);
     }
 
     @Test
     void getAllItemsOfUser_whenUserIsFound() {
 
-        User user = new User();
-        user.setId(1L);
-        user.setName("name");
-        user.setEmail("12345@mail.ru");
-
-        Item item = new Item();
-
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
-        when(itemRepository.findByOwnerId(user.getId())).thenReturn(List.of(item));
+        ItemCommentsDto first = new ItemCommentsDto(1L, "name", "description", true, null, null);
+        ItemCommentsDto second = new ItemCommentsDto(2L, "name", "description", true, null, null);
+        CommentOfItemDto comment = new CommentOfItemDto(2L, 3L, "someText", "author", null);
 
-        Collection<ItemDto> actual = itemService.getAllItemsOfUser(user.getId());
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(itemRepository.findItemCardsByOwnerId(eq(1L), eq(Status.APPROVED), any(), eq(0L),
+                eq(new OffsetPageRequest(2, 2))))
+                .thenReturn(new SliceImpl<>(List.of(first, second)));
+        when(commentRepository.findCommentDtosByItemIdIn(List.of(1L, 2L))).thenReturn(List.of(comment));
 
-        assertNotNull(actual);
-        assertEquals(1, actual.size());
+        List<ItemCommentsDto> actual = itemService.getAllItemsOfUser(1L, null, 2, 2).getContent();
 
-        verify(itemRepository, times(1)).findByOwnerId(anyLong());
+        assertEquals(List.of(first, second), actual);
+        assertEquals(List.of(), actual.get(0).getComments());
+        assertEquals(List.of(CommentMapper.toCommentDto(comment)), actual.get(1).getComments());
     }
 
     @Test
     void getAllItemsOfUser_whenUserIsNotFound() {
-        assertThrows(NotFoundException.class, () -> itemService.getAllItemsOfUser(anyLong()));
-        verify(itemRepository, never()).findByOwnerId(anyLong());
+        assertThrows(NotFoundException.class, () -> itemService.getAllItemsOfUser(1L, null, 0, 20));
+        verify(itemRepository, never()).findItemCardsByOwnerId(anyLong(), any(), any(), any(), any());
+    }
+
+    @Test
+    void getAllItemsOfUser_whenPagingIsInvalid_throwException() {
+        assertThrows(ValidationException.class, () -> itemService.getAllItemsOfUser(1L, null, -1, 20));
+        assertThrows(ValidationException.class, () -> itemService.getAllItemsOfUser(1L, null, 0, 0));
+        verifyNoInteractions(itemRepository);
     }
 
     @Test
     void searchItemWithText() {
-        Item item = new Item();
+        ItemSummary item = mock(ItemSummary.class);
+        when(item.getId()).thenReturn(1L);
 
-        when(itemRepository.findItemByText(anyString())).thenReturn(List.of(item));
+        when(itemSearchRepository.search("aaa", new OffsetPageRequest(0, 20))).thenReturn(List.of(item));
 
-        Collection<ItemDto> col = itemService.searchItems(1L, "aaa");
+        List<ItemDto> list = itemService.searchItems(1L, "aaa", 0, 20);
 
-        assertNotNull(col);
-        assertEquals(1, col.size());
+        assertNotNull(list);
+        assertEquals(1, list.size());
+        assertEquals(1L, list.getFirst().getId());
     }
 
     @Test
     void searchItemWithoutText() {
-        Collection<ItemDto> list = itemService.searchItems(1L, "");
+        List<ItemDto> list = itemService.searchItems(1L, "", 0, 20);
 
         assertNotNull(list);
         assertEquals(0, list.size());
-        verify(itemRepository, never()).findItemByText("");
+        verifyNoInteractions(itemSearchRepository);
+    }
+
+    @Test
+    void searchItem_whenPagingIsInvalid_throwException() {
+        assertThrows(ValidationException.class, () -> itemService.searchItems(1L, "aaa", 0, 0));
+        verifyNoInteractions(itemSearchRepository);
+    }
+
+    @Test
+    void suggest_returnsCompletionsOfPrefix() {
+        List<SuggestionDto> suggestions = List.of(new SuggestionDto("дрель", 3));
+        when(itemSuggestRepository.suggest("Дре", 10)).thenReturn(suggestions);
+
+        assertEquals(suggestions, itemService.suggest(1L, "Дре", 10));
+    }
+
+    @Test
+    void suggest_whenPrefixIsBlank_returnsNothing() {
+        assertEquals(List.of(), itemService.suggest(1L, " ", 10));
+        verifyNoInteractions(itemSuggestRepository);
+    }
+
+    @Test
+    void suggest_whenSizeIsInvalid_throwException() {
+        assertThrows(ValidationException.class, () -> itemService.suggest(1L, "дре", 0));
+        assertThrows(ValidationException.class, () -> itemService.suggest(1L, "дре", 21));
+        verifyNoInteractions(itemSuggestRepository);
     }
 
     @Test
@@ -0,0 +1,209 @@
+package ru.practicum.shareit.item;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Slice;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.enums.Status;
+import ru.practicum.shareit.item.dal.DisabledItemSuggestRepository;
+import ru.practicum.shareit.item.dal.LikeItemSearchRepository;
+import ru.practicum.shareit.item.dto.ItemCommentsDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemServiceImpl;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({ItemServiceImpl.class, LikeItemSearchRepository.class, DisabledItemSuggestRepository.class})
+public class ItemStatementCountTest {
+    @Autowired
+    private TestEntityManager em;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private ItemServiceImpl itemService;
+
+    private Statistics statistics;
+    private User owner;
+    private Item item;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+        owner = user("owner", "owner@mail.ru");
+        User requester = user("requester", "requester@mail.ru");
+
+        ItemRequest request = new ItemRequest();
+        request.setDescription("Нужна дрель");
+        request.setRequester(requester);
+        request.setCreated(now.minusDays(10));
+        em.persist(request);
+
+        item = new Item();
+        item.setName("Дрель");
+        item.setDescription("Аккумуляторная дрель");
+        item.setAvailable(true);
+        item.setOwner(owner);
+        item.setRequest(request);
+        em.persist(item);
+    }
+
+    @Test
+    void getItem_runsTwoStatements() {
+        for (int i = 0; i < 5; i++) {
+            User author = user("author" + i, "author" + i + "@mail.ru");
+            booking(author, now.minusDays(3 + i), now.minusDays(2 + i), Status.APPROVED);
+            comment(author, "Отзыв " + i, now.minusHours(5 - i));
+        }
+        booking(owner, now.plusDays(1), now.plusDays(2), Status.APPROVED);
+        booking(owner, now.plusDays(5), now.plusDays(7), Status.APPROVED);
+        booking(owner, now.plusDays(9), now.plusDays(10), Status.WAITING);
+        em.flush();
+        em.clear();
+        statistics.clear();
+
+        ItemCommentsDto actual = itemService.getItem(owner.getId(), item.getId());
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(5, actual.getComments().size());
+        assertEquals("author4", actual.getComments().getLast().getAuthorName());
+        assertEquals(now.plusDays(1), actual.getNextBooking());
+        assertEquals(now.plusDays(7), actual.getLastBooking());
+    }
+
+    @Test
+    void getItem_whenNoBookingsAndComments_runsTwoStatements() {
+        em.flush();
+        em.clear();
+        statistics.clear();
+
+        ItemCommentsDto actual = itemService.getItem(owner.getId(), item.getId());
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(item.getName(), actual.getName());
+        assertEquals(0, actual.getComments().size());
+        assertNull(actual.getLastBooking());
+        assertNull(actual.getNextBooking());
+    }
+
+    @Test
+    void getAllItemsOfUser_statementCountDoesNotGrowWithItems() {
+        User author = user("author", "author@mail.ru");
+        for (int i = 0; i < 30; i++) {
+            Item other = item("Вещь " + i);
+            booking(other, author, now.plusDays(1 + i), now.plusDays(2 + i), Status.APPROVED);
+            comment(other, author, "Отзыв " + i, now.minusHours(i));
+        }
+        em.flush();
+        em.clear();
+
+        statistics.clear();
+        List<ItemCommentsDto> small = itemService.getAllItemsOfUser(owner.getId(), null, 0, 3).getContent();
+        long smallPageStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        List<ItemCommentsDto> large = itemService.getAllItemsOfUser(owner.getId(), null, 0, 31).getContent();
+        long largePageStatements = statistics.getPrepareStatementCount();
+
+        assertEquals(3, small.size());
+        assertEquals(31, large.size());
+        assertEquals(3, smallPageStatements);
+        assertEquals(smallPageStatements, largePageStatements);
+        assertEquals(item.getId(), large.getFirst().getId());
+        assertEquals(0, large.getFirst().getComments().size());
+        assertEquals(now.plusDays(30), large.getLast().getNextBooking());
+        assertEquals(1, large.getLast().getComments().size());
+    }
+
+    @Test
+    void getAllItemsOfUser_pagesInIdOrder() {
+        for (int i = 0; i < 4; i++) {
+            item("Вещь " + i);
+        }
+        em.flush();
+        em.clear();
+
+        List<Long> all = itemService.getAllItemsOfUser(owner.getId(), null, 0, 10).stream()
+                .map(ItemCommentsDto::getId)
+                .toList();
+        List<Long> secondPage = itemService.getAllItemsOfUser(owner.getId(), null, 2, 2).stream()
+                .map(ItemCommentsDto::getId)
+                .toList();
+
+        List<Long> afterCursor = itemService.getAllItemsOfUser(owner.getId(), all.get(1), 0, 2).stream()
+                .map(ItemCommentsDto::getId)
+                .toList();
+        Slice<ItemCommentsDto> unaligned = itemService.getAllItemsOfUser(owner.getId(), null, 3, 5);
+
+        assertEquals(5, all.size());
+        assertEquals(all.stream().sorted().toList(), all);
+        assertEquals(all.subList(2, 4), secondPage);
+        assertEquals(all.subList(2, 4), afterCursor);
+        assertEquals(all.subList(3, 5), unaligned.map(ItemCommentsDto::getId).getContent());
+        assertFalse(unaligned.hasNext());
+        assertTrue(itemService.getAllItemsOfUser(owner.getId(), null, 1, 3).hasNext());
+    }
+
+    private Item item(String name) {
+        Item other = new Item();
+        other.setName(name);
+        other.setDescription("Описание");
+        other.setAvailable(true);
+        other.setOwner(owner);
+        return em.persist(other);
+    }
+
+    private User user(String name, String email) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(email);
+        return em.persist(user);
+    }
+
+    private void booking(User booker, LocalDateTime start, LocalDateTime end, Status status) {
+        booking(item, booker, start, end, status);
+    }
+
+    private void booking(Item item, User booker, LocalDateTime start, LocalDateTime end, Status status) {
+        Booking booking = new Booking();
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStart(start);
+        booking.setEnd(end);
+        booking.setStatus(status);
+        em.persist(booking);
+    }
+
+    private void comment(User author, String text, LocalDateTime created) {
+        comment(item, author, text, created);
+    }
+
+    private void comment(Item item, User author, String text, LocalDateTime created) {
+        Comment comment = new Comment();
+        comment.setItem(item);
+        comment.setAuthor(author);
+        comment.setText(text);
+        comment.setCreated(created);
+        em.persist(comment);
+    }
+}
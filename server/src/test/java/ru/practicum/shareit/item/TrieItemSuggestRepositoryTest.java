@@ -0,0 +1,155 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.item.dal.ItemRepository;
+import ru.practicum.shareit.item.dal.ItemNameSummary;
+import ru.practicum.shareit.item.dal.TrieItemSuggestRepository;
+import ru.practicum.shareit.item.dto.SuggestionDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TrieItemSuggestRepositoryTest {
+    @Mock
+    private ItemRepository itemRepository;
+    @InjectMocks
+    private TrieItemSuggestRepository repository;
+
+    @Test
+    void rebuild_countsItemsPerWordOfAvailableNames() {
+        ItemNameSummary first = summary(1L, "Дрель ударная", 10L);
+        ItemNameSummary second = summary(2L, "Дрель-шуруповерт, дрель", 10L);
+        ItemNameSummary third = summary(3L, "Дрели и биты", 11L);
+        when(itemRepository.findAvailableNamesAfter(eq(0L), any())).thenReturn(List.of(first, second, third));
+
+        repository.rebuild();
+
+        assertEquals(List.of(new SuggestionDto("дрель", 2), new SuggestionDto("дрели", 1)),
+                repository.suggest("ДР", 10));
+        assertEquals(List.of(new SuggestionDto("дрель", 2)), repository.suggest("др", 1));
+        assertEquals(List.of(new SuggestionDto("шуруповерт", 1)), repository.suggest("шуру", 10));
+        assertEquals(List.of(), repository.suggest("и", 10));
+    }
+
+    @Test
+    void suggest_completesLastWordOfPrefix() {
+        repository.onItemSaved(item(1L, "Палатка туристическая", 10L, true));
+
+        assertEquals(List.of(new SuggestionDto("туристическая", 1)), repository.suggest("палатка тур", 10));
+        assertEquals(List.of(), repository.suggest("палатка ", 10));
+        assertEquals(List.of(), repository.suggest("лодка", 10));
+        assertEquals(List.of(), repository.suggest("", 10));
+    }
+
+    @Test
+    void onItemSaved_replacesWordsAndDropsUnavailableItems() {
+        repository.onItemSaved(item(1L, "Дрель", 10L, true));
+        repository.onItemSaved(item(2L, "Дрель", 10L, true));
+        repository.onItemSaved(item(1L, "Дрезина", 10L, true));
+
+        assertEquals(List.of(new SuggestionDto("дрезина", 1), new SuggestionDto("дрель", 1)),
+                repository.suggest("дре", 10));
+
+        repository.onItemSaved(item(2L, "Дрель", 10L, false));
+        assertEquals(List.of(new SuggestionDto("дрезина", 1)), repository.suggest("дре", 10));
+    }
+
+    @Test
+    void onItemDeleted_andOnOwnerDeleted_removeWords() {
+        repository.onItemSaved(item(1L, "Дрель", 10L, true));
+        repository.onItemSaved(item(2L, "Дрель", 11L, true));
+        repository.onItemSaved(item(3L, "Пила", 11L, true));
+
+        repository.onItemDeleted(1L);
+        assertEquals(List.of(new SuggestionDto("дрель", 1)), repository.suggest("дрель", 10));
+
+        repository.onOwnerDeleted(11L);
+        assertEquals(List.of(), repository.suggest("дрель", 10));
+        assertEquals(List.of(), repository.suggest("пи", 10));
+    }
+
+    @Test
+    void suggest_matchesBruteForceCounting() {
+        Random random = new Random(7);
+        Map<Long, Set<String>> names = new HashMap<>();
+        for (int step = 0; step < 3000; step++) {
+            long id = 1 + random.nextInt(300);
+            if (random.nextInt(4) == 0) {
+                repository.onItemDeleted(id);
+                names.remove(id);
+            } else {
+                StringBuilder name = new StringBuilder();
+                for (int word = 0; word < 1 + random.nextInt(3); word++) {
+                    name.append(randomWord(random)).append(' ');
+                }
+                repository.onItemSaved(item(id, name.toString(), id % 5, true));
+                names.put(id, new HashSet<>(List.of(words(name.toString()))));
+            }
+        }
+
+        for (int q = 0; q < 300; q++) {
+            String prefix = randomWord(random).substring(0, 1 + random.nextInt(2));
+            Map<String, Integer> counts = new HashMap<>();
+            names.values().forEach(words -> words.stream()
+                    .filter(word -> word.startsWith(prefix))
+                    .forEach(word -> counts.merge(word, 1, Integer::sum)));
+            List<SuggestionDto> expected = counts.entrySet().stream()
+                    .map(entry -> new SuggestionDto(entry.getKey(), entry.getValue()))
+                    .sorted(Comparator.comparing(SuggestionDto::getCount).reversed()
+                            .thenComparing(SuggestionDto::getText))
+                    .limit(5)
+                    .toList();
+            assertEquals(expected, repository.suggest(prefix, 5), prefix);
+        }
+    }
+
+    private static String[] words(String name) {
+        return name.trim().split(" ");
+    }
+
+    private static String randomWord(Random random) {
+        String alphabet = "абвг";
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < 2 + random.nextInt(3); i++) {
+            word.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return word.toString();
+    }
+
+    private static ItemNameSummary summary(Long id, String name, Long ownerId) {
+        ItemNameSummary summary = mock(ItemNameSummary.class);
+        when(summary.getId()).thenReturn(id);
+        when(summary.getName()).thenReturn(name);
+        when(summary.getOwnerId()).thenReturn(ownerId);
+        return summary;
+    }
+
+    private static Item item(Long id, String name, Long ownerId, boolean available) {
+        User owner = new User();
+        owner.setId(ownerId);
+        Item item = new Item();
+        item.setId(id);
+        item.setName(name);
+        item.setOwner(owner);
+        item.setAvailable(available);
+        return item;
+    }
+}
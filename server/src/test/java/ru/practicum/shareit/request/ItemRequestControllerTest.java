@@ -8,6 +8,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
@@ -17,6 +18,7 @@ import ru.practicum.shareit.request.dto.NewItemRequestDto;
 import ru.practicum.shareit.request.service.interfaces.ItemRequestService;
 
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.hamcrest.Matchers.is;
@@ -59,26 +61,32 @@ public class ItemRequestControllerTest {
     @Test
     @DisplayName("ItemRequestController_getAllItemRequestsByUser")
     void getAllItemRequestsByUser_whenInvoked_thenHasCorrectResponse() throws Exception {
-        when(itemRequestService.getAllItemRequestsByUser(1L)).thenReturn(List.of(itemRequestDto));
+        when(itemRequestService.getAllItemRequestsByUser(1L, null, null, 0, 20)).thenReturn(new SliceImpl<>(List.of(itemRequestDto)));
         mvc.perform(get("/requests")
                         .header("X-Sharer-User-Id", 1L)
                         .characterEncoding(StandardCharsets.UTF_8)
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(header().string("X-Has-Next", "false"))
                 .andExpect(content().json(mapper.writeValueAsString(List.of(itemRequestDto))));
     }
 
     @Test
     @DisplayName("ItemRequestController_getAllItemRequests")
     void getAllItemRequests_whenInvoked_thenHasCorrectResponse() throws Exception {
-        when(itemRequestService.getAllItemRequests(1L)).thenReturn(List.of(itemRequestDto));
+        when(itemRequestService.getAllItemRequests(1L, LocalDateTime.of(2026, 10, 18, 10, 0), 5L, 0, 10))
+                .thenReturn(new SliceImpl<>(List.of(itemRequestDto)));
         mvc.perform(get("/requests/all")
+                        .param("afterCreated", "2026-10-18T10:00:00")
+                        .param("afterId", "5")
+                        .param("size", "10")
                         .header("X-Sharer-User-Id", 1L)
                         .characterEncoding(StandardCharsets.UTF_8)
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(header().string("X-Has-Next", "false"))
                 .andExpect(content().json(mapper.writeValueAsString(List.of(itemRequestDto))));
     }
 
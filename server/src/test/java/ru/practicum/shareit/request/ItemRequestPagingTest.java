@@ -0,0 +1,166 @@
+package ru.practicum.shareit.request;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Slice;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.service.ItemRequestServiceImpl;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(ItemRequestServiceImpl.class)
+public class ItemRequestPagingTest {
+    @Autowired
+    private TestEntityManager em;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private ItemRequestServiceImpl itemRequestService;
+
+    private Statistics statistics;
+    private User requester;
+    private User other;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        requester = user("requester", "requester@mail.ru");
+        other = user("other", "other@mail.ru");
+    }
+
+    @Test
+    void getAllItemRequestsByUser_loadsItemsOfWholePageInOneStatement() {
+        for (int i = 0; i < 6; i++) {
+            ItemRequest request = request(requester, "Нужна вещь " + i, now.minusHours(i));
+            item(request, "Ответ " + i);
+            item(request, "Ещё ответ " + i);
+        }
+        em.flush();
+        em.clear();
+
+        statistics.clear();
+        Slice<ItemRequestDto> page = itemRequestService.getAllItemRequestsByUser(requester.getId(), null, null, 0, 4);
+
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(4, page.getNumberOfElements());
+        assertTrue(page.hasNext());
+        ItemRequestDto newest = page.getContent().getFirst();
+        assertEquals("Нужна вещь 0", newest.getDescription());
+        assertEquals(2, newest.getItems().size());
+        assertEquals("requester", newest.getRequester().getName());
+    }
+
+    @Test
+    void getAllItemRequests_walkingByCursor_returnsOtherUsersRequestsNewestFirst() {
+        request(requester, "Своя", now);
+        for (int i = 0; i < 5; i++) {
+            request(other, "Чужая " + i, now.minusDays(i / 2));
+        }
+        em.flush();
+        em.clear();
+
+        List<ItemRequestDto> all = itemRequestService.getAllItemRequests(requester.getId(), null, null, 0, 100)
+                .getContent();
+        List<ItemRequestDto> walked = new ArrayList<>();
+        ItemRequestDto last = null;
+        Slice<ItemRequestDto> page;
+        do {
+            statistics.clear();
+            page = itemRequestService.getAllItemRequests(requester.getId(),
+                    last == null ? null : last.getCreated(), last == null ? null : last.getId(), 0, 2);
+            assertEquals(2, statistics.getPrepareStatementCount());
+            walked.addAll(page.getContent());
+            last = page.hasContent() ? page.getContent().getLast() : null;
+        } while (page.hasNext());
+
+        assertEquals(List.of("Чужая 1", "Чужая 0", "Чужая 3", "Чужая 2", "Чужая 4"),
+                all.stream().map(ItemRequestDto::getDescription).toList());
+        assertEquals(ids(all), ids(walked));
+    }
+
+    @Test
+    void getAllItemRequestsByUser_walkingByCursor_returnsOwnRequestsNewestFirst() {
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            expected.add(request(requester, "Своя " + i, now).getId());
+        }
+        request(other, "Чужая", now.plusHours(1));
+        em.flush();
+        em.clear();
+
+        List<Long> walked = new ArrayList<>();
+        ItemRequestDto last = null;
+        Slice<ItemRequestDto> page;
+        do {
+            page = itemRequestService.getAllItemRequestsByUser(requester.getId(),
+                    last == null ? null : last.getCreated(), last == null ? null : last.getId(), 0, 2);
+            walked.addAll(ids(page.getContent()));
+            last = page.hasContent() ? page.getContent().getLast() : null;
+        } while (page.hasNext());
+
+        assertEquals(expected.reversed(), walked);
+    }
+
+    @Test
+    void getAllItemRequests_whenFromIsNotMultipleOfSize_skipsExactlyFromRows() {
+        for (int i = 0; i < 5; i++) {
+            request(other, "Чужая " + i, now.minusHours(i));
+        }
+        em.flush();
+        em.clear();
+
+        Slice<ItemRequestDto> page = itemRequestService.getAllItemRequests(requester.getId(), null, null, 3, 2);
+
+        assertEquals(List.of("Чужая 3", "Чужая 4"), page.map(ItemRequestDto::getDescription).getContent());
+        assertFalse(page.hasNext());
+    }
+
+    private static List<Long> ids(List<ItemRequestDto> requests) {
+        return requests.stream().map(ItemRequestDto::getId).toList();
+    }
+
+    private ItemRequest request(User requester, String description, LocalDateTime created) {
+        ItemRequest request = new ItemRequest();
+        request.setRequester(requester);
+        request.setDescription(description);
+        request.setCreated(created);
+        return em.persist(request);
+    }
+
+    private void item(ItemRequest request, String name) {
+        Item item = new Item();
+        item.setName(name);
+        item.setDescription("Описание");
+        item.setAvailable(true);
+        item.setOwner(other);
+        item.setRequest(request);
+        em.persist(item);
+    }
+
+    private User user(String name, String email) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(email);
+        return em.persist(user);
+    }
+}
@@ -6,9 +6,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dal.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemDtoRequest;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.dal.ItemRequestRepository;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.NewItemRequestDto;
@@ -17,7 +21,10 @@ import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.service.ItemRequestServiceImpl;
 import ru.practicum.shareit.user.dal.UserRepository;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.util.OffsetPageRequest;
+import ru.practicum.shareit.util.Paging;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -62,20 +69,30 @@ public class ItemRequestServiceImplTest {
         user.setId(1L);
 
         ItemRequest itemRequest = new ItemRequest();
+        itemRequest.setId(2L);
         itemRequest.setRequester(user);
-
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
-        when(itemRequestRepository.findAllByRequesterId(anyLong(),
-                eq(Sort.by("created").descending()))).thenReturn(List.of(itemRequest));
-        when(itemRepository.findAllByRequest(itemRequest)).thenReturn(List.of());
-
-        List<ItemRequestDto> itemRequestDtoList = itemRequestService.getAllItemRequestsByUser(user.getId());
-
-        assertNotNull(itemRequestDtoList);
-        assertEquals(1, itemRequestDtoList.size());
-
-        verify(itemRequestRepository, times(1)).findAllByRequesterId(anyLong(),
-                eq(Sort.by("created").descending()));
+        ItemRequest unanswered = new ItemRequest();
+        unanswered.setId(3L);
+        unanswered.setRequester(user);
+
+        Item item = new Item();
+        item.setId(4L);
+        item.setName("Дрель");
+        item.setOwner(user);
+        item.setRequest(itemRequest);
+
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(itemRequestRepository.findPageByRequesterId(1L, Paging.MAX_TIME, Long.MAX_VALUE, new OffsetPageRequest(0, 20)))
+                .thenReturn(new SliceImpl<>(List.of(itemRequest, unanswered)));
+        when(itemRepository.findAllByRequestIdIn(List.of(2L, 3L))).thenReturn(List.of(item));
+
+        List<ItemRequestDto> itemRequestDtoList = itemRequestService.getAllItemRequestsByUser(user.getId(), null,
+                null, 0, 20).getContent();
+
+        assertEquals(2, itemRequestDtoList.size());
+        assertEquals(List.of(4L), itemRequestDtoList.get(0).getItems().stream().map(ItemDtoRequest::getItemId).toList());
+        assertEquals(List.of(), itemRequestDtoList.get(1).getItems());
+        verify(itemRepository, never()).findAllByRequest(any());
     }
 
     @Test
@@ -86,18 +103,29 @@ public class ItemRequestServiceImplTest {
 
         ItemRequest itemRequest = new ItemRequest();
         itemRequest.setRequester(user);
+        LocalDateTime created = LocalDateTime.of(2026, 10, 18, 10, 0);
 
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
-        when(itemRequestRepository.findAllByRequesterIdNot(user.getId(),
-                Sort.by("created").descending())).thenReturn(List.of(itemRequest));
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(itemRequestRepository.findPageByRequesterIdNot(1L, created, 5L, new OffsetPageRequest(10, 10)))
+                .thenReturn(new SliceImpl<>(List.of(itemRequest)));
 
-        List<ItemRequestDto> itemRequestDtoList = itemRequestService.getAllItemRequests(user.getId());
+        Slice<ItemRequestDto> itemRequestDtoList = itemRequestService.getAllItemRequests(user.getId(), created, 5L,
+                10, 10);
 
         assertNotNull(itemRequestDtoList);
-        assertEquals(1, itemRequestDtoList.size());
+        assertEquals(1, itemRequestDtoList.getNumberOfElements());
+    }
 
-        verify(itemRequestRepository, times(1)).findAllByRequesterIdNot(user.getId(),
-                Sort.by("created").descending());
+    @Test
+    @DisplayName("ItemRequestServiceImpl_getAllItemRequestsInvalidCursor")
+    void getAllItemRequests_whenCursorIsIncomplete_throwException() {
+        assertThrows(ValidationException.class, () -> itemRequestService.getAllItemRequests(1L,
+                LocalDateTime.now(), null, 0, 20));
+        assertThrows(ValidationException.class, () -> itemRequestService.getAllItemRequestsByUser(1L,
+                null, 5L, 0, 20));
+        assertThrows(ValidationException.class, () -> itemRequestService.getAllItemRequests(1L,
+                null, null, 0, 0));
+        verifyNoInteractions(itemRequestRepository);
     }
 
     @Test
@@ -132,17 +160,17 @@ public class ItemRequestServiceImplTest {
     @Test
     @DisplayName("ItemRequestServiceImpl_getAllItemRequestsByUserException")
     void getAllItemRequestsByUser_ThrowException() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(userRepository.existsById(anyLong())).thenReturn(false);
 
-        assertThrows(NotFoundException.class, () -> itemRequestService.getAllItemRequestsByUser(anyLong()));
+        assertThrows(NotFoundException.class, () -> itemRequestService.getAllItemRequestsByUser(1L, null, null, 0, 20));
     }
 
     @Test
     @DisplayName("ItemRequestServiceImpl_getAllItemRequestsException")
     void getAllItemRequests_ThrowException() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(userRepository.existsById(anyLong())).thenReturn(false);
 
-        assertThrows(NotFoundException.class, () -> itemRequestService.getAllItemRequests(anyLong()));
+        assertThrows(NotFoundException.class, () -> itemRequestService.getAllItemRequests(1L, null, null, 0, 20));
     }
 
     @Test
@@ -11,6 +11,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import ru.practicum.shareit.exception.ErrorHandler;
+import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.user.controller.UserController;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.interfaces.UserService;
@@ -109,4 +111,21 @@ public class UserControllerTest {
 
         verify(userService, times(1)).deleteUser(anyLong());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("UserController_GetUnknownUser")
+    void getUser_whenUserNotFound_thenHasUnknownUserHeader() throws Exception {
+        when(userService.getUser(anyLong()))
+                .thenThrow(new UserNotFoundException(99L, "Пользователь с айди 99 не найден!"));
+        MockMvc mvcWithAdvice = MockMvcBuilders
+                .standaloneSetup(userController)
+                .setControllerAdvice(new ErrorHandler())
+                .build();
+
+        mvcWithAdvice.perform(get("/users/99").characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound())
+                .andExpect(header().string("X-Unknown-User-Id", "99"))
+                .andExpect(jsonPath("$.error", is("Пользователь с айди 99 не найден!")));
+    }
+}
@@ -9,6 +9,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dal.ItemSearchRepository;
+import ru.practicum.shareit.item.dal.ItemSuggestRepository;
 import ru.practicum.shareit.user.dal.UserRepository;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
@@ -24,6 +26,10 @@ import static org.mockito.Mockito.*;
 public class UserServiceImplTest {
     @Mock
     private UserRepository userRepository;
+    @Mock
+    private ItemSearchRepository itemSearchRepository;
+    @Mock
+    private ItemSuggestRepository itemSuggestRepository;
 
     @InjectMocks
     private UserServiceImpl userService;
@@ -98,6 +104,8 @@ public class UserServiceImplTest {
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
         userService.deleteUser(1L);
         verify(userRepository).deleteById(1L);
+        verify(itemSearchRepository).onOwnerDeleted(1L);
+        verify(itemSuggestRepository).onOwnerDeleted(1L);
     }
 
     @Test
@@ -107,6 +115,7 @@ public class UserServiceImplTest {
 
         assertThrows(NotFoundException.class, () -> userService.deleteUser(1L));
         verify(userRepository, never()).deleteById(1L);
+        verifyNoInteractions(itemSearchRepository);
     }
 
     @Test